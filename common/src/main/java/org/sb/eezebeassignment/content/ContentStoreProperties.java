@@ -0,0 +1,46 @@
+package org.sb.eezebeassignment.content;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Content store settings of both applications; each reads the tuning properties of its own store only.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "content.store")
+public class ContentStoreProperties {
+
+    /**
+     * Which store serves /play; "mock" generates placeholder bytes per video, "filesystem" serves
+     * {@code <root>/<videoId>.mp4}.
+     */
+    private String type = "mock";
+
+    /**
+     * Directory holding the video files of the filesystem store.
+     */
+    private Path root = Path.of("data", "videos");
+
+    /**
+     * Servlet application: files up to this size are memory-mapped once they are read often enough to stay in the
+     * mapping cache.
+     */
+    private DataSize mappedMaxFileSize = DataSize.ofMegabytes(16);
+
+    /**
+     * Servlet application: total size of memory-mapped files kept open; 0 serves every file through
+     * FileChannel.transferTo.
+     */
+    private DataSize mappedCapacity = DataSize.ofMegabytes(256);
+
+    /**
+     * Reactive application: size of the buffers a file is read into; each one is only read once the client has
+     * taken the previous ones.
+     */
+    private DataSize readBufferSize = DataSize.ofKilobytes(64);
+}
@@ -0,0 +1,24 @@
+package org.sb.eezebeassignment.content;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * The placeholder content of the mock store: a short generated text for every video, standing in for real media.
+ */
+public final class MockVideoContents {
+
+    private MockVideoContents() {
+    }
+
+    public static byte[] bytes(Long videoId) {
+        return ("This is a simulated video content for video ID: " + videoId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param createdAt when the store started, truncated to seconds
+     */
+    public static String etag(Long videoId, Instant createdAt) {
+        return "\"mock-" + videoId + "-" + createdAt.getEpochSecond() + "\"";
+    }
+}
@@ -0,0 +1,18 @@
+package org.sb.eezebeassignment.content;
+
+import java.time.Instant;
+
+/**
+ * The validators of a video's content, used for conditional and range requests by both applications.
+ */
+public interface VideoContentMetadata {
+
+    long length();
+
+    Instant lastModified();
+
+    /**
+     * Strong entity tag, including the surrounding quotes.
+     */
+    String etag();
+}
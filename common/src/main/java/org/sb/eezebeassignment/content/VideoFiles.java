@@ -0,0 +1,32 @@
+package org.sb.eezebeassignment.content;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Layout and validators of the filesystem store, shared so both applications serve the same files under the same
+ * entity tags.
+ */
+public final class VideoFiles {
+
+    public static final String FILE_EXTENSION = ".mp4";
+
+    private VideoFiles() {
+    }
+
+    public static Path pathOf(Path root, Long videoId) {
+        return root.resolve(videoId + FILE_EXTENSION);
+    }
+
+    /**
+     * HTTP dates have second precision.
+     */
+    public static Instant lastModified(Instant modifiedAt) {
+        return modifiedAt.truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    public static String etag(long length, Instant modifiedAt) {
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(modifiedAt.toEpochMilli()) + "\"";
+    }
+}
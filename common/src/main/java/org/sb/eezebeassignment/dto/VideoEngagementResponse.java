@@ -14,8 +14,11 @@ public class VideoEngagementResponse {
     private Long videoId;
 
     @Schema(example = "1500", description = "Total number of views")
-    private int views;
+    private long views;
 
     @Schema(example = "3000", description = "Total number of impressions")
-    private int impressions;
+    private long impressions;
+
+    @Schema(example = "900", description = "Approximate number of distinct viewers (HyperLogLog, ~1.6% standard error)")
+    private long uniqueViewers;
 }
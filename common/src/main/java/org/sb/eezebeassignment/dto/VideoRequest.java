@@ -1,11 +1,14 @@
 package org.sb.eezebeassignment.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Setter
 public class VideoRequest {
@@ -22,6 +25,11 @@ public class VideoRequest {
     @Schema(example = "Christopher Nolan", requiredMode = Schema.RequiredMode.REQUIRED)
     private String director;
 
+    // A single string is accepted as a one-member cast for clients that send it unstructured
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    @Schema(example = "[\"Leonardo DiCaprio\", \"Elliot Page\"]")
+    private List<@NotBlank String> cast;
+
     @NotNull
     @Schema(example = "2010", requiredMode = Schema.RequiredMode.REQUIRED)
     private Integer releaseYear;
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -27,4 +29,10 @@ public class VideoResponse {
 
     @Schema(example = "120")
     private int runningTime;
-}
\ No newline at end of file
+
+    @Schema(example = "3")
+    private long version;
+
+    @Schema(example = "2024-05-01T12:00:00Z")
+    private Instant updatedAt;
+}
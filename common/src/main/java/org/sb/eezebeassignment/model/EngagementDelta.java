@@ -0,0 +1,16 @@
+package org.sb.eezebeassignment.model;
+
+public record EngagementDelta(Long videoId, long views, long impressions) {
+
+    public static EngagementDelta empty(Long videoId) {
+        return new EngagementDelta(videoId, 0, 0);
+    }
+
+    public boolean isEmpty() {
+        return views == 0 && impressions == 0;
+    }
+
+    public EngagementDelta plus(EngagementDelta other) {
+        return new EngagementDelta(videoId, views + other.views, impressions + other.impressions);
+    }
+}
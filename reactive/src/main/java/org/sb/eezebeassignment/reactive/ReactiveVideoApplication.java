@@ -0,0 +1,16 @@
+package org.sb.eezebeassignment.reactive;
+
+import org.sb.eezebeassignment.content.ContentStoreProperties;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+@SpringBootApplication
+@ConfigurationPropertiesScan(basePackageClasses = {ReactiveVideoApplication.class, ContentStoreProperties.class})
+public class ReactiveVideoApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveVideoApplication.class, args);
+    }
+
+}
@@ -0,0 +1,261 @@
+package org.sb.eezebeassignment.reactive.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.sb.eezebeassignment.dto.VideoEngagementResponse;
+import org.sb.eezebeassignment.dto.VideoRequest;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.reactive.model.VideoRecord;
+import org.sb.eezebeassignment.reactive.service.ReactiveVideoService;
+import org.sb.eezebeassignment.reactive.service.content.VideoContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * The /videos contract of the servlet application's VideoController on WebFlux. Bulk import and content uploads
+ * are only offered by the servlet application.
+ */
+@RestController
+@RequestMapping("/videos")
+public class ReactiveVideoController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveVideoController.class);
+
+    static final String NEXT_AFTER_ID_HEADER = "X-Next-After-Id";
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveVideoService videoService;
+
+    @Autowired
+    public ReactiveVideoController(ReactiveVideoService videoService) {
+        this.videoService = videoService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Publish a new video", responses = {
+            @ApiResponse(responseCode = "200", description = "Video created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request format")
+    })
+    public Mono<VideoResponse> publishVideo(@Valid @RequestBody VideoRequest videoRequest) {
+        logger.info("Received publish video request");
+        return videoService.publishVideo(videoRequest)
+                .doOnNext(video -> logger.info("New video added with ID {}", video.getId()))
+                .map(VideoRecord::toResponse);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update video metadata", responses = {
+            @ApiResponse(responseCode = "200", description = "Video updated successfully"),
+            @ApiResponse(responseCode = "404", description = "Video not found")
+    })
+    public Mono<ResponseEntity<VideoResponse>> updateVideo(@PathVariable Long id, @Valid @RequestBody VideoRequest videoRequest) {
+        logger.info("Received update video request for video with ID {}", id);
+        return videoService.updateVideo(id, videoRequest)
+                .map(video -> ResponseEntity.ok(video.toResponse()))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Soft delete a video", responses = {
+            @ApiResponse(responseCode = "200", description = "Video soft deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Video not found")
+    })
+    public Mono<ResponseEntity<Void>> softDeleteVideo(@PathVariable Long id) {
+        logger.info("Received delete video request for video with ID {}", id);
+        return videoService.softDeleteVideo(id)
+                .map(deleted -> deleted ? ResponseEntity.ok().<Void>build() : ResponseEntity.notFound().<Void>build());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search for videos", description = "Matches director, genre and title, and every word of q " +
+            "against title, director, genre and synopsis. Results are ordered by ID.")
+    public Flux<VideoResponse> searchVideos(
+            @RequestParam(required = false) String director,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String q) {
+        logger.info("Received search request for videos");
+        return videoService.searchVideos(director, genre, title, q).map(VideoRecord::toResponse);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a video by ID", responses = {
+            @ApiResponse(responseCode = "200", description = "Video found"),
+            @ApiResponse(responseCode = "404", description = "Video not found")
+    })
+    public Mono<ResponseEntity<VideoResponse>> getVideoById(@PathVariable Long id) {
+        logger.info("Received request to get video with ID: {}", id);
+        return videoService.getVideoById(id)
+                .doOnNext(video -> videoService.recordImpression(id))
+                .map(video -> ResponseEntity.ok(video.toResponse()))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    @Operation(summary = "List available videos", description = "Retrieves one page of non-deleted videos ordered by ID. " +
+            "Pass the value of the " + NEXT_AFTER_ID_HEADER + " response header as afterId to fetch the next page.")
+    public Mono<ResponseEntity<List<VideoResponse>>> listAvailableVideos(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        logger.info("Received list videos request after ID {} with limit {}", afterId, limit);
+        // A page is collected so the cursor header can be set before the body is written
+        return videoService.listAvailableVideos(afterId, limit)
+                .map(VideoRecord::toResponse)
+                .collectList()
+                .map(videos -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (videos.size() == limit) {
+                        response.header(NEXT_AFTER_ID_HEADER, String.valueOf(videos.get(videos.size() - 1).getId()));
+                    }
+                    return response.body(videos);
+                });
+    }
+
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Stream all available videos", description = "Streams every non-deleted video as a JSON array " +
+            "(or NDJSON), read from the database as the client consumes it.")
+    public Flux<VideoResponse> streamAvailableVideos() {
+        logger.info("Received stream videos request");
+        return videoService.streamAvailableVideos().map(VideoRecord::toResponse);
+    }
+
+    @GetMapping("/{id}/play")
+    @Operation(summary = "Play a video", description = "Streams the video content with backpressure. Supports a single " +
+            "byte range, If-Range and conditional requests via ETag/Last-Modified; a request for several ranges is " +
+            "answered with the whole content. A view is recorded once the first byte has been sent.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Full video content"),
+                    @ApiResponse(responseCode = "206", description = "Requested byte range"),
+                    @ApiResponse(responseCode = "304", description = "Content not modified"),
+                    @ApiResponse(responseCode = "404", description = "Video not found"),
+                    @ApiResponse(responseCode = "416", description = "Requested range not satisfiable")
+            })
+    public Mono<ResponseEntity<Flux<DataBuffer>>> playVideo(@PathVariable Long id, ServerWebExchange exchange) {
+        logger.info("Received request to play video with ID: {}", id);
+        return videoService.getVideoContent(id)
+                .map(content -> play(id, content, exchange))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<Flux<DataBuffer>> play(Long id, VideoContent content, ServerWebExchange exchange) {
+        long length = content.length();
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        // Conditional GETs are answered with 304 by WebFlux from the ETag and Last-Modified set here, before the
+        // body is subscribed to
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "inline;filename=video-" + id + ".mp4");
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setETag(content.etag());
+        headers.setLastModified(content.lastModified());
+
+        List<HttpRange> ranges;
+        try {
+            ranges = rangeApplies(requestHeaders, content) ? requestHeaders.getRange() : List.of();
+        } catch (IllegalArgumentException ex) {
+            ranges = List.of();
+        }
+        if (ranges.size() != 1) {
+            headers.setContentLength(length);
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(countViewOnFirstByte(id, content.read(0, length, exchange.getResponse().bufferFactory())));
+        }
+
+        HttpRange range = ranges.get(0);
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+        } catch (IllegalArgumentException ex) {
+            start = length;
+            end = length - 1;
+        }
+        // HttpRange does not reject a first byte position at or beyond the end of the content
+        if (start >= length || end < start) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                    .build();
+        }
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        headers.setContentLength(end - start + 1);
+        Flux<DataBuffer> body = content.read(start, end - start + 1, exchange.getResponse().bufferFactory());
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .headers(headers)
+                .body(start == 0 ? countViewOnFirstByte(id, body) : body);
+    }
+
+    /**
+     * Records the view when the first buffer is emitted, so playback that is cancelled before the end still counts.
+     */
+    private Flux<DataBuffer> countViewOnFirstByte(Long id, Flux<DataBuffer> body) {
+        return body.switchOnFirst((first, buffers) -> {
+            if (first.hasValue()) {
+                videoService.recordView(id);
+            }
+            return buffers;
+        });
+    }
+
+    /**
+     * A Range header only applies when there is no If-Range or it still matches the current content.
+     */
+    private static boolean rangeApplies(HttpHeaders headers, VideoContent content) {
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range requires a strong comparison
+            return ifRange.equals(content.etag());
+        }
+        try {
+            Instant date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return date.getEpochSecond() == content.lastModified().getEpochSecond();
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+
+    @GetMapping("/{id}/engagement")
+    @Operation(summary = "Retrieve video engagement statistics", responses = {
+            @ApiResponse(responseCode = "200", description = "Engagement data retrieved"),
+            @ApiResponse(responseCode = "404", description = "Video not found")
+    })
+    public Mono<ResponseEntity<VideoEngagementResponse>> getVideoEngagement(@PathVariable Long id) {
+        logger.info("Received request to get engagement stats for video with ID: {}", id);
+        return videoService.getVideoById(id)
+                .flatMap(video -> videoService.getVideoEngagement(id))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
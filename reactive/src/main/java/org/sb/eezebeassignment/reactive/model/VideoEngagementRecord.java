@@ -0,0 +1,30 @@
+package org.sb.eezebeassignment.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("video_engagements")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoEngagementRecord {
+
+    @Id
+    private Long id;
+
+    private Long videoId;
+
+    private long views;
+
+    private long impressions;
+
+    /**
+     * Estimated by the servlet application when it merges viewer sketches; this variant does not track viewers.
+     */
+    private long uniqueViewers;
+}
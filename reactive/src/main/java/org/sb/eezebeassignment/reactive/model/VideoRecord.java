@@ -0,0 +1,59 @@
+package org.sb.eezebeassignment.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.sb.eezebeassignment.dto.VideoRequest;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * Row of the videos table shared with the servlet application. The cast lives in video_cast and is written
+ * separately, since R2DBC has no element collections.
+ */
+@Table("videos")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoRecord {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String synopsis;
+
+    private String director;
+
+    private int releaseYear;
+
+    private String genre;
+
+    private int runningTime;
+
+    private boolean deleted;
+
+    private long version;
+
+    private Instant updatedAt;
+
+    public void apply(VideoRequest request) {
+        this.title = request.getTitle();
+        this.synopsis = request.getSynopsis();
+        this.director = request.getDirector();
+        this.releaseYear = request.getReleaseYear();
+        this.genre = request.getGenre();
+        this.runningTime = request.getRunningTime();
+        this.updatedAt = Instant.now();
+    }
+
+    public VideoResponse toResponse() {
+        return new VideoResponse(id, title, director, genre, releaseYear, runningTime, version, updatedAt);
+    }
+}
@@ -0,0 +1,16 @@
+package org.sb.eezebeassignment.reactive.repository;
+
+import org.sb.eezebeassignment.reactive.model.VideoEngagementRecord;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the servlet application's VideoEngagementRepository.
+ */
+@Repository
+public interface ReactiveVideoEngagementRepository extends R2dbcRepository<VideoEngagementRecord, Long>,
+        ReactiveVideoEngagementRepositoryCustom {
+
+    Mono<VideoEngagementRecord> findByVideoId(Long videoId);
+}
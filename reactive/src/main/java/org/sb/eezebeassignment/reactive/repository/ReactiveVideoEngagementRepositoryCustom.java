@@ -0,0 +1,14 @@
+package org.sb.eezebeassignment.reactive.repository;
+
+import org.sb.eezebeassignment.model.EngagementDelta;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ReactiveVideoEngagementRepositoryCustom {
+
+    /**
+     * Adds the deltas to video_engagements with one atomic upsert per video, creating missing rows.
+     */
+    Mono<Void> upsertIncrements(Collection<EngagementDelta> deltas);
+}
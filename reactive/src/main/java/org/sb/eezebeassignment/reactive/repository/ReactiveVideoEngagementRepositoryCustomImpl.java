@@ -0,0 +1,52 @@
+package org.sb.eezebeassignment.reactive.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Comparator;
+
+public class ReactiveVideoEngagementRepositoryCustomImpl implements ReactiveVideoEngagementRepositoryCustom {
+
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO video_engagements (video_id, views, impressions) VALUES (:videoId, :views, :impressions) " +
+            "ON CONFLICT (video_id) DO UPDATE SET " +
+            "views = video_engagements.views + EXCLUDED.views, " +
+            "impressions = video_engagements.impressions + EXCLUDED.impressions";
+
+    private static final String H2_UPSERT =
+            "MERGE INTO video_engagements t " +
+            "USING (VALUES (CAST(:videoId AS BIGINT), CAST(:views AS BIGINT), CAST(:impressions AS BIGINT))) s(video_id, views, impressions) " +
+            "ON t.video_id = s.video_id " +
+            "WHEN MATCHED THEN UPDATE SET views = t.views + s.views, impressions = t.impressions + s.impressions " +
+            "WHEN NOT MATCHED THEN INSERT (video_id, views, impressions) VALUES (s.video_id, s.views, s.impressions)";
+
+    private final DatabaseClient databaseClient;
+    private final String upsertSql;
+
+    @Autowired
+    public ReactiveVideoEngagementRepositoryCustomImpl(DatabaseClient databaseClient, ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        this.upsertSql = DialectResolver.getDialect(connectionFactory) instanceof H2Dialect ? H2_UPSERT : POSTGRES_UPSERT;
+    }
+
+    @Override
+    public Mono<Void> upsertIncrements(Collection<EngagementDelta> deltas) {
+        // A stable row order keeps concurrent flushers from deadlocking on each other's row locks.
+        return Flux.fromIterable(deltas)
+                .sort(Comparator.comparing(EngagementDelta::videoId))
+                .concatMap(delta -> databaseClient.sql(upsertSql)
+                        .bind("videoId", delta.videoId())
+                        .bind("views", delta.views())
+                        .bind("impressions", delta.impressions())
+                        .fetch()
+                        .rowsUpdated())
+                .then();
+    }
+}
@@ -0,0 +1,37 @@
+package org.sb.eezebeassignment.reactive.repository;
+
+import org.sb.eezebeassignment.reactive.model.VideoRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the servlet application's VideoRepository.
+ */
+@Repository
+public interface ReactiveVideoRepository extends R2dbcRepository<VideoRecord, Long>, ReactiveVideoRepositoryCustom {
+
+    Mono<VideoRecord> findByIdAndDeletedFalse(Long id);
+
+    Mono<Boolean> existsByIdAndDeletedFalse(Long id);
+
+    Flux<VideoRecord> findByDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    Flux<VideoRecord> findByDeletedFalseOrderByIdAsc();
+
+    @Modifying
+    @Query("UPDATE videos SET deleted = TRUE, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = :id AND deleted = FALSE")
+    Mono<Long> softDelete(Long id);
+
+    /**
+     * Bumps the version that validates list and search responses; call it in the transaction of the change.
+     */
+    @Modifying
+    @Query("UPDATE catalog_version SET version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = 1")
+    Mono<Long> incrementCatalogVersion();
+}
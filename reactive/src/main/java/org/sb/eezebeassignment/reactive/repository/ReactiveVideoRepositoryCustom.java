@@ -0,0 +1,23 @@
+package org.sb.eezebeassignment.reactive.repository;
+
+import org.sb.eezebeassignment.reactive.model.VideoRecord;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveVideoRepositoryCustom {
+
+    /**
+     * Takes an ID from videos_seq, the sequence the servlet application allocates its ID blocks from.
+     */
+    Mono<Long> nextId();
+
+    Mono<Void> replaceCast(Long videoId, List<String> cast);
+
+    /**
+     * Non-deleted videos matching all given criteria, ordered by ID; null criteria are ignored and every word of
+     * {@code text} must occur in the title, director, genre or synopsis.
+     */
+    Flux<VideoRecord> search(String director, String genre, String title, String text);
+}
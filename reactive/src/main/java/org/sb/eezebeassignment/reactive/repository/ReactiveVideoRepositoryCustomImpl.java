@@ -0,0 +1,89 @@
+package org.sb.eezebeassignment.reactive.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.sb.eezebeassignment.reactive.model.VideoRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.relational.core.dialect.Escaper;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+
+public class ReactiveVideoRepositoryCustomImpl implements ReactiveVideoRepositoryCustom {
+
+    private final R2dbcEntityTemplate template;
+    private final DatabaseClient databaseClient;
+    private final String nextIdSql;
+
+    @Autowired
+    public ReactiveVideoRepositoryCustomImpl(R2dbcEntityTemplate template, ConnectionFactory connectionFactory) {
+        this.template = template;
+        this.databaseClient = template.getDatabaseClient();
+        this.nextIdSql = DialectResolver.getDialect(connectionFactory) instanceof H2Dialect
+                ? "SELECT NEXT VALUE FOR videos_seq"
+                : "SELECT nextval('videos_seq')";
+    }
+
+    @Override
+    public Mono<Long> nextId() {
+        // The servlet application owns the block of 50 IDs ending at each sequence value, so its top ID is ours
+        return databaseClient.sql(nextIdSql)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Void> replaceCast(Long videoId, List<String> cast) {
+        Mono<Long> delete = databaseClient.sql("DELETE FROM video_cast WHERE video_id = :videoId")
+                .bind("videoId", videoId)
+                .fetch()
+                .rowsUpdated();
+        Flux<Long> inserts = Flux.fromIterable(cast)
+                .concatMap(member -> databaseClient.sql("INSERT INTO video_cast (video_id, cast_member) VALUES (:videoId, :member)")
+                        .bind("videoId", videoId)
+                        .bind("member", member)
+                        .fetch()
+                        .rowsUpdated());
+        return delete.thenMany(inserts).then();
+    }
+
+    @Override
+    public Flux<VideoRecord> search(String director, String genre, String title, String text) {
+        Criteria criteria = Criteria.where("deleted").isFalse();
+        if (director != null) {
+            criteria = criteria.and("director").is(director);
+        }
+        if (genre != null) {
+            criteria = criteria.and("genre").is(genre);
+        }
+        if (title != null) {
+            criteria = criteria.and("title").like(contains(title));
+        }
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    String pattern = contains(word);
+                    criteria = criteria.and(Criteria.where("title").like(pattern).ignoreCase(true)
+                            .or("director").like(pattern).ignoreCase(true)
+                            .or("genre").like(pattern).ignoreCase(true)
+                            .or("synopsis").like(pattern).ignoreCase(true));
+                }
+            }
+        }
+        return template.select(VideoRecord.class)
+                .matching(Query.query(criteria).sort(Sort.by("id")))
+                .all();
+    }
+
+    private static String contains(String value) {
+        return "%" + Escaper.DEFAULT.escape(value) + "%";
+    }
+}
@@ -0,0 +1,133 @@
+package org.sb.eezebeassignment.reactive.service;
+
+import org.sb.eezebeassignment.dto.VideoEngagementResponse;
+import org.sb.eezebeassignment.dto.VideoRequest;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.sb.eezebeassignment.reactive.model.VideoEngagementRecord;
+import org.sb.eezebeassignment.reactive.model.VideoRecord;
+import org.sb.eezebeassignment.reactive.repository.ReactiveVideoEngagementRepository;
+import org.sb.eezebeassignment.reactive.repository.ReactiveVideoRepository;
+import org.sb.eezebeassignment.reactive.service.content.VideoContent;
+import org.sb.eezebeassignment.reactive.service.content.VideoContentStore;
+import org.sb.eezebeassignment.reactive.service.engagement.EngagementCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reads run outside transactions: each is a single statement, and a read-only transaction would only add a BEGIN
+ * and COMMIT round trip per request. Changes bump the catalog version in their own transaction, like the servlet
+ * application's CatalogVersionService, so its list and search validators see them.
+ */
+@Service
+public class ReactiveVideoService {
+
+    private final ReactiveVideoRepository videoRepository;
+    private final ReactiveVideoEngagementRepository engagementRepository;
+    private final EngagementCounter engagementCounter;
+    private final VideoContentStore contentStore;
+    private final R2dbcEntityTemplate template;
+
+    @Autowired
+    public ReactiveVideoService(ReactiveVideoRepository videoRepository, ReactiveVideoEngagementRepository engagementRepository,
+                                EngagementCounter engagementCounter, VideoContentStore contentStore, R2dbcEntityTemplate template) {
+        this.videoRepository = videoRepository;
+        this.engagementRepository = engagementRepository;
+        this.engagementCounter = engagementCounter;
+        this.contentStore = contentStore;
+        this.template = template;
+    }
+
+    @Transactional
+    public Mono<VideoRecord> publishVideo(VideoRequest request) {
+        return videoRepository.nextId()
+                .flatMap(id -> {
+                    VideoRecord video = new VideoRecord();
+                    video.setId(id);
+                    video.apply(request);
+                    // insert() rather than save(): a record with an ID would otherwise be treated as an update
+                    return template.insert(video);
+                })
+                .flatMap(video -> videoRepository.replaceCast(video.getId(), castOf(request)).thenReturn(video))
+                .flatMap(video -> videoRepository.incrementCatalogVersion().thenReturn(video));
+    }
+
+    /**
+     * Completes empty when the video does not exist or has been deleted.
+     */
+    @Transactional
+    public Mono<VideoRecord> updateVideo(Long id, VideoRequest request) {
+        return videoRepository.findByIdAndDeletedFalse(id)
+                .flatMap(video -> {
+                    video.apply(request);
+                    video.setVersion(video.getVersion() + 1);
+                    return videoRepository.save(video);
+                })
+                // Cast is optional; leaving it out keeps the current members
+                .flatMap(video -> request.getCast() == null
+                        ? Mono.just(video)
+                        : videoRepository.replaceCast(id, request.getCast()).thenReturn(video))
+                .flatMap(video -> videoRepository.incrementCatalogVersion().thenReturn(video));
+    }
+
+    @Transactional
+    public Mono<Boolean> softDeleteVideo(Long id) {
+        return videoRepository.softDelete(id)
+                .flatMap(rows -> rows > 0
+                        ? videoRepository.incrementCatalogVersion().thenReturn(true)
+                        : Mono.just(false));
+    }
+
+    public Mono<VideoRecord> getVideoById(Long id) {
+        return videoRepository.findByIdAndDeletedFalse(id);
+    }
+
+    public Flux<VideoRecord> listAvailableVideos(Long afterId, int limit) {
+        return videoRepository.findByDeletedFalseAndIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId, Limit.of(limit));
+    }
+
+    /**
+     * Every available video in ID order, read as the subscriber requests them.
+     */
+    public Flux<VideoRecord> streamAvailableVideos() {
+        return videoRepository.findByDeletedFalseOrderByIdAsc();
+    }
+
+    public Flux<VideoRecord> searchVideos(String director, String genre, String title, String text) {
+        return videoRepository.search(director, genre, title, text);
+    }
+
+    public Mono<VideoContent> getVideoContent(Long id) {
+        return videoRepository.existsByIdAndDeletedFalse(id)
+                .filter(Boolean::booleanValue)
+                .flatMap(exists -> contentStore.find(id));
+    }
+
+    public Mono<VideoEngagementResponse> getVideoEngagement(Long id) {
+        EngagementDelta pending = engagementCounter.pending(id);
+        return engagementRepository.findByVideoId(id)
+                .defaultIfEmpty(new VideoEngagementRecord(null, id, 0, 0, 0))
+                .map(stored -> new VideoEngagementResponse(id,
+                        stored.getViews() + pending.views(),
+                        stored.getImpressions() + pending.impressions(),
+                        stored.getUniqueViewers()));
+    }
+
+    public void recordView(Long id) {
+        engagementCounter.recordView(id);
+    }
+
+    public void recordImpression(Long id) {
+        engagementCounter.recordImpression(id);
+    }
+
+    private static List<String> castOf(VideoRequest request) {
+        return request.getCast() != null ? request.getCast() : List.of();
+    }
+}
@@ -0,0 +1,84 @@
+package org.sb.eezebeassignment.reactive.service.content;
+
+import org.sb.eezebeassignment.content.ContentStoreProperties;
+import org.sb.eezebeassignment.content.VideoFiles;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+
+/**
+ * Serves {@code <root>/<videoId>.mp4}, the same layout the servlet application's filesystem store writes. Files are
+ * read through an {@link AsynchronousFileChannel}, so no thread waits on the disk and a slow client only holds the
+ * buffers it has been sent.
+ */
+@Component
+@ConditionalOnProperty(prefix = "content.store", name = "type", havingValue = "filesystem")
+public class FileSystemVideoContentStore implements VideoContentStore {
+
+    private final Path root;
+    private final int readBufferSize;
+
+    @Autowired
+    public FileSystemVideoContentStore(ContentStoreProperties properties) {
+        this.root = properties.getRoot();
+        this.readBufferSize = Math.toIntExact(properties.getReadBufferSize().toBytes());
+    }
+
+    @Override
+    public Mono<VideoContent> find(Long videoId) {
+        Path path = VideoFiles.pathOf(root, videoId);
+        // File attributes are a blocking call
+        return Mono.fromCallable(() -> (VideoContent) new FileVideoContent(path, Files.readAttributes(path, BasicFileAttributes.class)))
+                .onErrorResume(NoSuchFileException.class, ex -> Mono.empty())
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private final class FileVideoContent implements VideoContent {
+
+        private final Path path;
+        private final long length;
+        private final Instant modifiedAt;
+
+        private FileVideoContent(Path path, BasicFileAttributes attributes) {
+            this.path = path;
+            this.length = attributes.size();
+            this.modifiedAt = attributes.lastModifiedTime().toInstant();
+        }
+
+        @Override
+        public long length() {
+            return length;
+        }
+
+        @Override
+        public Instant lastModified() {
+            return VideoFiles.lastModified(modifiedAt);
+        }
+
+        @Override
+        public String etag() {
+            return VideoFiles.etag(length, modifiedAt);
+        }
+
+        @Override
+        public Flux<DataBuffer> read(long position, long count, DataBufferFactory bufferFactory) {
+            Flux<DataBuffer> buffers = DataBufferUtils.readAsynchronousFileChannel(
+                    () -> AsynchronousFileChannel.open(path, StandardOpenOption.READ), position, bufferFactory, readBufferSize);
+            return DataBufferUtils.takeUntilByteCount(buffers, count);
+        }
+    }
+}
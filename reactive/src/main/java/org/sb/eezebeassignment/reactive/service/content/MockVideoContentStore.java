@@ -0,0 +1,42 @@
+package org.sb.eezebeassignment.reactive.service.content;
+
+import org.sb.eezebeassignment.content.MockVideoContents;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Serves a short generated text for every video, standing in for real media.
+ */
+@Component
+@ConditionalOnProperty(prefix = "content.store", name = "type", havingValue = "mock", matchIfMissing = true)
+public class MockVideoContentStore implements VideoContentStore {
+
+    // HTTP dates have second precision
+    private final Instant createdAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Override
+    public Mono<VideoContent> find(Long videoId) {
+        return Mono.just(new ByteArrayVideoContent(MockVideoContents.bytes(videoId), createdAt, MockVideoContents.etag(videoId, createdAt)));
+    }
+
+    private record ByteArrayVideoContent(byte[] bytes, Instant lastModified, String etag) implements VideoContent {
+
+        @Override
+        public long length() {
+            return bytes.length;
+        }
+
+        @Override
+        public Flux<DataBuffer> read(long position, long count, DataBufferFactory bufferFactory) {
+            return Flux.defer(() -> Flux.just(bufferFactory.wrap(ByteBuffer.wrap(bytes, Math.toIntExact(position), Math.toIntExact(count)))));
+        }
+    }
+}
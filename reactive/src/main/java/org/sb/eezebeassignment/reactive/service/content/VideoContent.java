@@ -0,0 +1,18 @@
+package org.sb.eezebeassignment.reactive.service.content;
+
+import org.sb.eezebeassignment.content.VideoContentMetadata;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.sb.eezebeassignment.content.VideoContentMetadata;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * The playable bytes of a video together with the validators used for conditional and range requests.
+ */
+public interface VideoContent extends VideoContentMetadata {
+
+    /**
+     * Reads {@code count} bytes starting at {@code position}, one buffer per downstream request.
+     */
+    Flux<DataBuffer> read(long position, long count, DataBufferFactory bufferFactory);
+}
@@ -0,0 +1,11 @@
+package org.sb.eezebeassignment.reactive.service.content;
+
+import reactor.core.publisher.Mono;
+
+public interface VideoContentStore {
+
+    /**
+     * Completes empty when there is no content for the video.
+     */
+    Mono<VideoContent> find(Long videoId);
+}
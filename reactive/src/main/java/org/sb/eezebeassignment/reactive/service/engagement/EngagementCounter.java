@@ -0,0 +1,148 @@
+package org.sb.eezebeassignment.reactive.service.engagement;
+
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.sb.eezebeassignment.reactive.repository.ReactiveVideoEngagementRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind accumulator for views and impressions, as in the servlet application: event loop threads only bump
+ * per-video {@link LongAdder}s and a periodic flush merges the deltas into video_engagements, so recording
+ * engagement never waits on the database.
+ */
+@Component
+public class EngagementCounter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementCounter.class);
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ReactiveVideoEngagementRepository engagementRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final EngagementProperties properties;
+
+    // Entries are never removed: a reader may still hold a reference while the flusher drains it.
+    private final Map<Long, Counters> counters = new ConcurrentHashMap<>();
+    private final Map<Long, EngagementDelta> inFlight = new ConcurrentHashMap<>();
+
+    private volatile Disposable scheduledFlush;
+
+    @Autowired
+    public EngagementCounter(ReactiveVideoEngagementRepository engagementRepository, ReactiveTransactionManager transactionManager,
+                             EngagementProperties properties) {
+        this.engagementRepository = engagementRepository;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.properties = properties;
+    }
+
+    public void recordView(Long videoId) {
+        counters.computeIfAbsent(videoId, id -> new Counters()).views.increment();
+    }
+
+    public void recordImpression(Long videoId) {
+        counters.computeIfAbsent(videoId, id -> new Counters()).impressions.increment();
+    }
+
+    /**
+     * Views and impressions of the video that have been recorded but not yet flushed.
+     */
+    public EngagementDelta pending(Long videoId) {
+        EngagementDelta pending = EngagementDelta.empty(videoId);
+        Counters buffer = counters.get(videoId);
+        if (buffer != null) {
+            pending = pending.plus(new EngagementDelta(videoId, buffer.views.sum(), buffer.impressions.sum()));
+        }
+        EngagementDelta flushing = inFlight.get(videoId);
+        return flushing != null ? pending.plus(flushing) : pending;
+    }
+
+    /**
+     * Drains the buffered deltas and merges them in one transaction; on failure they are buffered again.
+     */
+    public Mono<Void> flush() {
+        return Mono.defer(() -> {
+            List<EngagementDelta> deltas = drain();
+            if (deltas.isEmpty()) {
+                return Mono.empty();
+            }
+            deltas.forEach(delta -> inFlight.put(delta.videoId(), delta));
+            return engagementRepository.upsertIncrements(deltas)
+                    .as(transactionalOperator::transactional)
+                    .doOnSuccess(ignored -> logger.debug("Flushed engagement deltas for {} videos", deltas.size()))
+                    .onErrorResume(ex -> {
+                        logger.error("Failed to flush engagement deltas for {} videos, re-buffering", deltas.size(), ex);
+                        deltas.forEach(this::rebuffer);
+                        return Mono.empty();
+                    })
+                    .doFinally(signal -> {
+                        // A cancelled flush has been rolled back
+                        if (signal == SignalType.CANCEL) {
+                            deltas.forEach(this::rebuffer);
+                        }
+                        deltas.forEach(delta -> inFlight.remove(delta.videoId()));
+                    });
+        });
+    }
+
+    private List<EngagementDelta> drain() {
+        List<EngagementDelta> deltas = new ArrayList<>();
+        counters.forEach((videoId, buffer) -> {
+            long views = buffer.views.sumThenReset();
+            long impressions = buffer.impressions.sumThenReset();
+            if (views != 0 || impressions != 0) {
+                deltas.add(new EngagementDelta(videoId, views, impressions));
+            }
+        });
+        return deltas;
+    }
+
+    private void rebuffer(EngagementDelta delta) {
+        Counters buffer = counters.computeIfAbsent(delta.videoId(), id -> new Counters());
+        buffer.views.add(delta.views());
+        buffer.impressions.add(delta.impressions());
+    }
+
+    @Override
+    public void start() {
+        // concatMap runs one flush at a time; ticks arriving during a slow flush are dropped rather than queued
+        scheduledFlush = Flux.interval(properties.getFlushInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> flush(), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        Disposable flushTask = scheduledFlush;
+        scheduledFlush = null;
+        if (flushTask != null) {
+            flushTask.dispose();
+        }
+        flush().block(SHUTDOWN_FLUSH_TIMEOUT);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduledFlush != null;
+    }
+
+    private static final class Counters {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder impressions = new LongAdder();
+    }
+}
@@ -0,0 +1,18 @@
+package org.sb.eezebeassignment.reactive.service.engagement;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "engagement")
+public class EngagementProperties {
+
+    /**
+     * How often buffered view/impression deltas are merged into video_engagements.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,41 @@
+-- H2 schema for local runs, matching the PostgreSQL schema after the servlet application's migrations.
+CREATE SEQUENCE IF NOT EXISTS videos_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS videos (
+    id           BIGINT PRIMARY KEY,
+    title        VARCHAR(255)  NOT NULL,
+    synopsis     VARCHAR(1000) NOT NULL,
+    director     VARCHAR(255)  NOT NULL,
+    release_year INTEGER       NOT NULL,
+    genre        VARCHAR(255)  NOT NULL,
+    running_time INTEGER       NOT NULL,
+    deleted      BOOLEAN       NOT NULL,
+    version      BIGINT        NOT NULL DEFAULT 0,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_videos_deleted_director ON videos (deleted, director);
+CREATE INDEX IF NOT EXISTS idx_videos_deleted_genre ON videos (deleted, genre);
+
+CREATE TABLE IF NOT EXISTS video_cast (
+    video_id    BIGINT NOT NULL REFERENCES videos (id),
+    cast_member VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS video_engagements (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    video_id       BIGINT  NOT NULL,
+    views          BIGINT  NOT NULL,
+    impressions    BIGINT  NOT NULL,
+    unique_viewers BIGINT  NOT NULL DEFAULT 0,
+    viewer_sketch  VARBINARY(65537),
+    CONSTRAINT uk_video_engagements_video_id UNIQUE (video_id)
+);
+
+CREATE TABLE IF NOT EXISTS catalog_version (
+    id         INTEGER PRIMARY KEY,
+    version    BIGINT                      NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+MERGE INTO catalog_version (id, version, updated_at) KEY (id) VALUES (1, 0, CURRENT_TIMESTAMP);
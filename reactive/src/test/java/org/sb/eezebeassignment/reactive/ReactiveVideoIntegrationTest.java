@@ -0,0 +1,258 @@
+package org.sb.eezebeassignment.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.sb.eezebeassignment.dto.VideoEngagementResponse;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.reactive.controller.ReactiveVideoController;
+import org.sb.eezebeassignment.reactive.service.engagement.EngagementCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+public class ReactiveVideoIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private EngagementCounter engagementCounter;
+
+    @Autowired
+    private ReactiveVideoController videoController;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    void testPublishUpdateAndDeleteVideo() {
+        VideoResponse published = publish("Inception", "Christopher Nolan", "Sci-Fi");
+        assertNotNull(published.getId());
+
+        webTestClient.get().uri("/videos/{id}", published.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Inception")
+                .jsonPath("$.director").isEqualTo("Christopher Nolan");
+
+        webTestClient.put().uri("/videos/{id}", published.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("Inception (Director's Cut)", "Christopher Nolan", "Sci-Fi"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Inception (Director's Cut)");
+
+        webTestClient.delete().uri("/videos/{id}", published.getId())
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/videos/{id}", published.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.delete().uri("/videos/{id}", published.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testChangesBumpTheCatalogVersion() {
+        long initial = catalogVersion();
+        VideoResponse published = publish("Memento", "Christopher Nolan", "Thriller");
+        assertEquals(initial + 1, catalogVersion());
+
+        webTestClient.put().uri("/videos/{id}", published.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("Memento (Remastered)", "Christopher Nolan", "Thriller"))
+                .exchange()
+                .expectStatus().isOk();
+        assertEquals(initial + 2, catalogVersion());
+
+        webTestClient.delete().uri("/videos/{id}", published.getId())
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.delete().uri("/videos/{id}", published.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+        assertEquals(initial + 3, catalogVersion());
+    }
+
+    @Test
+    void testPublishRejectsInvalidVideo() {
+        webTestClient.post().uri("/videos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("title", "", "director", "Nobody"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.title").exists()
+                .jsonPath("$.synopsis").exists();
+    }
+
+    @Test
+    void testListPagesAndSearch() {
+        VideoResponse first = publish("Reactive Heat", "Reactive Mann", "Crime");
+        VideoResponse second = publish("Reactive Collateral", "Reactive Mann", "Thriller");
+
+        webTestClient.get().uri("/videos?afterId={afterId}&limit=1", first.getId() - 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-After-Id", String.valueOf(first.getId()))
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(first.getId());
+
+        webTestClient.get().uri("/videos?limit=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri("/videos/search?director={director}", "Reactive Mann")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(VideoResponse.class)
+                .value(videos -> assertEquals(List.of(first.getId(), second.getId()),
+                        videos.stream().map(VideoResponse::getId).toList()));
+
+        webTestClient.get().uri("/videos/search?q={q}", "collateral THRILLER")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(second.getId());
+
+        webTestClient.get().uri("/videos/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(VideoResponse.class)
+                .value(videos -> assertTrue(videos.stream().anyMatch(video -> video.getId().equals(second.getId()))));
+    }
+
+    @Test
+    void testPlaySupportsRangesAndConditionalRequests() {
+        VideoResponse video = publish("Arrival", "Denis Villeneuve", "Sci-Fi");
+        String content = "This is a simulated video content for video ID: " + video.getId();
+
+        HttpHeaders headers = webTestClient.get().uri("/videos/{id}/play", video.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .expectHeader().contentLength(content.length())
+                .expectBody(String.class).isEqualTo(content)
+                .returnResult().getResponseHeaders();
+
+        webTestClient.get().uri("/videos/{id}/play", video.getId())
+                .header(HttpHeaders.RANGE, "bytes=5-6")
+                .exchange()
+                .expectStatus().isEqualTo(206)
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_RANGE, "bytes 5-6/" + content.length())
+                .expectBody(String.class).isEqualTo("is");
+
+        webTestClient.get().uri("/videos/{id}/play", video.getId())
+                .header(HttpHeaders.RANGE, "bytes=5-6")
+                .header(HttpHeaders.IF_RANGE, "\"stale\"")
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/videos/{id}/play", video.getId())
+                .header(HttpHeaders.RANGE, "bytes=1000-")
+                .exchange()
+                .expectStatus().isEqualTo(416)
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_RANGE, "bytes */" + content.length());
+
+        webTestClient.get().uri("/videos/{id}/play", video.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, headers.getETag())
+                .exchange()
+                .expectStatus().isNotModified();
+
+        webTestClient.get().uri("/videos/{id}/play", 999_999)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testEngagementIsTrackedAndFlushed() {
+        VideoResponse video = publish("Dune", "Denis Villeneuve", "Sci-Fi");
+
+        webTestClient.get().uri("/videos/{id}", video.getId()).exchange().expectStatus().isOk();
+        webTestClient.get().uri("/videos/{id}", video.getId()).exchange().expectStatus().isOk();
+        webTestClient.get().uri("/videos/{id}/play", video.getId()).exchange().expectStatus().isOk();
+        // Ranges not starting at byte 0 are not views
+        webTestClient.get().uri("/videos/{id}/play", video.getId())
+                .header(HttpHeaders.RANGE, "bytes=3-")
+                .exchange()
+                .expectStatus().isEqualTo(206);
+
+        assertEngagement(video.getId(), 1, 2);
+        engagementCounter.flush().block();
+        assertEngagement(video.getId(), 1, 2);
+
+        webTestClient.get().uri("/videos/{id}/engagement", 999_999)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testPlaybackCancelledAfterTheFirstByteIsAView() {
+        VideoResponse video = publish("Sicario", "Denis Villeneuve", "Thriller");
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/videos/{id}/play", video.getId()));
+
+        ResponseEntity<Flux<DataBuffer>> response = videoController.playVideo(video.getId(), exchange).block();
+        assertNotNull(response);
+        // The client goes away after the first buffer, before the body completes
+        response.getBody().take(1).doOnNext(DataBufferUtils::release).blockLast();
+
+        assertEngagement(video.getId(), 1, 0);
+    }
+
+    private void assertEngagement(Long id, int views, int impressions) {
+        webTestClient.get().uri("/videos/{id}/engagement", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(VideoEngagementResponse.class)
+                .value(engagement -> {
+                    assertEquals(views, engagement.getViews());
+                    assertEquals(impressions, engagement.getImpressions());
+                });
+    }
+
+    private long catalogVersion() {
+        return databaseClient.sql("SELECT version FROM catalog_version WHERE id = 1")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+
+    private VideoResponse publish(String title, String director, String genre) {
+        return webTestClient.post().uri("/videos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(title, director, genre))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(VideoResponse.class)
+                .returnResult().getResponseBody();
+    }
+
+    private static Map<String, Object> request(String title, String director, String genre) {
+        return Map.of("title", title, "synopsis", "A story.", "director", director, "cast", List.of("Someone"),
+                "releaseYear", 2016, "genre", genre, "runningTime", 116);
+    }
+}
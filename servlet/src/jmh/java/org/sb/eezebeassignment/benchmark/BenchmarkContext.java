@@ -0,0 +1,90 @@
+package org.sb.eezebeassignment.benchmark;
+
+import org.sb.eezebeassignment.EezeBeAssignmentApplication;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.repository.VideoRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Boots the application (without a web server unless asked for) on its own in-memory H2 database and seeds a synthetic catalog,
+ * so benchmarks measure the same beans the service runs with.
+ */
+final class BenchmarkContext {
+
+    static final int DIRECTORS = 200;
+    static final int GENRES = 20;
+    static final String[] WORDS = {"night", "city", "river", "dream", "war", "love", "storm", "king", "ghost", "island",
+            "winter", "machine", "secret", "garden", "shadow", "empire", "signal", "harbor", "mirror", "desert"};
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(Map<String, Object> properties) {
+        return start(properties, WebApplicationType.NONE);
+    }
+
+    static ConfigurableApplicationContext start(Map<String, Object> properties, WebApplicationType webApplicationType,
+                                                Class<?>... additionalSources) {
+        Map<String, Object> defaults = new HashMap<>();
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        defaults.put("spring.jpa.show-sql", "false");
+        defaults.put("spring.jpa.properties.hibernate.format_sql", "false");
+        defaults.put("spring.h2.console.enabled", "false");
+        defaults.put("logging.level.root", "WARN");
+        defaults.putAll(properties);
+        // Passed as command line arguments because builder properties rank below application.yml
+        String[] args = defaults.entrySet().stream().map(entry -> "--" + entry.getKey() + "=" + entry.getValue()).toArray(String[]::new);
+        return new SpringApplicationBuilder(EezeBeAssignmentApplication.class)
+                .sources(additionalSources)
+                .web(webApplicationType)
+                .run(args);
+    }
+
+    /**
+     * Inserts {@code size} videos with a deterministic spread of directors, genres and title words.
+     *
+     * @return the generated IDs in insertion order
+     */
+    static List<Long> seed(ConfigurableApplicationContext context, int size) {
+        VideoRepository repository = context.getBean(VideoRepository.class);
+        Random random = new Random(42);
+        List<Long> ids = new ArrayList<>(size);
+        List<Video> batch = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            String title = capitalize(word(random)) + " of the " + capitalize(word(random)) + " " + i;
+            batch.add(new Video(title, "A story about " + word(random) + " and " + word(random) + ".", director(i),
+                    List.of("Actor " + random.nextInt(5000), "Actor " + random.nextInt(5000)),
+                    1950 + random.nextInt(75), genre(i), 80 + random.nextInt(100)));
+            if (batch.size() == 1000 || i == size - 1) {
+                repository.saveAll(batch).forEach(video -> ids.add(video.getId()));
+                batch.clear();
+            }
+        }
+        return ids;
+    }
+
+    static String director(int i) {
+        return "Director " + (i % DIRECTORS);
+    }
+
+    static String genre(int i) {
+        return "Genre " + (i % GENRES);
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,140 @@
+package org.sb.eezebeassignment.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sb.eezebeassignment.content.ContentStoreProperties;
+import org.sb.eezebeassignment.service.content.FileSystemVideoContentStore;
+import org.sb.eezebeassignment.service.content.VideoContent;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves one video file into a loopback socket the way /play can: the former InputStreamResource copy,
+ * FileChannel.transferTo, a memory-mapped buffer, and a channel-to-socket transfer as Tomcat's sendfile does.
+ * Run with {@code -prof gc} (the profile default) to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentStoreBenchmark {
+
+    private static final long VIDEO_ID = 1L;
+
+    @Param({"65536", "4194304"})
+    int fileSize;
+
+    private Path root;
+    private Path file;
+    private VideoContent channelContent;
+    private VideoContent mappedContent;
+    private ServerSocketChannel server;
+    private SocketChannel client;
+    private OutputStream sink;
+    private Thread drainer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("content-benchmark");
+        byte[] bytes = new byte[fileSize];
+        new Random(42).nextBytes(bytes);
+        file = Files.write(root.resolve(VIDEO_ID + ".mp4"), bytes);
+
+        channelContent = store(DataSize.ofBytes(0)).find(VIDEO_ID).orElseThrow();
+        mappedContent = store(DataSize.ofMegabytes(64)).find(VIDEO_ID).orElseThrow();
+
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = SocketChannel.open(server.getLocalAddress());
+        SocketChannel accepted = server.accept();
+        drainer = new Thread(() -> drain(accepted), "benchmark-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+        sink = Channels.newOutputStream(client);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(root);
+    }
+
+    @Benchmark
+    public long inputStreamResource() throws IOException {
+        try (InputStream in = new InputStreamResource(Files.newInputStream(file)).getInputStream()) {
+            return StreamUtils.copy(in, sink);
+        }
+    }
+
+    @Benchmark
+    public long fileChannelTransferTo() throws IOException {
+        channelContent.transferTo(0, fileSize, client);
+        return fileSize;
+    }
+
+    @Benchmark
+    public long mappedBuffer() throws IOException {
+        mappedContent.transferTo(0, fileSize, client);
+        return fileSize;
+    }
+
+    @Benchmark
+    public long sendfile() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long transferred = 0;
+            while (transferred < fileSize) {
+                transferred += channel.transferTo(transferred, fileSize - transferred, client);
+            }
+            return transferred;
+        }
+    }
+
+    private FileSystemVideoContentStore store(DataSize mappedCapacity) {
+        ContentStoreProperties properties = new ContentStoreProperties();
+        properties.setRoot(root);
+        properties.setMappedCapacity(mappedCapacity);
+        return new FileSystemVideoContentStore(properties);
+    }
+
+    private static void drain(SocketChannel channel) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+        try (channel) {
+            while (channel.read(buffer) >= 0) {
+                buffer.clear();
+            }
+        } catch (IOException ignored) {
+            // The client side closed at tear-down
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.sb.eezebeassignment.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sb.eezebeassignment.service.VideoService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * recordView/recordImpression from 8 threads, over a few hot videos (heavy contention) or the whole catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class EngagementBenchmark {
+
+    @Param({"write-behind", "async", "direct"})
+    String mode;
+
+    @Param({"4", "1000"})
+    int hotVideos;
+
+    private ConfigurableApplicationContext context;
+    private VideoService videoService;
+    private Long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of("engagement.mode", mode));
+        videoService = context.getBean(VideoService.class);
+        List<Long> seeded = BenchmarkContext.seed(context, hotVideos);
+        ids = seeded.toArray(Long[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void recordView() {
+        videoService.recordView(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public void recordImpression() {
+        videoService.recordImpression(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+}
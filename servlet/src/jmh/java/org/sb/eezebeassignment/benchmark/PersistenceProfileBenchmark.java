@@ -0,0 +1,90 @@
+package org.sb.eezebeassignment.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.service.VideoService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * recordView and publishVideo from 8 threads against PostgreSQL, with the prod profile as it is ("tuned") and
+ * with its pool, driver and logging settings reverted to the defaults ("baseline"). Views are written with
+ * engagement.mode=direct so each call is one upsert. Needs a running database, e.g. the one from docker-compose.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class PersistenceProfileBenchmark {
+
+    @Param({"baseline", "tuned"})
+    String profile;
+
+    @Param("jdbc:postgresql://localhost:5432/eeze_db")
+    String jdbcUrl;
+
+    private ConfigurableApplicationContext context;
+    private VideoService videoService;
+    private Long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.profiles.active", "prod");
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.flyway.url", jdbcUrl);
+        properties.put("engagement.mode", "direct");
+        if ("baseline".equals(profile)) {
+            properties.put("spring.jpa.show-sql", "true");
+            properties.put("spring.jpa.properties.hibernate.format_sql", "true");
+            properties.put("spring.jpa.properties.hibernate.query.in_clause_parameter_padding", "false");
+            properties.put("spring.datasource.hikari.maximum-pool-size", "10");
+            properties.put("spring.datasource.hikari.minimum-idle", "10");
+            properties.put("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", "false");
+            properties.put("spring.datasource.hikari.data-source-properties.prepareThreshold", "5");
+            properties.put("spring.datasource.hikari.data-source-properties.preparedStatementCacheQueries", "256");
+            properties.put("spring.datasource.hikari.data-source-properties.preparedStatementCacheSizeMiB", "5");
+        }
+        context = BenchmarkContext.start(properties);
+        videoService = context.getBean(VideoService.class);
+        ids = BenchmarkContext.seed(context, 1000).toArray(Long[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void recordView() {
+        videoService.recordView(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Video publishVideo() {
+        int i = ThreadLocalRandom.current().nextInt(BenchmarkContext.DIRECTORS * BenchmarkContext.GENRES);
+        return videoService.publishVideo(new Video("Benchmark " + i, "A story about benchmarks.", BenchmarkContext.director(i),
+                List.of("Actor " + i, "Actor " + (i + 1)), 2024, BenchmarkContext.genre(i), 100));
+    }
+}
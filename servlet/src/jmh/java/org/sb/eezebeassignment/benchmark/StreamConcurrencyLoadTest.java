@@ -0,0 +1,151 @@
+package org.sb.eezebeassignment.benchmark;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures how many {@code /play} streams the server keeps going at once with platform and with virtual request
+ * threads. Every client requests a large video and then stops reading, like a viewer on a slow link, so each
+ * stream blocks its request thread in a socket write. Sendfile is disabled for the thread comparisons, since it hands
+ * streams to Tomcat's poller and frees the thread; a third run measures it on platform threads, and a fourth with
+ * the off-heap content cache enabled and sized to hold the video.
+ * <p>
+ * Usage: {@code mvn -Pbenchmark -pl servlet test-compile exec:exec@stream-load-test -Dload.args="<streams>"}. Virtual threads are
+ * only measured when running on Java 21 or later.
+ */
+public final class StreamConcurrencyLoadTest {
+
+    private static final long VIDEO_SIZE = 256L * 1024 * 1024;
+    private static final Duration STARTUP_WINDOW = Duration.ofSeconds(15);
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(5);
+
+    private StreamConcurrencyLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int streams = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        Path root = Files.createTempDirectory("stream-load-test");
+        List<String> results = new ArrayList<>();
+        results.add(run("platform", false, false, false, streams, root));
+        if (Runtime.version().feature() >= 21) {
+            results.add(run("virtual", true, false, false, streams, root));
+        } else {
+            results.add(String.format("%-24s skipped, requires Java 21 (running %s)", "virtual", Runtime.version()));
+        }
+        results.add(run("platform+sendfile", false, true, false, streams, root));
+        results.add(run("platform+sendfile+cache", false, true, true, streams, root));
+        System.out.println();
+        System.out.println("mode                     requested   concurrent streams   GET /videos/{id} while streaming");
+        results.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    private static String run(String mode, boolean virtualThreads, boolean sendfile, boolean cache, int streams,
+                              Path root) throws Exception {
+        ConfigurableApplicationContext context = BenchmarkContext.start(Map.of(
+                "server.port", "0",
+                "content.store.type", "filesystem",
+                "content.store.root", root.toString(),
+                "content.cache.enabled", String.valueOf(cache),
+                "content.cache.max-size", (2 * VIDEO_SIZE) + "B",
+                "content.cache.max-entry-size", VIDEO_SIZE + "B",
+                "spring.threads.virtual.enabled", String.valueOf(virtualThreads),
+                "load-test.sendfile", String.valueOf(sendfile),
+                "server.tomcat.max-connections", String.valueOf(streams + 100)
+        ), WebApplicationType.SERVLET, SlowClientServerConfig.class);
+        List<SocketChannel> clients = new ArrayList<>(streams);
+        try (Selector selector = Selector.open()) {
+            long videoId = BenchmarkContext.seed(context, 1).get(0);
+            try (RandomAccessFile video = new RandomAccessFile(root.resolve(videoId + ".mp4").toFile(), "rw")) {
+                video.setLength(VIDEO_SIZE);
+            }
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            byte[] request = ("GET /videos/" + videoId + "/play HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+
+            for (int i = 0; i < streams; i++) {
+                SocketChannel client = SocketChannel.open();
+                client.setOption(StandardSocketOptions.SO_RCVBUF, 4096);
+                client.connect(new InetSocketAddress("localhost", port));
+                client.write(ByteBuffer.wrap(request));
+                client.configureBlocking(false);
+                client.register(selector, SelectionKey.OP_READ);
+                clients.add(client);
+            }
+
+            // A stream counts as started once its first bytes arrive; after that the client never reads again
+            int started = 0;
+            long deadline = System.nanoTime() + STARTUP_WINDOW.toNanos();
+            ByteBuffer buffer = ByteBuffer.allocate(64);
+            while (started < streams && System.nanoTime() < deadline) {
+                selector.select(100);
+                for (SelectionKey key : selector.selectedKeys()) {
+                    buffer.clear();
+                    ((SocketChannel) key.channel()).read(buffer);
+                    key.cancel();
+                    started++;
+                }
+                selector.selectedKeys().clear();
+            }
+
+            String probe = probe(port, videoId);
+            return String.format("%-24s %9d %20d   %s", mode, streams, started, probe);
+        } finally {
+            for (SocketChannel client : clients) {
+                client.close();
+            }
+            context.close();
+        }
+    }
+
+    private static String probe(int port, long videoId) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(PROBE_TIMEOUT).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/videos/" + videoId))
+                .timeout(PROBE_TIMEOUT)
+                .build();
+        long start = System.nanoTime();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status + " in " + Duration.ofNanos(System.nanoTime() - start).toMillis() + " ms";
+        } catch (IOException ex) {
+            return "no response within " + PROBE_TIMEOUT.toSeconds() + " s";
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class SlowClientServerConfig {
+
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> slowClientConnector(@Value("${load-test.sendfile}") boolean sendfile) {
+            return factory -> factory.addConnectorCustomizers(connector -> {
+                connector.setProperty("useSendfile", String.valueOf(sendfile));
+                // Small send buffers make a non-reading client block its stream after a few kilobytes
+                connector.setProperty("socket.txBufSize", "16384");
+            });
+        }
+    }
+}
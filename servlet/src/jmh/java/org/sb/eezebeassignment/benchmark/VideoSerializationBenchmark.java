@@ -0,0 +1,89 @@
+package org.sb.eezebeassignment.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.model.Video;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request work of VideoController's list endpoints once the entities are loaded: entity to DTO
+ * mapping, and JSON serialisation of a page as a whole or incrementally as /videos/stream writes it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VideoSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    int pageSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Video> videos;
+    private List<VideoResponse> responses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        videos = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Video video = new Video("Title " + i, "Synopsis " + i, BenchmarkContext.director(i), List.of("Actor " + i),
+                    2000 + i % 25, BenchmarkContext.genre(i), 90 + i % 60);
+            video.setId((long) i + 1);
+            videos.add(video);
+        }
+        responses = mapToResponses();
+    }
+
+    @Benchmark
+    public List<VideoResponse> mapToResponses() {
+        List<VideoResponse> mapped = new ArrayList<>(videos.size());
+        for (Video video : videos) {
+            mapped.add(video.toResponse());
+        }
+        return mapped;
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() throws IOException {
+        return objectMapper.writeValueAsBytes(mapToResponses());
+    }
+
+    @Benchmark
+    public int serializeIncrementally() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (Video video : videos) {
+                generator.writeObject(video.toResponse());
+            }
+            generator.writeEndArray();
+        }
+        return out.size();
+    }
+}
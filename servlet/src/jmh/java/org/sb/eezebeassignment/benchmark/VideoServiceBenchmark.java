@@ -0,0 +1,103 @@
+package org.sb.eezebeassignment.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.service.VideoService;
+import org.sb.eezebeassignment.service.search.VideoSearchIndex;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of {@link VideoService} against seeded catalogs, with the search index on and off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VideoServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int catalogSize;
+
+    @Param({"false", "true"})
+    boolean searchIndex;
+
+    private ConfigurableApplicationContext context;
+    private VideoService videoService;
+    private Long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of("search.index.enabled", searchIndex));
+        videoService = context.getBean(VideoService.class);
+        ids = BenchmarkContext.seed(context, catalogSize).toArray(Long[]::new);
+        if (searchIndex) {
+            context.getBean(VideoSearchIndex.class).rebuild();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Video> getVideoById() {
+        return videoService.getVideoById(randomId());
+    }
+
+    @Benchmark
+    public Optional<VideoResponse> getVideoMetadataCached() {
+        return videoService.getVideoMetadata(randomId());
+    }
+
+    @Benchmark
+    public List<VideoResponse> searchByDirectorAndGenre() {
+        int i = ThreadLocalRandom.current().nextInt(catalogSize);
+        return videoService.searchVideos(BenchmarkContext.director(i), BenchmarkContext.genre(i), null, null);
+    }
+
+    @Benchmark
+    public List<VideoResponse> searchByTitleSubstring() {
+        return videoService.searchVideos(null, null, "of the " + randomWord(), null);
+    }
+
+    @Benchmark
+    public List<VideoResponse> searchFreeText() {
+        return videoService.searchVideos(null, null, null, randomWord() + " " + randomWord());
+    }
+
+    @Benchmark
+    public List<VideoResponse> listAvailableVideos() {
+        return videoService.listAvailableVideos(randomId(), 100);
+    }
+
+    private Long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private static String randomWord() {
+        String word = BenchmarkContext.WORDS[ThreadLocalRandom.current().nextInt(BenchmarkContext.WORDS.length)];
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,14 @@
+package org.sb.eezebeassignment.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+// Ordered outside the transaction interceptor: cache hits never open a transaction or borrow a
+// connection. Entries are evicted after commit by VideoMetadataCacheInvalidator.
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String VIDEO_METADATA_CACHE = "videoMetadata";
+}
@@ -0,0 +1,85 @@
+package org.sb.eezebeassignment.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.sb.eezebeassignment.service.VideoChangedEvent;
+import org.sb.eezebeassignment.service.VideosImportedEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Staleness guard for replica reads. A request that changes videos gets a cookie holding the end of the
+ * read-your-writes window; until then, that client's requests read from the primary, as does the rest of the
+ * writing request. Other requests read from a single replica each.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "primary-reads-until";
+
+    private final ReplicaProperties properties;
+
+    public ReadYourWritesFilter(ReplicaProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (ReplicaRouting.Scope ignored = ReplicaRouting.open(isPinned(request))) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onVideoChanged(VideoChangedEvent event) {
+        pinCurrentClient();
+    }
+
+    @TransactionalEventListener
+    public void onVideosImported(VideosImportedEvent event) {
+        pinCurrentClient();
+    }
+
+    /**
+     * Runs after the write committed, on the request's thread and before its response is written.
+     */
+    private void pinCurrentClient() {
+        ReplicaRouting.Scope scope = ReplicaRouting.current();
+        if (scope != null) {
+            scope.pinToPrimary();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getResponse() != null && !attributes.getResponse().isCommitted()) {
+            long window = properties.getReadYourWritesWindow().toMillis();
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(System.currentTimeMillis() + window));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, properties.getReadYourWritesWindow().toSeconds()));
+            attributes.getResponse().addCookie(cookie);
+        }
+    }
+
+    private static boolean isPinned(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return System.currentTimeMillis() < Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
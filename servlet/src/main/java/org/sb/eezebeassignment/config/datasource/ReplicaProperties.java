@@ -0,0 +1,65 @@
+package org.sb.eezebeassignment.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datasource.replicas")
+public class ReplicaProperties {
+
+    /**
+     * Route read-only transactions to the replicas below; writes always go to spring.datasource.
+     */
+    private boolean enabled = false;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    /**
+     * How long after a client's write its reads stay on the primary, so it sees its own changes; should exceed
+     * the usual replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * How long a read waits for a replica connection before failing over to the next replica or the primary.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    /**
+     * How often replicas are probed; a replica failing a probe or a connection attempt gets no reads until a
+     * later probe succeeds.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Replicas further behind the primary are treated as unhealthy; unset disables the check. Measured as the age
+     * of the last replayed transaction (pg_last_xact_replay_timestamp()) while received WAL is still being replayed,
+     * and zero once replay has caught up.
+     */
+    private Duration maxLag;
+
+    @Getter
+    @Setter
+    public static class Node {
+
+        private String url;
+
+        /**
+         * Defaults to spring.datasource.username.
+         */
+        private String username;
+
+        /**
+         * Defaults to spring.datasource.password.
+         */
+        private String password;
+    }
+}
@@ -0,0 +1,108 @@
+package org.sb.eezebeassignment.config.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing hints for {@link ReplicaRoutingDataSource}; harmless no-ops when replicas are disabled.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Integer> PRIMARY_DEPTH = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Runs work whose reads must not lag behind committed writes, e.g. reads that fill long-lived caches, on the
+     * primary. The routing is decided when a transaction first uses its connection, so this may wrap either the
+     * transaction or the statements inside it.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        PRIMARY_DEPTH.set(PRIMARY_DEPTH.get() + 1);
+        try {
+            return work.get();
+        } finally {
+            int depth = PRIMARY_DEPTH.get() - 1;
+            if (depth == 0) {
+                PRIMARY_DEPTH.remove();
+            } else {
+                PRIMARY_DEPTH.set(depth);
+            }
+        }
+    }
+
+    static boolean isPrimaryRequired() {
+        Scope scope = SCOPE.get();
+        return PRIMARY_DEPTH.get() > 0 || (scope != null && scope.primary);
+    }
+
+    /**
+     * Opens a scope, typically one request, in which every read goes to the same replica, so that related reads
+     * (e.g. a list and its validators) see one consistent state. Reads go to the primary if pinned.
+     */
+    static Scope open(boolean pinnedToPrimary) {
+        Scope scope = new Scope(pinnedToPrimary);
+        SCOPE.set(scope);
+        return scope;
+    }
+
+    static Scope current() {
+        return SCOPE.get();
+    }
+
+    /**
+     * Wraps the task to run in the calling thread's scope, so work that continues a request on another thread,
+     * e.g. a streaming response body, reads from the same replica or stays on the primary.
+     */
+    static Runnable propagate(Runnable task) {
+        Scope scope = SCOPE.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> {
+            Scope previous = SCOPE.get();
+            SCOPE.set(scope);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    SCOPE.remove();
+                } else {
+                    SCOPE.set(previous);
+                }
+            }
+        };
+    }
+
+    static final class Scope implements AutoCloseable {
+
+        // Handed to async request threads by propagate(), which only run once the request thread is done with it
+        private boolean primary;
+        private Object replica;
+
+        private Scope(boolean primary) {
+            this.primary = primary;
+        }
+
+        /**
+         * Sends the remaining reads of the scope to the primary, e.g. after the scope committed a write.
+         */
+        void pinToPrimary() {
+            primary = true;
+        }
+
+        Object replica() {
+            return replica;
+        }
+
+        void replica(Object replica) {
+            this.replica = replica;
+        }
+
+        @Override
+        public void close() {
+            SCOPE.remove();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.sb.eezebeassignment.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything else. Replicas
+ * are used round-robin, one per {@link ReplicaRouting} scope; a replica that fails a connection attempt or a
+ * health probe is skipped until a probe succeeds, and reads fall back to the primary when no replica is healthy.
+ * <p>
+ * The decision needs the transaction's read-only flag, which Spring exposes only after the connection of a JPA
+ * transaction has been requested, so this must sit behind a LazyConnectionDataSourceProxy.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    /**
+     * Time since the last replayed transaction, or zero when everything received has been replayed: on an idle
+     * primary the last replay gets old without the replica falling behind.
+     */
+    private static final String LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaProperties properties;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryConnections;
+    private final Counter primaryFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, ReplicaProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.properties = properties;
+        this.replicas = new ArrayList<>(replicaDataSources.size());
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            replicas.add(new Replica("replica-" + i, replicaDataSources.get(i), connections(meterRegistry, "replica-" + i)));
+        }
+        this.primaryConnections = connections(meterRegistry, "primary");
+        this.primaryFallbacks = Counter.builder("db.routing.fallbacks")
+                .description("Read-only connections served by the primary because no replica was healthy")
+                .register(meterRegistry);
+        Gauge.builder("db.replicas.healthy", this, ReplicaRoutingDataSource::healthyReplicas)
+                .description("Replicas currently receiving reads")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(username, password);
+    }
+
+    private Connection route(String username, String password) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReplicaRouting.isPrimaryRequired()
+                || replicas.isEmpty()) {
+            primaryConnections.increment();
+            return connect(primary, username, password);
+        }
+        ReplicaRouting.Scope scope = ReplicaRouting.current();
+        int start = scope != null && scope.replica() != null
+                ? replicas.indexOf((Replica) scope.replica())
+                : Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = connect(replica.dataSource, username, password);
+                replica.connections.increment();
+                if (scope != null) {
+                    scope.replica(replica);
+                }
+                return connection;
+            } catch (SQLException ex) {
+                replica.healthy = false;
+                logger.warn("Replica {} is unavailable, routing its reads elsewhere: {}", replica.name, ex.getMessage());
+            }
+        }
+        primaryFallbacks.increment();
+        primaryConnections.increment();
+        return connect(primary, username, password);
+    }
+
+    /**
+     * Probes every replica, marking it healthy if it answers within the timeout and, when configured, lags less
+     * than the maximum.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy = probe(replica);
+            if (healthy != replica.healthy) {
+                logger.info("Replica {} is now {}", replica.name, healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private boolean probe(Replica replica) {
+        int timeoutSeconds = (int) Math.max(1, properties.getHealthCheckTimeout().toSeconds());
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (!connection.isValid(timeoutSeconds)) {
+                return false;
+            }
+            Duration maxLag = properties.getMaxLag();
+            if (maxLag == null) {
+                return true;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(timeoutSeconds);
+                try (ResultSet result = statement.executeQuery(LAG_QUERY)) {
+                    double lagSeconds = result.next() ? result.getDouble(1) : 0;
+                    if (lagSeconds * 1000 > maxLag.toMillis()) {
+                        logger.warn("Replica {} lags {} s behind the primary", replica.name, lagSeconds);
+                        return false;
+                    }
+                    return true;
+                }
+            }
+        } catch (SQLException ex) {
+            logger.debug("Health probe of replica {} failed: {}", replica.name, ex.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static Connection connect(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("db.routing.connections")
+                .description("Connections handed out by the replica routing data source")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter connections;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource, Counter connections) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.connections = connections;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.sb.eezebeassignment.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import org.sb.eezebeassignment.dto.TopVideoResponse;
+import org.sb.eezebeassignment.model.EngagementGranularity;
+import org.sb.eezebeassignment.service.engagement.EngagementAnalyticsService;
+import org.sb.eezebeassignment.service.trending.TrendingVideoTracker;
+import org.sb.eezebeassignment.service.trending.TrendingWindow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/videos")
+@Tag(name = "Engagement Analytics API", description = "Engagement over time, served from minute/hour/day buckets")
+public class EngagementAnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementAnalyticsController.class);
+
+    static final Duration DEFAULT_RANGE = Duration.ofHours(24);
+    static final int MAX_TOP_VIDEOS = 100;
+
+    private final EngagementAnalyticsService analyticsService;
+    private final TrendingVideoTracker trendingTracker;
+
+    @Autowired
+    public EngagementAnalyticsController(EngagementAnalyticsService analyticsService, TrendingVideoTracker trendingTracker) {
+        this.analyticsService = analyticsService;
+        this.trendingTracker = trendingTracker;
+    }
+
+    @GetMapping("/{id}/engagement/series")
+    @Operation(summary = "Engagement time series of a video", description = "Views and impressions per MINUTE, HOUR or " +
+            "DAY bucket (UTC) in [from, to); defaults to the last 24 hours. Minute data is rolled up into hours and hours " +
+            "into days as it ages, so older points may be coarser than requested.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Time series retrieved"),
+                    @ApiResponse(responseCode = "400", description = "Invalid granularity or range"),
+                    @ApiResponse(responseCode = "404", description = "Video not found")
+            })
+    public ResponseEntity<?> getTimeSeries(@PathVariable Long id,
+                                           @RequestParam(defaultValue = "HOUR") EngagementGranularity granularity,
+                                           @RequestParam(required = false) Instant from,
+                                           @RequestParam(required = false) Instant to) {
+        logger.info("Received engagement time series request for video with ID {} per {}", id, granularity);
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().body(Map.of("from", "must be before to"));
+        }
+        return analyticsService.getTimeSeries(id, granularity, start, end)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/engagement/top")
+    @Operation(summary = "Most engaged videos", description = "Available videos ranked by views or impressions over " +
+            "the buckets starting within the last window (ISO-8601 duration, e.g. PT1H or P7D).")
+    public ResponseEntity<?> getTopVideos(@RequestParam(defaultValue = "PT24H") Duration window,
+                                          @RequestParam(defaultValue = "views") @Pattern(regexp = "views|impressions") String metric,
+                                          @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_TOP_VIDEOS) int limit) {
+        logger.info("Received top videos request by {} over {}", metric, window);
+        if (window.isNegative() || window.isZero()) {
+            return ResponseEntity.badRequest().body(Map.of("window", "must be positive"));
+        }
+        Instant now = Instant.now();
+        List<TopVideoResponse> top = analyticsService.getTopVideos(now.minus(window), now, "impressions".equals(metric), limit);
+        return ResponseEntity.ok(top);
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Trending videos", description = "Most viewed videos over the last 15m, 1h or 24h, estimated " +
+            "in memory from streaming sketches without touching the database. Windows slide by whole minutes (15m, 1h) " +
+            "or hours (24h); counts are per instance and may include videos deleted since.")
+    public ResponseEntity<?> getTrending(@RequestParam(defaultValue = "1h") @Pattern(regexp = "15m|1h|24h") String window,
+                                         @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_TOP_VIDEOS) int limit) {
+        logger.info("Received trending videos request over {}", window);
+        return ResponseEntity.ok(trendingTracker.getTrending(TrendingWindow.fromLabel(window).orElseThrow(), limit));
+    }
+}
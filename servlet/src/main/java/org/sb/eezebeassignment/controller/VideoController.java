@@ -0,0 +1,386 @@
+package org.sb.eezebeassignment.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import org.sb.eezebeassignment.dto.BulkImportResponse;
+import org.sb.eezebeassignment.dto.VideoPatchRequest;
+import org.sb.eezebeassignment.dto.VideoRequest;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.dto.VideoEngagementResponse;
+import org.sb.eezebeassignment.model.CatalogVersion;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.service.CatalogVersionService;
+import org.sb.eezebeassignment.service.VideoService;
+import org.sb.eezebeassignment.service.bulk.VideoBulkImportService;
+import org.sb.eezebeassignment.service.content.VideoContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/videos")
+@Tag(name = "Video API", description = "API for managing videos")
+public class VideoController {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoController.class);
+
+    static final String NEXT_AFTER_ID_HEADER = "X-Next-After-Id";
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int STREAM_PAGE_SIZE = 500;
+    static final String VIEWER_ID_HEADER = "X-Viewer-Id";
+    static final int MAX_VIEWER_ID_LENGTH = 128;
+    // Caches may store responses but must revalidate them, which the validators make cheap
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+    static final long UNMATCHABLE_VERSION = -1;
+
+    private final VideoService videoService;
+    private final CatalogVersionService catalogVersionService;
+    private final ObjectMapper objectMapper;
+    private final VideoStreamWriter streamWriter;
+    private final VideoBulkImportService bulkImportService;
+
+    @Autowired
+    public VideoController(VideoService videoService, CatalogVersionService catalogVersionService,
+                           ObjectMapper objectMapper, VideoStreamWriter streamWriter,
+                           VideoBulkImportService bulkImportService) {
+        this.videoService = videoService;
+        this.catalogVersionService = catalogVersionService;
+        this.objectMapper = objectMapper;
+        this.streamWriter = streamWriter;
+        this.bulkImportService = bulkImportService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Publish a new video", description = "Creates a new video without an ID. The ID will be auto-generated.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Video object to be created",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = VideoRequest.class)))
+            ,
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Video created successfully", content = @Content(schema = @Schema(implementation = VideoResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid request format")
+            })
+    public ResponseEntity<VideoResponse> publishVideo(@Valid @RequestBody VideoRequest videoRequest) {
+        logger.info("Received publish video request");
+
+        Video savedVideo = videoService.publishVideo(Video.from(videoRequest));
+        logger.info("New video added with ID {}", savedVideo.getId());
+        return ResponseEntity.ok(savedVideo.toResponse());
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Publish videos in bulk", description = "Accepts a JSON array or NDJSON (one video per line) of video objects. " +
+            "Items are validated and persisted in batches as they are read; the response lists the items that were rejected.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import finished", content = @Content(schema = @Schema(implementation = BulkImportResponse.class)))
+            })
+    public ResponseEntity<BulkImportResponse> bulkPublishVideos(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        logger.info("Received bulk publish request ({})", contentType);
+
+        BulkImportResponse response = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? bulkImportService.importNdjson(request.getInputStream())
+                : bulkImportService.importJsonArray(request.getInputStream());
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update video metadata", description = "Updates metadata for an existing video. With an If-Match " +
+            "header carrying the video's ETag, the update is only applied if nobody has changed the video since.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Updated video metadata",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = VideoRequest.class)))
+            ,
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Video updated successfully", content = @Content(schema = @Schema(implementation = VideoResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Video not found"),
+                    @ApiResponse(responseCode = "409", description = "Video updated concurrently"),
+                    @ApiResponse(responseCode = "412", description = "Video modified since the If-Match ETag")
+            })
+    public ResponseEntity<VideoResponse> updateVideo(@PathVariable Long id, @Valid @RequestBody VideoRequest videoRequest,
+                                                     @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.info("Received update video request for video with ID {}", id);
+        Optional<Video> updatedVideo = videoService.updateVideo(id, videoRequest, expectedVersion(id, ifMatch));
+
+        if (updatedVideo.isPresent()) {
+            logger.info("Video with ID {} updated successfully", id);
+            VideoResponse response = updatedVideo.get().toResponse();
+            return ResponseEntity.ok().eTag(videoETag(response)).body(response);
+        } else {
+            logger.info("Video with ID {} not found", id);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update video metadata", description = "Changes only the fields present in the " +
+            "request with a single targeted UPDATE; a cast, when present, replaces the current one. Supports If-Match " +
+            "like PUT.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Video updated successfully", content = @Content(schema = @Schema(implementation = VideoResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid request format"),
+                    @ApiResponse(responseCode = "404", description = "Video not found"),
+                    @ApiResponse(responseCode = "412", description = "Video modified since the If-Match ETag")
+            })
+    public ResponseEntity<VideoResponse> patchVideo(@PathVariable Long id, @Valid @RequestBody VideoPatchRequest patchRequest,
+                                                    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.info("Received patch video request for video with ID {}", id);
+        Optional<VideoResponse> patchedVideo = videoService.patchVideo(id, patchRequest, expectedVersion(id, ifMatch));
+        if (patchedVideo.isEmpty()) {
+            logger.info("Video with ID {} not found", id);
+        }
+        return patchedVideo.map(video -> ResponseEntity.ok().eTag(videoETag(video)).body(video))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Soft delete a video", description = "Marks a video as deleted without removing it from the database.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Video soft deleted successfully"),
+                    @ApiResponse(responseCode = "404", description = "Video not found")
+            })
+    public ResponseEntity<Void> softDeleteVideo(@PathVariable Long id) {
+        logger.info("Received delete video request for video with ID {}", id);
+        boolean deleted = videoService.softDeleteVideo(id);
+        if (deleted) {
+            logger.info("Video with ID {} deleted successfully", id);
+            return ResponseEntity.ok().build();
+        } else {
+            logger.info("Video with ID {} not found", id);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search for videos", description = "Searches for videos based on query parameters such as director or genre. " +
+            "The optional q parameter matches words in title, director, cast, genre and synopsis and ranks results by relevance.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "List of matching videos"),
+                    @ApiResponse(responseCode = "304", description = "Catalog not modified")
+            })
+    public ResponseEntity<List<VideoResponse>> searchVideos(
+            @RequestParam(required = false) String director,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String q,
+            WebRequest webRequest) {
+
+        logger.info("Received search request for videos");
+        CatalogVersion catalog = catalogVersionService.current();
+        if (webRequest.checkNotModified(catalogETag(catalog), catalog.getUpdatedAt().toEpochMilli())) {
+            return null;
+        }
+        return catalogValidated(ResponseEntity.ok(), catalog).body(videoService.searchVideos(director, genre, title, q));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a video by ID", description = "Retrieves a video's metadata by its ID.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Video found", content = @Content(schema = @Schema(implementation = VideoResponse.class))),
+                    @ApiResponse(responseCode = "304", description = "Video not modified"),
+                    @ApiResponse(responseCode = "404", description = "Video not found")
+            })
+    public ResponseEntity<VideoResponse> getVideoById(@PathVariable Long id) {
+        logger.info("Received request to get video with ID: {}", id);
+        Optional<VideoResponse> video = videoService.getVideoMetadata(id);
+        if (video.isPresent()) {
+            videoService.recordImpression(id);
+        }
+        if (video.isPresent()) {
+            logger.info("Successfully retrieved video for ID: {}", id);
+        } else {
+            logger.info("No video found for ID: {}", id);
+        }
+        // Validators come from the cached metadata itself; a matching request gets a 304 without a body
+        return video.map(metadata -> ResponseEntity.ok()
+                        .eTag(videoETag(metadata))
+                        .lastModified(metadata.getUpdatedAt())
+                        .cacheControl(REVALIDATE)
+                        .body(metadata))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    @Operation(summary = "List available videos", description = "Retrieves one page of non-deleted videos ordered by ID. " +
+            "Pass the value of the " + NEXT_AFTER_ID_HEADER + " response header as afterId to fetch the next page.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of videos"),
+                    @ApiResponse(responseCode = "304", description = "Catalog not modified"),
+                    @ApiResponse(responseCode = "400", description = "Invalid page size")
+            })
+    public ResponseEntity<List<VideoResponse>> listAvailableVideos(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+            WebRequest webRequest) {
+        logger.info("Received list videos request after ID {} with limit {}", afterId, limit);
+        CatalogVersion catalog = catalogVersionService.current();
+        if (webRequest.checkNotModified(catalogETag(catalog), catalog.getUpdatedAt().toEpochMilli())) {
+            return null;
+        }
+        List<VideoResponse> videos = videoService.listAvailableVideos(afterId, limit);
+
+        ResponseEntity.BodyBuilder response = catalogValidated(ResponseEntity.ok(), catalog);
+        if (videos.size() == limit) {
+            response.header(NEXT_AFTER_ID_HEADER, String.valueOf(videos.get(videos.size() - 1).getId()));
+        }
+        return response.body(videos);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Stream all available videos", description = "Streams every non-deleted video as a JSON array, " +
+            "written incrementally so memory use does not grow with the catalog size.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "All videos"),
+                    @ApiResponse(responseCode = "304", description = "Catalog not modified")
+            })
+    public ResponseEntity<StreamingResponseBody> streamAvailableVideos(WebRequest webRequest) {
+        logger.info("Received stream videos request");
+        CatalogVersion catalog = catalogVersionService.current();
+        if (webRequest.checkNotModified(catalogETag(catalog), catalog.getUpdatedAt().toEpochMilli())) {
+            return null;
+        }
+        // Read page by page, so a connection is only held while one page is read and never while the client is
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                List<VideoResponse> page;
+                Long afterId = null;
+                do {
+                    page = videoService.listAvailableVideos(afterId, STREAM_PAGE_SIZE);
+                    for (VideoResponse video : page) {
+                        generator.writeObject(video);
+                    }
+                    if (!page.isEmpty()) {
+                        afterId = page.get(page.size() - 1).getId();
+                    }
+                } while (page.size() == STREAM_PAGE_SIZE);
+                generator.writeEndArray();
+            }
+        };
+        return catalogValidated(ResponseEntity.ok(), catalog).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/{id}/play")
+    @Operation(summary = "Play a video", description = "Streams the video content. Supports single and multiple byte ranges, " +
+            "If-Range and conditional requests via ETag/Last-Modified. A view is recorded when the first byte is served; " +
+            "a viewer ID (viewerId parameter or X-Viewer-Id header) also counts it towards the unique viewers.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Full video content"),
+                    @ApiResponse(responseCode = "206", description = "Requested byte range(s)"),
+                    @ApiResponse(responseCode = "304", description = "Content not modified"),
+                    @ApiResponse(responseCode = "404", description = "Video not found"),
+                    @ApiResponse(responseCode = "416", description = "Requested range not satisfiable")
+            })
+    public void playVideo(@PathVariable Long id,
+                          @RequestParam(required = false) @Size(max = MAX_VIEWER_ID_LENGTH) String viewerId,
+                          @RequestHeader(name = VIEWER_ID_HEADER, required = false) @Size(max = MAX_VIEWER_ID_LENGTH) String viewerHeader,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        logger.info("Received request to play video with ID: {}", id);
+        Optional<VideoContent> content = videoService.getVideoContent(id, streamWriter.supportsSendfile(request));
+
+        if (content.isPresent()) {
+            logger.info("Successfully retrieved video stream for ID: {}", id);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline;filename=video-" + id + ".mp4");
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            if (streamWriter.write(request, response, content.get())) {
+                videoService.recordView(id, viewerId != null ? viewerId : viewerHeader);
+            }
+        } else {
+            logger.info("Video with ID {} not found!", id);
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+        }
+    }
+
+
+    @GetMapping("/{id}/engagement")
+    @Operation(summary = "Retrieve video engagement statistics", description = "Gets the view and impression metrics for a video.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Engagement data retrieved", content = @Content(schema = @Schema(implementation = VideoEngagementResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Video not found")
+            })
+    public ResponseEntity<VideoEngagementResponse> getVideoEngagement(@PathVariable Long id) {
+        logger.info("Received request to get engagement stats for video with ID: {}", id);
+        Optional<VideoResponse> video = videoService.getVideoMetadata(id);
+        if (video.isPresent()) {
+            var engagement = videoService.getVideoEngagement(id);
+            logger.info("Successfully retrieved engagement for video with ID: {}", id);
+            return ResponseEntity.ok(new VideoEngagementResponse(
+                    id,
+                    engagement.getViews(),
+                    engagement.getImpressions(),
+                    engagement.getUniqueViewers()
+            ));
+        } else {
+            logger.info("Video with ID {} not found!", id);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    static String videoETag(VideoResponse video) {
+        return "\"video-" + video.getId() + "-" + video.getVersion() + "\"";
+    }
+
+    /**
+     * The version an If-Match header requires, or null when any version will do. A header naming only other
+     * videos' or weak tags, which If-Match never matches, requires a version no video has.
+     */
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"video-" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+                } catch (NumberFormatException ex) {
+                    // Not one of our tags; try the next one
+                }
+            }
+        }
+        return UNMATCHABLE_VERSION;
+    }
+
+    static String catalogETag(CatalogVersion catalog) {
+        return "\"catalog-" + catalog.getVersion() + "\"";
+    }
+
+    /**
+     * The catalog version is read before the body, so a change racing the request can only make the
+     * validators older than the body, which costs a later full response but never serves stale data as fresh.
+     * Searches answered by the in-memory index are the exception for the moment between a commit and its reindex.
+     */
+    private static ResponseEntity.BodyBuilder catalogValidated(ResponseEntity.BodyBuilder response, CatalogVersion catalog) {
+        return response.eTag(catalogETag(catalog))
+                .lastModified(catalog.getUpdatedAt())
+                .cacheControl(REVALIDATE);
+    }
+}
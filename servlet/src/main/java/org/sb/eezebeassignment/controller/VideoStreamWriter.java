@@ -0,0 +1,243 @@
+package org.sb.eezebeassignment.controller;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.sb.eezebeassignment.service.content.VideoContent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes {@link VideoContent} to the servlet response honouring conditional requests (ETag/Last-Modified),
+ * single and multiple byte ranges, and If-Range.
+ */
+@Component
+public class VideoStreamWriter {
+
+    private static final String CRLF = "\r\n";
+
+    // Tomcat request attributes for handing a file region to the connector's sendfile
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Below this size a plain write is cheaper than setting up sendfile (the threshold Tomcat's DefaultServlet uses).
+     */
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    /**
+     * Whether the connector can send large regions of a content file itself.
+     */
+    public boolean supportsSendfile(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR));
+    }
+
+    /**
+     * @return true when the response carries the first byte of the content, i.e. playback started
+     */
+    public boolean write(HttpServletRequest request, HttpServletResponse response, VideoContent content) throws IOException {
+        long length = content.length();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(content.etag(), content.lastModified().toEpochMilli())) {
+            return false;
+        }
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !ifRangeMatches(request, content)) {
+            writeFull(request, response, content);
+            return true;
+        }
+
+        List<long[]> ranges;
+        try {
+            ranges = satisfiableRanges(HttpRange.parseRanges(rangeHeader), length);
+        } catch (IllegalArgumentException ex) {
+            // A malformed Range header is ignored rather than rejected
+            writeFull(request, response, content);
+            return true;
+        }
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return false;
+        }
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        if (ranges.size() == 1) {
+            writeSingleRange(request, response, content, ranges.get(0));
+        } else {
+            writeMultipleRanges(response, content, ranges);
+        }
+        return ranges.stream().anyMatch(range -> range[0] == 0);
+    }
+
+    private void writeFull(HttpServletRequest request, HttpServletResponse response, VideoContent content) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentLengthLong(content.length());
+        transfer(request, response, content, 0, content.length());
+    }
+
+    private void writeSingleRange(HttpServletRequest request, HttpServletResponse response, VideoContent content, long[] range) throws IOException {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(range, content.length()));
+        response.setContentLengthLong(range[1] - range[0] + 1);
+        transfer(request, response, content, range[0], range[1] - range[0] + 1);
+    }
+
+    private void transfer(HttpServletRequest request, HttpServletResponse response, VideoContent content,
+                          long position, long count) throws IOException {
+        Optional<Path> file = content.file();
+        if (file.isPresent() && count >= SENDFILE_MIN_SIZE && supportsSendfile(request)) {
+            // The connector writes the file region straight to the socket once the servlet returns
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.get().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, position);
+            request.setAttribute(SENDFILE_END_ATTR, position + count);
+            return;
+        }
+        content.transferTo(position, count, channelOf(response.getOutputStream()));
+    }
+
+    private void writeMultipleRanges(HttpServletResponse response, VideoContent content, List<long[]> ranges) throws IOException {
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        String partContentType = response.getContentType() != null ? response.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            byte[] header = (CRLF + "--" + boundary + CRLF +
+                    HttpHeaders.CONTENT_TYPE + ": " + partContentType + CRLF +
+                    HttpHeaders.CONTENT_RANGE + ": " + contentRange(range, content.length()) + CRLF + CRLF)
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(header);
+            contentLength += header.length + range[1] - range[0] + 1;
+        }
+        byte[] closingBoundary = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+        response.setContentLengthLong(contentLength + closingBoundary.length);
+
+        ServletOutputStream out = response.getOutputStream();
+        WritableByteChannel channel = channelOf(out);
+        for (int i = 0; i < ranges.size(); i++) {
+            long[] range = ranges.get(i);
+            out.write(partHeaders.get(i));
+            content.transferTo(range[0], range[1] - range[0] + 1, channel);
+        }
+        out.write(closingBoundary);
+    }
+
+    /**
+     * The response body as a channel. Tomcat's stream takes a buffer as is, where {@link Channels#newChannel}
+     * would first copy mapped and off-heap content into a byte[].
+     */
+    private static WritableByteChannel channelOf(ServletOutputStream out) {
+        if (out instanceof CoyoteOutputStream coyote) {
+            return new CoyoteChannel(coyote);
+        }
+        return Channels.newChannel(out);
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, VideoContent content) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(content.etag());
+        }
+        if (ifRange.startsWith("W/")) {
+            // Weak validators never match for If-Range
+            return false;
+        }
+        long ifRangeDate;
+        try {
+            ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+        } catch (IllegalArgumentException ex) {
+            // An unparseable validator can't match, so the full representation is sent
+            return false;
+        }
+        return ifRangeDate / 1000 == content.lastModified().getEpochSecond();
+    }
+
+    /**
+     * The satisfiable ranges in ascending order, with overlapping and adjacent ones merged, so a response never
+     * carries a byte twice and its body is at most the content length (e.g. for {@code bytes=0-,0-,0-}).
+     */
+    private static List<long[]> satisfiableRanges(List<HttpRange> requested, long length) {
+        List<long[]> ranges = new ArrayList<>(requested.size());
+        for (HttpRange range : requested) {
+            if (length == 0) {
+                break;
+            }
+            long start;
+            long end;
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException ex) {
+                continue;
+            }
+            if (start < length && start <= end) {
+                ranges.add(new long[]{start, Math.min(end, length - 1)});
+            }
+        }
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+        List<long[]> merged = new ArrayList<>(ranges.size());
+        for (long[] range : ranges) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range[0] <= last[1] + 1) {
+                last[1] = Math.max(last[1], range[1]);
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    private static String contentRange(long[] range, long length) {
+        return "bytes " + range[0] + "-" + range[1] + "/" + length;
+    }
+
+    private static final class CoyoteChannel implements WritableByteChannel {
+
+        private final CoyoteOutputStream out;
+
+        private CoyoteChannel(CoyoteOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            int remaining = source.remaining();
+            out.write(source);
+            return remaining - source.remaining();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // The container closes the response
+        }
+    }
+}
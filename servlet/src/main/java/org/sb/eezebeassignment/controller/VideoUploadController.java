@@ -0,0 +1,111 @@
+package org.sb.eezebeassignment.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.sb.eezebeassignment.dto.CompleteUploadRequest;
+import org.sb.eezebeassignment.dto.UploadPart;
+import org.sb.eezebeassignment.dto.UploadStatusResponse;
+import org.sb.eezebeassignment.service.upload.VideoUploadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/videos/{id}/uploads")
+@Tag(name = "Video Upload API", description = "Chunked, resumable upload of video content")
+public class VideoUploadController {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoUploadController.class);
+
+    static final String SHA256_HEADER = "X-Content-SHA256";
+    static final int MAX_PARTS = 10_000;
+
+    private final VideoUploadService uploadService;
+
+    @Autowired
+    public VideoUploadController(VideoUploadService uploadService) {
+        this.uploadService = uploadService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Start an upload", description = "Opens an upload session for the content of an existing video.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Upload started", content = @Content(schema = @Schema(implementation = UploadStatusResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Content store does not accept uploads"),
+                    @ApiResponse(responseCode = "404", description = "Video not found")
+            })
+    public ResponseEntity<UploadStatusResponse> initUpload(@PathVariable Long id) throws IOException {
+        logger.info("Received upload request for video with ID {}", id);
+        return uploadService.initUpload(id)
+                .map(upload -> ResponseEntity.status(HttpStatus.CREATED)
+                        .header(HttpHeaders.LOCATION, "/videos/" + id + "/uploads/" + upload.getUploadId())
+                        .body(upload))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{uploadId}")
+    @Operation(summary = "Get upload status", description = "Lists the parts stored so far, so an interrupted upload can resume with the missing ones.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Upload status", content = @Content(schema = @Schema(implementation = UploadStatusResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Upload not found")
+            })
+    public ResponseEntity<UploadStatusResponse> getUpload(@PathVariable Long id, @PathVariable String uploadId) throws IOException {
+        return ResponseEntity.of(uploadService.getUpload(id, uploadId));
+    }
+
+    @PutMapping("/{uploadId}/parts/{partNumber}")
+    @Operation(summary = "Upload a part", description = "Stores the raw request body as one part. Parts may be sent in parallel and in any order; " +
+            "re-sending a part replaces it. The optional " + SHA256_HEADER + " header (hex) is verified against the received bytes.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Part stored", content = @Content(schema = @Schema(implementation = UploadPart.class))),
+                    @ApiResponse(responseCode = "400", description = "Checksum mismatch or part too large"),
+                    @ApiResponse(responseCode = "404", description = "Upload not found")
+            })
+    public ResponseEntity<UploadPart> uploadPart(@PathVariable Long id, @PathVariable String uploadId,
+                                                 @PathVariable @Min(1) @Max(MAX_PARTS) int partNumber,
+                                                 @RequestHeader(name = SHA256_HEADER, required = false) String sha256,
+                                                 HttpServletRequest request) throws IOException {
+        Optional<UploadPart> part = uploadService.uploadPart(id, uploadId, partNumber, request.getInputStream(), sha256);
+        part.ifPresent(stored -> logger.info("Stored part {} of upload {} ({} bytes)", partNumber, uploadId, stored.getSize()));
+        return ResponseEntity.of(part);
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    @Operation(summary = "Complete an upload", description = "Assembles the listed parts into the video content served by /videos/{id}/play.",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Content stored"),
+                    @ApiResponse(responseCode = "400", description = "Missing part or checksum mismatch"),
+                    @ApiResponse(responseCode = "404", description = "Upload not found")
+            })
+    public ResponseEntity<Void> completeUpload(@PathVariable Long id, @PathVariable String uploadId,
+                                               @Valid @RequestBody CompleteUploadRequest request) throws IOException {
+        logger.info("Received complete request for upload {} of video with ID {}", uploadId, id);
+        return uploadService.completeUpload(id, uploadId, request.getParts())
+                .map(content -> ResponseEntity.noContent().eTag(content.etag()).<Void>build())
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{uploadId}")
+    @Operation(summary = "Abort an upload", description = "Deletes the upload session and its stored parts.",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Upload aborted"),
+                    @ApiResponse(responseCode = "404", description = "Upload not found")
+            })
+    public ResponseEntity<Void> abortUpload(@PathVariable Long id, @PathVariable String uploadId) throws IOException {
+        return uploadService.abortUpload(id, uploadId) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
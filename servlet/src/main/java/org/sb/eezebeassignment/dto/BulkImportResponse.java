@@ -0,0 +1,36 @@
+package org.sb.eezebeassignment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BulkImportResponse {
+
+    @Schema(example = "1000", description = "Number of items read from the request")
+    private int received;
+
+    @Schema(example = "998", description = "Number of videos persisted")
+    private int imported;
+
+    @Schema(description = "Items that were rejected; all other items were persisted")
+    private List<Failure> failures;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Failure {
+
+        @Schema(example = "17", description = "0-based position of the item in the request")
+        private int index;
+
+        @Schema(example = "{\"title\": \"must not be blank\"}", description = "Error messages by field, or under \"error\"")
+        private Map<String, String> errors;
+    }
+}
@@ -0,0 +1,23 @@
+package org.sb.eezebeassignment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompleteUploadRequest {
+
+    @Valid
+    @NotEmpty
+    @Schema(description = "Parts to assemble in ascending part number order, with the checksums the client computed")
+    private List<UploadPart> parts;
+}
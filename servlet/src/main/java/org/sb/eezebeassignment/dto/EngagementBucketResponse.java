@@ -0,0 +1,27 @@
+package org.sb.eezebeassignment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import org.sb.eezebeassignment.model.EngagementGranularity;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class EngagementBucketResponse {
+
+    @Schema(example = "2024-05-01T10:00:00Z", description = "Start of the bucket (UTC)")
+    private Instant bucketStart;
+
+    @Schema(example = "HOUR", description = "Width of the bucket; coarser than requested where finer data was already rolled up")
+    private EngagementGranularity granularity;
+
+    @Schema(example = "1500")
+    private long views;
+
+    @Schema(example = "3000")
+    private long impressions;
+}
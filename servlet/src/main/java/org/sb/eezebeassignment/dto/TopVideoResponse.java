@@ -0,0 +1,24 @@
+package org.sb.eezebeassignment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class TopVideoResponse {
+
+    @Schema(example = "1")
+    private Long videoId;
+
+    @Schema(example = "New Movie")
+    private String title;
+
+    @Schema(example = "1500", description = "Views within the window")
+    private long views;
+
+    @Schema(example = "3000", description = "Impressions within the window")
+    private long impressions;
+}
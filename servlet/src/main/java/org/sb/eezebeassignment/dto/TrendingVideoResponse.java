@@ -0,0 +1,21 @@
+package org.sb.eezebeassignment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class TrendingVideoResponse {
+
+    @Schema(example = "1")
+    private Long videoId;
+
+    @Schema(example = "1520", description = "Estimated views within the window, never below the true count")
+    private long views;
+
+    @Schema(example = "1480", description = "Views within the window the estimate guarantees")
+    private long minViews;
+}
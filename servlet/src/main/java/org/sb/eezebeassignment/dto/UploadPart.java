@@ -0,0 +1,27 @@
+package org.sb.eezebeassignment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadPart {
+
+    @NotNull
+    @Schema(example = "1", description = "1-based position of the part in the assembled file")
+    private Integer partNumber;
+
+    @Schema(example = "8388608", description = "Size of the stored part in bytes", accessMode = Schema.AccessMode.READ_ONLY)
+    private long size;
+
+    @NotBlank
+    @Schema(example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", description = "Hex SHA-256 of the part")
+    private String sha256;
+}
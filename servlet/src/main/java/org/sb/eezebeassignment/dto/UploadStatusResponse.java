@@ -0,0 +1,23 @@
+package org.sb.eezebeassignment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class UploadStatusResponse {
+
+    @Schema(example = "3f1c2b9e-5d0a-4c55-9a53-1d3b0f1f9a27", description = "Identifier of the upload session")
+    private String uploadId;
+
+    @Schema(example = "1", description = "Video the content belongs to")
+    private Long videoId;
+
+    @Schema(description = "Parts stored so far, ordered by part number")
+    private List<UploadPart> parts;
+}
@@ -0,0 +1,68 @@
+package org.sb.eezebeassignment.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partial metadata update: only the fields present are changed, absent (null) fields keep their value.
+ */
+@Getter
+@Setter
+public class VideoPatchRequest {
+
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    @Schema(example = "Inception")
+    private String title;
+
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    @Schema(example = "A mind-bending thriller.")
+    private String synopsis;
+
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    @Schema(example = "Christopher Nolan")
+    private String director;
+
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    @Schema(example = "[\"Leonardo DiCaprio\", \"Elliot Page\"]")
+    private List<@NotBlank String> cast;
+
+    @Schema(example = "2010")
+    private Integer releaseYear;
+
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    @Schema(example = "Sci-Fi")
+    private String genre;
+
+    @Schema(example = "148")
+    private Integer runningTime;
+
+    /**
+     * The present scalar fields by Video attribute name; the cast is stored in its own table.
+     */
+    public Map<String, Object> changedAttributes() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        putIfPresent(attributes, "title", title);
+        putIfPresent(attributes, "synopsis", synopsis);
+        putIfPresent(attributes, "director", director);
+        putIfPresent(attributes, "releaseYear", releaseYear);
+        putIfPresent(attributes, "genre", genre);
+        putIfPresent(attributes, "runningTime", runningTime);
+        return attributes;
+    }
+
+    private static void putIfPresent(Map<String, Object> attributes, String name, Object value) {
+        if (value != null) {
+            attributes.put(name, value);
+        }
+    }
+}
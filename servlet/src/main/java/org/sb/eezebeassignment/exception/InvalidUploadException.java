@@ -0,0 +1,11 @@
+package org.sb.eezebeassignment.exception;
+
+/**
+ * An upload request that cannot be accepted as sent, e.g. a checksum mismatch or a missing part.
+ */
+public class InvalidUploadException extends RuntimeException {
+
+    public InvalidUploadException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package org.sb.eezebeassignment.exception;
+
+/**
+ * A conditional update (If-Match) of a video that has since been modified by someone else.
+ */
+public class VideoVersionMismatchException extends RuntimeException {
+
+    public VideoVersionMismatchException(Long id) {
+        super("Video " + id + " has been modified since it was read");
+    }
+}
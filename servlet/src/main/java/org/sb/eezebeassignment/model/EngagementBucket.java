@@ -0,0 +1,45 @@
+package org.sb.eezebeassignment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Views and impressions of one video within one minute, hour or day. Recent engagement is kept per minute and
+ * rolled up into hours and then days as it ages.
+ */
+@Entity
+@Table(name = "engagement_buckets",
+        uniqueConstraints = @UniqueConstraint(name = "uk_engagement_buckets_video_granularity_start",
+                columnNames = {"video_id", "granularity", "bucket_start"}),
+        indexes = @Index(name = "idx_engagement_buckets_granularity_start", columnList = "granularity, bucket_start"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EngagementBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long videoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private EngagementGranularity granularity;
+
+    @Column(nullable = false)
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Column(nullable = false)
+    private long impressions;
+}
@@ -0,0 +1,27 @@
+package org.sb.eezebeassignment.model;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Width of an engagement bucket. Buckets are aligned to UTC.
+ */
+public enum EngagementGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    EngagementGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public Instant truncate(Instant instant) {
+        return instant.truncatedTo(unit);
+    }
+
+    public EngagementGranularity coarser(EngagementGranularity other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+}
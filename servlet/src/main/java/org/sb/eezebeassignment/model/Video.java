@@ -0,0 +1,108 @@
+package org.sb.eezebeassignment.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.sb.eezebeassignment.dto.VideoRequest;
+import org.sb.eezebeassignment.dto.VideoResponse;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "videos", indexes = {
+        @Index(name = "idx_videos_deleted_director", columnList = "deleted, director"),
+        @Index(name = "idx_videos_deleted_genre", columnList = "deleted, genre")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Video {
+
+    // A pooled sequence lets Hibernate assign IDs without a round trip per insert, so inserts can be JDBC-batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "videos_seq")
+    @SequenceGenerator(name = "videos_seq", sequenceName = "videos_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, length = 1000)
+    private String synopsis;
+
+    @Column(nullable = false)
+    private String director;
+
+    @ElementCollection
+    @CollectionTable(name = "video_cast", joinColumns = @JoinColumn(name = "video_id"))
+    @Column(name = "cast_member")
+    private List<String> cast;
+
+    @Column(nullable = false)
+    private int releaseYear;
+
+    @Column(nullable = false)
+    private String genre;
+
+    @Column(nullable = false)
+    private int runningTime;
+
+    @Column(nullable = false)
+    private boolean deleted = false;
+
+    // Optimistic lock, incremented by Hibernate on every flushed update; also the HTTP validator (ETag)
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public Video(String title, String synopsis, String director, List<String> cast, int releaseYear, String genre, int runningTime) {
+        this.title = title;
+        this.synopsis = synopsis;
+        this.director = director;
+        this.releaseYear = releaseYear;
+        this.genre = genre;
+        this.runningTime = runningTime;
+        this.cast = cast;
+    }
+
+    @PrePersist
+    void onCreate() {
+        updatedAt = Instant.now();
+    }
+
+    /**
+     * Marks the video as modified now; called by every update, which also makes the version move.
+     */
+    public void touch() {
+        updatedAt = Instant.now();
+    }
+
+    public static Video from(VideoRequest request) {
+        Video video = new Video();
+        video.setCast(new ArrayList<>());
+        video.apply(request);
+        return video;
+    }
+
+    public void apply(VideoRequest request) {
+        title = request.getTitle();
+        synopsis = request.getSynopsis();
+        director = request.getDirector();
+        // Cast is optional; leaving it out keeps the current members, and an unchanged cast is not rewritten
+        if (request.getCast() != null && !request.getCast().equals(cast)) {
+            cast = new ArrayList<>(request.getCast());
+        }
+        releaseYear = request.getReleaseYear();
+        genre = request.getGenre();
+        runningTime = request.getRunningTime();
+    }
+
+    public VideoResponse toResponse() {
+        return new VideoResponse(id, title, director, genre, releaseYear, runningTime, version, updatedAt);
+    }
+}
@@ -0,0 +1,55 @@
+package org.sb.eezebeassignment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+@Entity
+@Table(name = "video_engagements",
+        uniqueConstraints = @UniqueConstraint(name = "uk_video_engagements_video_id", columnNames = "video_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoEngagement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long videoId;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Column(nullable = false)
+    private long impressions;
+
+    /**
+     * Distinct viewers estimated from viewerSketch when it was last merged.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long uniqueViewers;
+
+    /**
+     * Serialized HyperLogLog of viewer IDs; at most 64 KB at the highest precision.
+     */
+    @Column(length = 65_537)
+    private byte[] viewerSketch;
+
+    public VideoEngagement(Long videoId, long views, long impressions) {
+        this.videoId = videoId;
+        this.views = views;
+        this.impressions = impressions;
+    }
+
+    public VideoEngagement(Long videoId, long views, long impressions, long uniqueViewers) {
+        this(videoId, views, impressions);
+        this.uniqueViewers = uniqueViewers;
+    }
+}
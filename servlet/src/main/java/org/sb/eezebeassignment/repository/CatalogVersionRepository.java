@@ -0,0 +1,21 @@
+package org.sb.eezebeassignment.repository;
+
+import org.sb.eezebeassignment.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Integer> {
+
+    /**
+     * Increments the version in place; the row stays locked until the surrounding transaction ends, so
+     * concurrent changes are counted one after the other.
+     */
+    @Modifying
+    @Query("UPDATE CatalogVersion c SET c.version = c.version + 1, c.updatedAt = :now WHERE c.id = " + CatalogVersion.ID)
+    int increment(Instant now);
+}
@@ -0,0 +1,51 @@
+package org.sb.eezebeassignment.repository;
+
+import org.sb.eezebeassignment.model.EngagementBucket;
+import org.sb.eezebeassignment.model.EngagementGranularity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EngagementBucketRepository extends JpaRepository<EngagementBucket, Long>, EngagementBucketRepositoryCustom {
+
+    List<EngagementBucket> findByVideoIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            Long videoId, Instant from, Instant to);
+
+    @Modifying
+    @Query("DELETE FROM EngagementBucket b WHERE b.granularity = :granularity AND b.bucketStart < :before")
+    int deleteByGranularityAndBucketStartBefore(EngagementGranularity granularity, Instant before);
+
+    /**
+     * Totals over the buckets of the given granularities starting within [from, to); restricting the granularity
+     * lets the range scan use the (granularity, bucket_start) index.
+     */
+    @Query("SELECT b.videoId AS videoId, v.title AS title, SUM(b.views) AS views, SUM(b.impressions) AS impressions " +
+            "FROM EngagementBucket b JOIN Video v ON v.id = b.videoId " +
+            "WHERE v.deleted = false AND b.granularity IN :granularities AND b.bucketStart >= :from AND b.bucketStart < :to " +
+            "GROUP BY b.videoId, v.title ORDER BY SUM(b.views) DESC, b.videoId")
+    List<EngagementTotal> findTopByViews(Collection<EngagementGranularity> granularities, Instant from, Instant to, Limit limit);
+
+    @Query("SELECT b.videoId AS videoId, v.title AS title, SUM(b.views) AS views, SUM(b.impressions) AS impressions " +
+            "FROM EngagementBucket b JOIN Video v ON v.id = b.videoId " +
+            "WHERE v.deleted = false AND b.granularity IN :granularities AND b.bucketStart >= :from AND b.bucketStart < :to " +
+            "GROUP BY b.videoId, v.title ORDER BY SUM(b.impressions) DESC, b.videoId")
+    List<EngagementTotal> findTopByImpressions(Collection<EngagementGranularity> granularities, Instant from, Instant to,
+                                              Limit limit);
+
+    interface EngagementTotal {
+        Long getVideoId();
+
+        String getTitle();
+
+        long getViews();
+
+        long getImpressions();
+    }
+}
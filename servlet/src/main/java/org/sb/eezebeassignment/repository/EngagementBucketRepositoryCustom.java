@@ -0,0 +1,27 @@
+package org.sb.eezebeassignment.repository;
+
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.sb.eezebeassignment.model.EngagementGranularity;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface EngagementBucketRepositoryCustom {
+
+    /**
+     * Atomically adds each delta to the video's bucket starting at bucketStart, creating the bucket when missing.
+     */
+    void upsertIncrements(EngagementGranularity granularity, Instant bucketStart, Collection<EngagementDelta> deltas);
+
+    /**
+     * Adds the totals of the fine buckets starting before the cutoff, grouped per video and coarse bucket, to the
+     * coarse buckets in one INSERT ... SELECT ... GROUP BY. The fine buckets are left for the caller to delete.
+     */
+    void rollUp(EngagementGranularity fine, EngagementGranularity coarse, Instant cutoff);
+
+    /**
+     * Takes a lock held until the current transaction ends, so only one instance rolls buckets up at a time.
+     * Returns false when another transaction holds it.
+     */
+    boolean tryLockForRollup();
+}
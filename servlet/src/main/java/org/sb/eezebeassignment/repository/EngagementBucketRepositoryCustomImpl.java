@@ -0,0 +1,132 @@
+package org.sb.eezebeassignment.repository;
+
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.sb.eezebeassignment.model.EngagementGranularity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+public class EngagementBucketRepositoryCustomImpl implements EngagementBucketRepositoryCustom {
+
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO engagement_buckets (video_id, granularity, bucket_start, views, impressions) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (video_id, granularity, bucket_start) DO UPDATE SET " +
+            "views = engagement_buckets.views + EXCLUDED.views, " +
+            "impressions = engagement_buckets.impressions + EXCLUDED.impressions";
+
+    private static final String H2_UPSERT =
+            "MERGE INTO engagement_buckets t " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(8)), CAST(? AS TIMESTAMP(6) WITH TIME ZONE), " +
+            "CAST(? AS BIGINT), CAST(? AS BIGINT))) s(video_id, granularity, bucket_start, views, impressions) " +
+            "ON t.video_id = s.video_id AND t.granularity = s.granularity AND t.bucket_start = s.bucket_start " +
+            "WHEN MATCHED THEN UPDATE SET views = t.views + s.views, impressions = t.impressions + s.impressions " +
+            "WHEN NOT MATCHED THEN INSERT (video_id, granularity, bucket_start, views, impressions) " +
+            "VALUES (s.video_id, s.granularity, s.bucket_start, s.views, s.impressions)";
+
+    // Rows are produced in video order, like the upserts, so a rollup cannot deadlock with a flush
+    private static final String POSTGRES_ROLLUP =
+            "INSERT INTO engagement_buckets (video_id, granularity, bucket_start, views, impressions) " +
+            "SELECT video_id, CAST(? AS VARCHAR(8)), date_trunc('%s', bucket_start AT TIME ZONE 'UTC') AT TIME ZONE 'UTC', SUM(views), SUM(impressions) " +
+            "FROM engagement_buckets WHERE granularity = ? AND bucket_start < ? " +
+            "GROUP BY video_id, 3 ORDER BY video_id " +
+            "ON CONFLICT (video_id, granularity, bucket_start) DO UPDATE SET " +
+            "views = engagement_buckets.views + EXCLUDED.views, " +
+            "impressions = engagement_buckets.impressions + EXCLUDED.impressions";
+
+    private static final String H2_ROLLUP =
+            "MERGE INTO engagement_buckets t " +
+            "USING (SELECT video_id, CAST(? AS VARCHAR(8)) granularity, DATE_TRUNC('%s', bucket_start) bucket_start, " +
+            "SUM(views) views, SUM(impressions) impressions FROM engagement_buckets " +
+            "WHERE granularity = ? AND bucket_start < ? GROUP BY video_id, DATE_TRUNC('%1$s', bucket_start)) s " +
+            "ON t.video_id = s.video_id AND t.granularity = s.granularity AND t.bucket_start = s.bucket_start " +
+            "WHEN MATCHED THEN UPDATE SET views = t.views + s.views, impressions = t.impressions + s.impressions " +
+            "WHEN NOT MATCHED THEN INSERT (video_id, granularity, bucket_start, views, impressions) " +
+            "VALUES (s.video_id, s.granularity, s.bucket_start, s.views, s.impressions)";
+
+    // Arbitrary application-wide key of the PostgreSQL advisory lock guarding rollups
+    private static final long ROLLUP_LOCK_KEY = 0x656e6761676501L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    @Autowired
+    public EngagementBucketRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertIncrements(EngagementGranularity granularity, Instant bucketStart, Collection<EngagementDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        OffsetDateTime start = bucketStart.atOffset(ZoneOffset.UTC);
+        // Same row order as the video_engagements upsert, so concurrent flushers cannot deadlock
+        List<EngagementDelta> ordered = deltas.stream()
+                .sorted(Comparator.comparing(EngagementDelta::videoId))
+                .toList();
+        if (isPostgres()) {
+            jdbcTemplate.batchUpdate(POSTGRES_UPSERT, ordered, ordered.size(), (ps, delta) -> {
+                ps.setLong(1, delta.videoId());
+                ps.setString(2, granularity.name());
+                ps.setObject(3, start);
+                ps.setLong(4, delta.views());
+                ps.setLong(5, delta.impressions());
+            });
+            return;
+        }
+        // As for video_engagements, H2's MERGE can lose the race to insert a new bucket; the retry updates it
+        for (EngagementDelta delta : ordered) {
+            try {
+                mergeIncrement(granularity, start, delta);
+            } catch (DuplicateKeyException ex) {
+                mergeIncrement(granularity, start, delta);
+            }
+        }
+    }
+
+    @Override
+    public void rollUp(EngagementGranularity fine, EngagementGranularity coarse, Instant cutoff) {
+        // The unit comes from the enum, never from input
+        String unit = coarse.name().toLowerCase(Locale.ROOT);
+        String sql = String.format(Locale.ROOT, isPostgres() ? POSTGRES_ROLLUP : H2_ROLLUP, unit);
+        jdbcTemplate.update(sql, coarse.name(), fine.name(), cutoff.atOffset(ZoneOffset.UTC));
+    }
+
+    @Override
+    public boolean tryLockForRollup() {
+        if (!isPostgres()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ROLLUP_LOCK_KEY));
+    }
+
+    private void mergeIncrement(EngagementGranularity granularity, OffsetDateTime start, EngagementDelta delta) {
+        jdbcTemplate.update(H2_UPSERT, delta.videoId(), granularity.name(), start, delta.views(), delta.impressions());
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result != null) {
+            return result;
+        }
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    metaData -> metaData.getDatabaseProductName());
+            result = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = result;
+            return result;
+        } catch (MetaDataAccessException ex) {
+            throw new IllegalStateException("Unable to determine database product for engagement bucket upserts", ex);
+        }
+    }
+}
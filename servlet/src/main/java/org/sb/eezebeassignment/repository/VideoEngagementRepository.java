@@ -0,0 +1,23 @@
+package org.sb.eezebeassignment.repository;
+
+import jakarta.persistence.LockModeType;
+import org.sb.eezebeassignment.model.VideoEngagement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VideoEngagementRepository extends JpaRepository<VideoEngagement, Long>, VideoEngagementRepositoryCustom {
+
+    Optional<VideoEngagement> findByVideoId(Long videoId);
+
+    /**
+     * Locks the rows in video ID order, so concurrent writers cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<VideoEngagement> findByVideoIdInOrderByVideoIdAsc(Collection<Long> videoIds);
+}
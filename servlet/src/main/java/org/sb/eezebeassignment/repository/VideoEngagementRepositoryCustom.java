@@ -0,0 +1,14 @@
+package org.sb.eezebeassignment.repository;
+
+import org.sb.eezebeassignment.model.EngagementDelta;
+
+import java.util.Collection;
+
+public interface VideoEngagementRepositoryCustom {
+
+    /**
+     * Atomically adds each delta to its video_engagements row, creating the row when missing.
+     * Issues one batched statement per call without loading any entity.
+     */
+    void upsertIncrements(Collection<EngagementDelta> deltas);
+}
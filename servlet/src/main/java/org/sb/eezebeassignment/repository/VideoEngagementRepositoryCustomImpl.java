@@ -0,0 +1,84 @@
+package org.sb.eezebeassignment.repository;
+
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+public class VideoEngagementRepositoryCustomImpl implements VideoEngagementRepositoryCustom {
+
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO video_engagements (video_id, views, impressions) VALUES (?, ?, ?) " +
+            "ON CONFLICT (video_id) DO UPDATE SET " +
+            "views = video_engagements.views + EXCLUDED.views, " +
+            "impressions = video_engagements.impressions + EXCLUDED.impressions";
+
+    private static final String H2_UPSERT =
+            "MERGE INTO video_engagements t " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT))) s(video_id, views, impressions) " +
+            "ON t.video_id = s.video_id " +
+            "WHEN MATCHED THEN UPDATE SET views = t.views + s.views, impressions = t.impressions + s.impressions " +
+            "WHEN NOT MATCHED THEN INSERT (video_id, views, impressions) VALUES (s.video_id, s.views, s.impressions)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    @Autowired
+    public VideoEngagementRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertIncrements(Collection<EngagementDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // A stable row order keeps concurrent flushers from deadlocking on each other's row locks.
+        List<EngagementDelta> ordered = deltas.stream()
+                .sorted(Comparator.comparing(EngagementDelta::videoId))
+                .toList();
+        if (isPostgres()) {
+            jdbcTemplate.batchUpdate(POSTGRES_UPSERT, ordered, ordered.size(), (ps, delta) -> {
+                ps.setLong(1, delta.videoId());
+                ps.setLong(2, delta.views());
+                ps.setLong(3, delta.impressions());
+            });
+            return;
+        }
+        // H2's MERGE is not atomic: two transactions inserting the same new video race on the unique key.
+        // The losing statement is rolled back on its own, so running it again takes the update branch.
+        for (EngagementDelta delta : ordered) {
+            try {
+                mergeIncrement(delta);
+            } catch (DuplicateKeyException ex) {
+                mergeIncrement(delta);
+            }
+        }
+    }
+
+    private void mergeIncrement(EngagementDelta delta) {
+        jdbcTemplate.update(H2_UPSERT, delta.videoId(), delta.views(), delta.impressions());
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result != null) {
+            return result;
+        }
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    metaData -> metaData.getDatabaseProductName());
+            result = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = result;
+            return result;
+        } catch (MetaDataAccessException ex) {
+            throw new IllegalStateException("Unable to determine database product for engagement upserts", ex);
+        }
+    }
+}
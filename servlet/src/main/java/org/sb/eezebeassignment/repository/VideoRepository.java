@@ -0,0 +1,37 @@
+package org.sb.eezebeassignment.repository;
+
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.model.Video;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VideoRepository extends JpaRepository<Video, Long>, JpaSpecificationExecutor<Video>, VideoRepositoryCustom {
+
+    /**
+     * Selects only the columns of {@link VideoResponse}; no entity is loaded, so cast and synopsis are never read.
+     */
+    String RESPONSE_PROJECTION = "SELECT new org.sb.eezebeassignment.dto.VideoResponse(" +
+            "v.id, v.title, v.director, v.genre, v.releaseYear, v.runningTime, v.version, v.updatedAt) FROM Video v ";
+
+    Optional<Video> findByIdAndDeletedFalse(Long id);
+
+    boolean existsByIdAndDeletedFalse(Long id);
+
+    List<Video> findAllByIdInAndDeletedFalse(Collection<Long> ids);
+
+    List<Video> findByDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query(RESPONSE_PROJECTION + "WHERE v.id = :id AND v.deleted = false")
+    Optional<VideoResponse> findResponseByIdAndDeletedFalse(Long id);
+
+    @Query(RESPONSE_PROJECTION + "WHERE v.deleted = false AND v.id > :afterId ORDER BY v.id")
+    List<VideoResponse> findResponsesAfterId(Long afterId, Limit limit);
+}
@@ -0,0 +1,29 @@
+package org.sb.eezebeassignment.repository;
+
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.model.Video;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public interface VideoRepositoryCustom {
+
+    /**
+     * Videos matching the specification ordered by ID, projected onto {@link VideoResponse} in one statement.
+     */
+    List<VideoResponse> findResponses(Specification<Video> specification);
+
+    /**
+     * Sets only the given attributes of an available video in a single UPDATE, incrementing its version and
+     * setting its modification time. With an expected version, a video at any other version is left alone.
+     * Returns the number of rows updated.
+     */
+    int updateAttributes(Long id, Long expectedVersion, Map<String, Object> attributes, Instant updatedAt);
+
+    /**
+     * Replaces the cast of a video with one DELETE and one multi-row INSERT.
+     */
+    void replaceCast(Long id, List<String> cast);
+}
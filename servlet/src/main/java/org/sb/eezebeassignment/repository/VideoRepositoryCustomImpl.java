@@ -0,0 +1,72 @@
+package org.sb.eezebeassignment.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.model.Video;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class VideoRepositoryCustomImpl implements VideoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<VideoResponse> findResponses(Specification<Video> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<VideoResponse> query = cb.createQuery(VideoResponse.class);
+        Root<Video> video = query.from(Video.class);
+        query.select(cb.construct(VideoResponse.class, video.get("id"), video.get("title"), video.get("director"),
+                        video.get("genre"), video.get("releaseYear"), video.get("runningTime"), video.get("version"),
+                        video.get("updatedAt")))
+                .where(specification.toPredicate(video, query, cb))
+                .orderBy(cb.asc(video.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public int updateAttributes(Long id, Long expectedVersion, Map<String, Object> attributes, Instant updatedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Video> update = cb.createCriteriaUpdate(Video.class);
+        Root<Video> video = update.from(Video.class);
+        attributes.forEach(update::set);
+        update.set(video.<Long>get("version"), cb.sum(video.<Long>get("version"), 1L));
+        update.set("updatedAt", updatedAt);
+        List<Predicate> where = new ArrayList<>(List.of(cb.equal(video.get("id"), id), cb.isFalse(video.get("deleted"))));
+        if (expectedVersion != null) {
+            where.add(cb.equal(video.get("version"), expectedVersion));
+        }
+        update.where(where.toArray(Predicate[]::new));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public void replaceCast(Long id, List<String> cast) {
+        entityManager.createNativeQuery("DELETE FROM video_cast WHERE video_id = ?1")
+                .setParameter(1, id)
+                .executeUpdate();
+        if (cast.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO video_cast (video_id, cast_member) VALUES ");
+        for (int i = 0; i < cast.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?1, ?").append(i + 2).append(')');
+        }
+        Query insert = entityManager.createNativeQuery(sql.toString()).setParameter(1, id);
+        for (int i = 0; i < cast.size(); i++) {
+            insert.setParameter(i + 2, cast.get(i));
+        }
+        insert.executeUpdate();
+    }
+}
@@ -0,0 +1,82 @@
+package org.sb.eezebeassignment.repository;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.sb.eezebeassignment.model.Video;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Search predicates for {@link VideoRepository}. Absent criteria are left out of the generated SQL
+ * entirely so the planner can use the (deleted, director), (deleted, genre) and title trigram indexes.
+ */
+public final class VideoSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private VideoSpecifications() {
+    }
+
+    public static Specification<Video> searchCriteria(String director, String genre, String title, String text) {
+        Specification<Video> specification = notDeleted();
+        if (director != null) {
+            specification = specification.and(directorEquals(director));
+        }
+        if (genre != null) {
+            specification = specification.and(genreEquals(genre));
+        }
+        if (title != null) {
+            specification = specification.and(titleContains(title));
+        }
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    specification = specification.and(anyTextFieldContains(word));
+                }
+            }
+        }
+        return specification;
+    }
+
+    public static Specification<Video> notDeleted() {
+        return (root, query, cb) -> cb.isFalse(root.get("deleted"));
+    }
+
+    public static Specification<Video> directorEquals(String director) {
+        return (root, query, cb) -> cb.equal(root.get("director"), director);
+    }
+
+    public static Specification<Video> genreEquals(String genre) {
+        return (root, query, cb) -> cb.equal(root.get("genre"), genre);
+    }
+
+    public static Specification<Video> titleContains(String title) {
+        return (root, query, cb) -> cb.like(root.get("title"), "%" + escapeLike(title) + "%", LIKE_ESCAPE);
+    }
+
+    /**
+     * Database fallback for free-text search when the in-memory index is disabled; unranked and case-insensitive.
+     * Cast members are matched through an EXISTS subquery so a video with several matching names is returned once.
+     */
+    public static Specification<Video> anyTextFieldContains(String word) {
+        return (root, query, cb) -> {
+            String pattern = "%" + escapeLike(word.toLowerCase(Locale.ROOT)) + "%";
+            Subquery<Integer> castMatch = query.subquery(Integer.class);
+            Root<Video> video = castMatch.correlate(root);
+            Join<Video, String> member = video.join("cast");
+            castMatch.select(cb.literal(1)).where(cb.like(cb.lower(member), pattern, LIKE_ESCAPE));
+            return cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(root.get("director")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(root.get("genre")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(root.get("synopsis")), pattern, LIKE_ESCAPE),
+                    cb.exists(castMatch));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,70 @@
+package org.sb.eezebeassignment.service;
+
+import org.sb.eezebeassignment.model.CatalogVersion;
+import org.sb.eezebeassignment.repository.CatalogVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Keeps the catalog version in step with video changes. Events are handled synchronously, so the version is
+ * bumped in the same transaction as the change and a response never pairs new data with an old version.
+ */
+@Service
+public class CatalogVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersionService.class);
+
+    private final CatalogVersionRepository repository;
+
+    @Autowired
+    public CatalogVersionService(CatalogVersionRepository repository) {
+        this.repository = repository;
+    }
+
+    @Transactional(readOnly = true)
+    public CatalogVersion current() {
+        return repository.findById(CatalogVersion.ID)
+                .orElseGet(() -> new CatalogVersion(CatalogVersion.ID, 0, Instant.EPOCH));
+    }
+
+    @EventListener
+    @Transactional
+    public void onVideoChanged(VideoChangedEvent event) {
+        increment();
+    }
+
+    @EventListener
+    @Transactional
+    public void onVideosImported(VideosImportedEvent event) {
+        increment();
+    }
+
+    /**
+     * The migration creates the row on PostgreSQL; schemas generated by Hibernate start without it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureCreated() {
+        if (repository.existsById(CatalogVersion.ID)) {
+            return;
+        }
+        try {
+            repository.save(new CatalogVersion(CatalogVersion.ID, 0, Instant.now()));
+        } catch (DataIntegrityViolationException ex) {
+            logger.debug("Catalog version created concurrently by another instance");
+        }
+    }
+
+    private void increment() {
+        if (repository.increment(Instant.now()) == 0) {
+            logger.warn("Catalog version row is missing, list and search validators will not change");
+        }
+    }
+}
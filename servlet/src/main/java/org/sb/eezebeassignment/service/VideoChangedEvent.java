@@ -0,0 +1,7 @@
+package org.sb.eezebeassignment.service;
+
+/**
+ * Published by {@link VideoService} whenever a video is created, updated or soft deleted.
+ */
+public record VideoChangedEvent(Long videoId) {
+}
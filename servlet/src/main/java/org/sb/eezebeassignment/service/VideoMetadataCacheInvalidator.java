@@ -0,0 +1,37 @@
+package org.sb.eezebeassignment.service;
+
+import org.sb.eezebeassignment.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached video metadata once the transaction that created or changed the videos has committed. Metadata is
+ * loaded inside the cache's per-key computation, so an eviction that arrives while a read of the old row is still
+ * being stored waits for it and then removes it; without that, the old version would stay cached until it expires.
+ */
+@Component
+public class VideoMetadataCacheInvalidator {
+
+    private final Cache cache;
+
+    @Autowired
+    public VideoMetadataCacheInvalidator(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.VIDEO_METADATA_CACHE);
+    }
+
+    @TransactionalEventListener
+    public void onVideoChanged(VideoChangedEvent event) {
+        cache.evict(event.videoId());
+    }
+
+    /**
+     * Imported IDs may have been looked up, and cached as missing, before they existed.
+     */
+    @TransactionalEventListener
+    public void onVideosImported(VideosImportedEvent event) {
+        event.videoIds().forEach(cache::evict);
+    }
+}
@@ -0,0 +1,232 @@
+package org.sb.eezebeassignment.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.sb.eezebeassignment.config.CacheConfig;
+import org.sb.eezebeassignment.config.datasource.ReplicaRouting;
+import org.sb.eezebeassignment.dto.VideoPatchRequest;
+import org.sb.eezebeassignment.dto.VideoRequest;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.exception.VideoVersionMismatchException;
+import org.sb.eezebeassignment.service.search.VideoSearchIndex;
+import org.sb.eezebeassignment.service.trending.TrendingVideoTracker;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.model.VideoEngagement;
+import org.sb.eezebeassignment.repository.VideoRepository;
+import org.sb.eezebeassignment.repository.VideoSpecifications;
+import org.sb.eezebeassignment.repository.VideoEngagementRepository;
+import org.sb.eezebeassignment.service.content.VideoContent;
+import org.sb.eezebeassignment.service.content.VideoContentCache;
+import org.sb.eezebeassignment.service.content.VideoContentStore;
+import org.sb.eezebeassignment.service.engagement.EngagementRecorder;
+import org.sb.eezebeassignment.service.engagement.UniqueViewerTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@Transactional
+public class VideoService {
+
+    private final VideoRepository videoRepository;
+    private final VideoEngagementRepository engagementRepository;
+    private final EngagementRecorder engagementRecorder;
+    private final UniqueViewerTracker uniqueViewerTracker;
+    private final VideoSearchIndex searchIndex;
+    private final TrendingVideoTracker trendingTracker;
+    private final VideoContentStore contentStore;
+    private final VideoContentCache contentCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter viewEvents;
+    private final Counter impressionEvents;
+    private final Timer indexSearches;
+    private final Timer databaseSearches;
+
+    @Autowired
+    public VideoService(VideoRepository videoRepository, VideoEngagementRepository engagementRepository,
+                        EngagementRecorder engagementRecorder, UniqueViewerTracker uniqueViewerTracker,
+                        VideoSearchIndex searchIndex,
+                        TrendingVideoTracker trendingTracker, VideoContentStore contentStore, VideoContentCache contentCache,
+                        ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.videoRepository = videoRepository;
+        this.engagementRepository = engagementRepository;
+        this.engagementRecorder = engagementRecorder;
+        this.uniqueViewerTracker = uniqueViewerTracker;
+        this.searchIndex = searchIndex;
+        this.trendingTracker = trendingTracker;
+        this.contentStore = contentStore;
+        this.contentCache = contentCache;
+        this.eventPublisher = eventPublisher;
+        this.viewEvents = engagementEvents(meterRegistry, "view");
+        this.impressionEvents = engagementEvents(meterRegistry, "impression");
+        this.indexSearches = searches(meterRegistry, "index");
+        this.databaseSearches = searches(meterRegistry, "database");
+    }
+
+    public Video publishVideo(Video video) {
+        Video savedVideo = videoRepository.save(video);
+        eventPublisher.publishEvent(new VideoChangedEvent(savedVideo.getId()));
+        return savedVideo;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Video> getVideoById(Long id) {
+        return videoRepository.findByIdAndDeletedFalse(id);
+    }
+
+    /**
+     * Loaded inside the cache's per-key computation (sync), so {@link VideoMetadataCacheInvalidator} cannot evict
+     * between the read and the store. Missing videos are cached as well; creating a video evicts its ID.
+     */
+    @Cacheable(cacheNames = CacheConfig.VIDEO_METADATA_CACHE, sync = true)
+    @Transactional(readOnly = true)
+    public Optional<VideoResponse> getVideoMetadata(Long id) {
+        // Cached for minutes, so read from the primary rather than a replica that may not have the latest update
+        return ReplicaRouting.onPrimary(() -> videoRepository.findResponseByIdAndDeletedFalse(id));
+    }
+
+    /**
+     * Replaces the metadata of an available video, loaded and written in one transaction. With an expected
+     * version the update fails unless the video is still at it; either way, an update committed concurrently
+     * makes the version check on write fail with an optimistic locking exception.
+     */
+    public Optional<Video> updateVideo(Long id, VideoRequest request, Long expectedVersion) {
+        Optional<Video> optionalVideo = videoRepository.findByIdAndDeletedFalse(id);
+        optionalVideo.ifPresent(video -> {
+            requireVersion(id, video.getVersion(), expectedVersion);
+            video.apply(request);
+            video.touch();
+            eventPublisher.publishEvent(new VideoChangedEvent(id));
+        });
+        return optionalVideo;
+    }
+
+    /**
+     * Changes only the fields present in the patch with a single UPDATE of those columns, without loading the
+     * video; the cast table is only written when the patch contains a cast.
+     */
+    public Optional<VideoResponse> patchVideo(Long id, VideoPatchRequest patch, Long expectedVersion) {
+        Map<String, Object> attributes = patch.changedAttributes();
+        if (attributes.isEmpty() && patch.getCast() == null) {
+            Optional<VideoResponse> current = videoRepository.findResponseByIdAndDeletedFalse(id);
+            current.ifPresent(video -> requireVersion(id, video.getVersion(), expectedVersion));
+            return current;
+        }
+        if (videoRepository.updateAttributes(id, expectedVersion, attributes, Instant.now()) == 0) {
+            if (expectedVersion != null && videoRepository.existsByIdAndDeletedFalse(id)) {
+                throw new VideoVersionMismatchException(id);
+            }
+            return Optional.empty();
+        }
+        if (patch.getCast() != null) {
+            videoRepository.replaceCast(id, patch.getCast());
+        }
+        eventPublisher.publishEvent(new VideoChangedEvent(id));
+        return videoRepository.findResponseByIdAndDeletedFalse(id);
+    }
+
+    public boolean softDeleteVideo(Long id) {
+        Optional<Video> optionalVideo = videoRepository.findByIdAndDeletedFalse(id);
+        if (optionalVideo.isPresent()) {
+            Video video = optionalVideo.get();
+            video.setDeleted(true);
+            video.touch();
+            videoRepository.save(video);
+            eventPublisher.publishEvent(new VideoChangedEvent(id));
+            return true;
+        }
+        return false;
+    }
+
+    @Transactional(readOnly = true)
+    public List<VideoResponse> listAvailableVideos(Long afterId, int limit) {
+        return videoRepository.findResponsesAfterId(afterId == null ? 0L : afterId, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<VideoResponse> searchVideos(String director, String genre, String title, String text) {
+        if (searchIndex.isReady()) {
+            return indexSearches.record(() -> searchIndex.search(director, genre, title, text));
+        }
+        return databaseSearches.record(() ->
+                videoRepository.findResponses(VideoSpecifications.searchCriteria(director, genre, title, text)));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recordView(Long videoId) {
+        recordView(videoId, null);
+    }
+
+    /**
+     * Records a view; the viewer ID, when known, is counted towards the video's unique viewers. Runs outside a
+     * transaction, so buffered engagement modes take no connection per event.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recordView(Long videoId, String viewerId) {
+        engagementRecorder.recordView(videoId);
+        uniqueViewerTracker.recordViewer(videoId, viewerId);
+        trendingTracker.recordView(videoId);
+        viewEvents.increment();
+    }
+
+    @Transactional(readOnly = true)
+    public VideoEngagement getVideoEngagement(Long videoId) {
+        VideoEngagement persisted = engagementRepository.findByVideoId(videoId)
+                .orElse(new VideoEngagement(videoId, 0, 0));
+        EngagementDelta pending = engagementRecorder.pending(videoId);
+        return new VideoEngagement(videoId,
+                persisted.getViews() + pending.views(),
+                persisted.getImpressions() + pending.impressions(),
+                uniqueViewerTracker.estimate(persisted));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recordImpression(Long videoId) {
+        engagementRecorder.recordImpression(videoId);
+        impressionEvents.increment();
+    }
+
+    /**
+     * Runs outside a transaction, so no connection is held while content is loaded into the cache. Content the
+     * connector will send from its file (sendfile) bypasses the cache, which would hold it in memory for nothing.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<VideoContent> getVideoContent(Long videoId, boolean sendfile) {
+        if (!videoRepository.existsByIdAndDeletedFalse(videoId)) {
+            return Optional.empty();
+        }
+        return contentStore.find(videoId)
+                .map(content -> sendfile && content.file().isPresent() ? content : contentCache.cached(videoId, content));
+    }
+
+    private static void requireVersion(Long id, long version, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != version) {
+            throw new VideoVersionMismatchException(id);
+        }
+    }
+
+    private static Counter engagementEvents(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("video.engagement.events")
+                .description("Views and impressions recorded")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private static Timer searches(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("video.search")
+                .description("Video searches by the component that answered them")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,9 @@
+package org.sb.eezebeassignment.service;
+
+import java.util.List;
+
+/**
+ * Published once per bulk-import batch instead of one {@link VideoChangedEvent} per video.
+ */
+public record VideosImportedEvent(List<Long> videoIds) {
+}
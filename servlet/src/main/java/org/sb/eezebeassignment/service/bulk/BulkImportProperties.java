@@ -0,0 +1,16 @@
+package org.sb.eezebeassignment.service.bulk;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bulk-import")
+public class BulkImportProperties {
+
+    /**
+     * Videos persisted per transaction; within a transaction Hibernate sends inserts in JDBC batches.
+     */
+    private int batchSize = 500;
+}
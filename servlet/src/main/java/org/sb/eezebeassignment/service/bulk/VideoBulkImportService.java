@@ -0,0 +1,182 @@
+package org.sb.eezebeassignment.service.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.sb.eezebeassignment.dto.BulkImportResponse;
+import org.sb.eezebeassignment.dto.VideoRequest;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.service.VideosImportedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Imports videos from a JSON array or NDJSON stream. Items are read one at a time, validated, and persisted in
+ * transactions of {@link BulkImportProperties#getBatchSize()} videos; invalid items and items the database rejects
+ * are reported individually while the rest of the import continues.
+ */
+@Service
+public class VideoBulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoBulkImportService.class);
+
+    private final ObjectReader reader;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkImportProperties properties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public VideoBulkImportService(ObjectMapper objectMapper, Validator validator, PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher, BulkImportProperties properties) {
+        this.reader = objectMapper.readerFor(VideoRequest.class);
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    public BulkImportResponse importJsonArray(InputStream body) throws IOException {
+        Import run = new Import();
+        try (MappingIterator<VideoRequest> items = reader.readValues(body)) {
+            while (true) {
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    run.accept(items.nextValue());
+                } catch (JsonProcessingException ex) {
+                    run.reject(Map.of("error", ex.getOriginalMessage()));
+                    if (ex instanceof StreamReadException) {
+                        // Malformed JSON cannot be resynchronised; everything persisted so far stays
+                        break;
+                    }
+                }
+            }
+        }
+        return run.finish();
+    }
+
+    public BulkImportResponse importNdjson(InputStream body) throws IOException {
+        Import run = new Import();
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    run.accept(reader.readValue(line));
+                } catch (JsonProcessingException ex) {
+                    run.reject(Map.of("error", ex.getOriginalMessage()));
+                }
+            }
+        }
+        return run.finish();
+    }
+
+    private List<Long> persist(List<PendingVideo> items) {
+        List<Long> ids = new ArrayList<>(items.size());
+        for (PendingVideo item : items) {
+            Video video = Video.from(item.request());
+            entityManager.persist(video);
+            ids.add(video.getId());
+        }
+        entityManager.flush();
+        // Keeps the persistence context from growing across batches
+        entityManager.clear();
+        eventPublisher.publishEvent(new VideosImportedEvent(ids));
+        return ids;
+    }
+
+    private record PendingVideo(int index, VideoRequest request) {
+    }
+
+    private final class Import {
+
+        private final List<PendingVideo> pending = new ArrayList<>();
+        private final List<BulkImportResponse.Failure> failures = new ArrayList<>();
+        private int received;
+        private int imported;
+
+        void accept(VideoRequest request) {
+            int index = received++;
+            if (request == null) {
+                failures.add(new BulkImportResponse.Failure(index, Map.of("error", "Item must be a JSON object")));
+                return;
+            }
+            Set<ConstraintViolation<VideoRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                Map<String, String> errors = new TreeMap<>();
+                violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+                failures.add(new BulkImportResponse.Failure(index, errors));
+                return;
+            }
+            pending.add(new PendingVideo(index, request));
+            if (pending.size() >= properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        void reject(Map<String, String> errors) {
+            failures.add(new BulkImportResponse.Failure(received++, errors));
+        }
+
+        BulkImportResponse finish() {
+            flush();
+            failures.sort(Comparator.comparingInt(BulkImportResponse.Failure::getIndex));
+            logger.info("Bulk import finished: {} received, {} imported, {} failed", received, imported, failures.size());
+            return new BulkImportResponse(received, imported, failures);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.execute(status -> persist(pending));
+                imported += pending.size();
+            } catch (RuntimeException ex) {
+                // Find the offending rows by retrying the batch one video per transaction
+                logger.warn("Batch of {} videos failed, retrying individually: {}", pending.size(), ex.getMessage());
+                for (PendingVideo item : pending) {
+                    try {
+                        transactionTemplate.execute(status -> persist(List.of(item)));
+                        imported++;
+                    } catch (RuntimeException itemEx) {
+                        String message = NestedExceptionUtils.getMostSpecificCause(itemEx).getMessage();
+                        failures.add(new BulkImportResponse.Failure(item.index(), Map.of("error", String.valueOf(message))));
+                    }
+                }
+            }
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.sb.eezebeassignment.service.content;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+final class ContentBuffers {
+
+    private ContentBuffers() {
+    }
+
+    static void write(ByteBuffer buffer, WritableByteChannel target) throws IOException {
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+}
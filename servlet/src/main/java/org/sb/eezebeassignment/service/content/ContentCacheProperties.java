@@ -0,0 +1,39 @@
+package org.sb.eezebeassignment.service.content;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "content.cache")
+public class ContentCacheProperties {
+
+    /**
+     * Whether /play serves frequently requested content from {@link VideoContentCache}. Off by default: content
+     * of the filesystem store is served by sendfile and bypasses the cache, so only stores without files and
+     * connectors without sendfile benefit.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Off-heap memory for cached content; counts against -XX:MaxDirectMemorySize.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    /**
+     * Size of the direct buffers content is stored in; every entry occupies whole segments.
+     */
+    private DataSize segmentSize = DataSize.ofKilobytes(256);
+
+    /**
+     * Larger content is never cached.
+     */
+    private DataSize maxEntrySize = DataSize.ofMegabytes(64);
+
+    /**
+     * Recent requests a video needs before its content is admitted.
+     */
+    private int minFrequency = 2;
+}
@@ -0,0 +1,192 @@
+package org.sb.eezebeassignment.service.content;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.sb.eezebeassignment.content.ContentStoreProperties;
+import org.sb.eezebeassignment.content.VideoFiles;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Serves video files from a local directory without copying them through heap arrays: the servlet container
+ * may sendfile them directly (see {@link VideoContent#file()}), small hot files are written from read-only
+ * memory mappings, and everything else goes through {@link FileChannel#transferTo}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "content.store", name = "type", havingValue = "filesystem")
+public class FileSystemVideoContentStore implements VideoContentStore, MeterBinder {
+
+
+    private final Path root;
+    private final long mappedMaxFileSize;
+    private final Cache<Long, MappedFile> mappedFiles;
+
+    @Autowired
+    public FileSystemVideoContentStore(ContentStoreProperties properties) {
+        this.root = properties.getRoot();
+        long mappedCapacity = properties.getMappedCapacity().toBytes();
+        this.mappedMaxFileSize = Math.min(properties.getMappedMaxFileSize().toBytes(), mappedCapacity);
+        // Caffeine's frequency-based eviction keeps the most requested files mapped
+        this.mappedFiles = Caffeine.newBuilder()
+                .maximumWeight(mappedCapacity)
+                .weigher((Long videoId, MappedFile file) -> (int) Math.min(Integer.MAX_VALUE, file.buffer().capacity()))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, mappedFiles, "mappedVideoContent");
+    }
+
+    public Path pathOf(Long videoId) {
+        return VideoFiles.pathOf(root, videoId);
+    }
+
+    @Override
+    public Optional<VideoContent> find(Long videoId) {
+        Path path = pathOf(videoId);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (!attributes.isRegularFile()) {
+            return Optional.empty();
+        }
+        Instant lastModified = attributes.lastModifiedTime().toInstant();
+        return Optional.of(new FileVideoContent(videoId, path, attributes.size(), lastModified));
+    }
+
+    @Override
+    public boolean isWritable() {
+        return true;
+    }
+
+    @Override
+    public VideoContent store(Long videoId, ContentWriter writer) throws IOException {
+        Files.createDirectories(root);
+        Path temp = Files.createTempFile(root, videoId + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                writer.writeTo(channel);
+                channel.force(true);
+            }
+            Files.move(temp, pathOf(videoId), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        mappedFiles.invalidate(videoId);
+        return find(videoId).orElseThrow();
+    }
+
+    private ByteBuffer mapped(FileVideoContent content) throws IOException {
+        if (content.length() == 0 || content.length() > mappedMaxFileSize) {
+            return null;
+        }
+        MappedFile mapped = mappedFiles.getIfPresent(content.videoId());
+        if (mapped != null && mapped.lastModified().equals(content.modifiedAt()) && mapped.buffer().capacity() == content.length()) {
+            return mapped.buffer();
+        }
+        // Replaced files get a new inode, so a mapping still in use keeps reading the old bytes safely
+        try (FileChannel channel = FileChannel.open(content.path(), StandardOpenOption.READ)) {
+            if (channel.size() != content.length()) {
+                return null;
+            }
+            mapped = new MappedFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, content.length()), content.modifiedAt());
+        }
+        mappedFiles.put(content.videoId(), mapped);
+        return mapped.buffer();
+    }
+
+    private record MappedFile(ByteBuffer buffer, Instant lastModified) {
+    }
+
+    private final class FileVideoContent implements VideoContent {
+
+        private final Long videoId;
+        private final Path path;
+        private final long length;
+        private final Instant modifiedAt;
+
+        private FileVideoContent(Long videoId, Path path, long length, Instant modifiedAt) {
+            this.videoId = videoId;
+            this.path = path;
+            this.length = length;
+            this.modifiedAt = modifiedAt;
+        }
+
+        Long videoId() {
+            return videoId;
+        }
+
+        Path path() {
+            return path;
+        }
+
+        Instant modifiedAt() {
+            return modifiedAt;
+        }
+
+        @Override
+        public long length() {
+            return length;
+        }
+
+        @Override
+        public Instant lastModified() {
+            return VideoFiles.lastModified(modifiedAt);
+        }
+
+        @Override
+        public String etag() {
+            return VideoFiles.etag(length, modifiedAt);
+        }
+
+        @Override
+        public Optional<Path> file() {
+            return Optional.of(path);
+        }
+
+        @Override
+        public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            ByteBuffer mapped = mapped(this);
+            if (mapped != null) {
+                ContentBuffers.write(mapped.slice(Math.toIntExact(position), Math.toIntExact(count)), target);
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long transferred = 0;
+                while (transferred < count) {
+                    long written = channel.transferTo(position + transferred, count - transferred, target);
+                    if (written <= 0) {
+                        throw new EOFException("Video file " + path + " is shorter than " + (position + count) + " bytes");
+                    }
+                    transferred += written;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.sb.eezebeassignment.service.content;
+
+import org.sb.eezebeassignment.content.MockVideoContents;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Serves a short generated text for every video, standing in for real media.
+ */
+@Component
+@ConditionalOnProperty(prefix = "content.store", name = "type", havingValue = "mock", matchIfMissing = true)
+public class MockVideoContentStore implements VideoContentStore {
+
+    // HTTP dates have second precision
+    private final Instant createdAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Override
+    public Optional<VideoContent> find(Long videoId) {
+        return Optional.of(new ByteArrayVideoContent(MockVideoContents.bytes(videoId), createdAt, MockVideoContents.etag(videoId, createdAt)));
+    }
+
+    @Override
+    public boolean isWritable() {
+        return false;
+    }
+
+    @Override
+    public VideoContent store(Long videoId, ContentWriter writer) {
+        throw new UnsupportedOperationException("The mock content store does not accept content");
+    }
+
+    private record ByteArrayVideoContent(byte[] bytes, Instant lastModified, String etag) implements VideoContent {
+
+        @Override
+        public long length() {
+            return bytes.length;
+        }
+
+        @Override
+        public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            ContentBuffers.write(ByteBuffer.wrap(bytes, Math.toIntExact(position), Math.toIntExact(count)), target);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.sb.eezebeassignment.service.content;
+
+import org.sb.eezebeassignment.content.VideoContentMetadata;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Playable bytes of one video, addressable by byte range.
+ */
+public interface VideoContent extends VideoContentMetadata {
+
+    /**
+     * Writes the range to the channel; the caller decides how the channel reaches the client.
+     */
+    void transferTo(long position, long count, WritableByteChannel target) throws IOException;
+
+    /**
+     * The file holding the bytes, when the servlet container may send it directly (sendfile).
+     */
+    default Optional<Path> file() {
+        return Optional.empty();
+    }
+}
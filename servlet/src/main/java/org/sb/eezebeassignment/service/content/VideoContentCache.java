@@ -0,0 +1,529 @@
+package org.sb.eezebeassignment.service.content;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.sb.eezebeassignment.service.sketch.CountMinSketch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the content of the most requested videos in off-heap memory, so hot titles are not re-read from the store
+ * and cost no heap. Memory is a pool of fixed-size direct buffers (segments), allocated on demand up to the
+ * configured size and reused after eviction; ranges are written to the response as read-only slices, which Tomcat
+ * copies into its socket buffer like any other write. Only requests that cannot use sendfile come here (stores
+ * without files, connectors without sendfile); content sent from its file would never be read from memory.
+ * <p>
+ * Admission is TinyLFU: requests are counted in a Count-Min Sketch that is halved periodically, and content is
+ * only loaded once requested often enough and, when memory is full, more often than every entry it would evict.
+ * Entries live in a segmented LRU: new ones in a probation segment, entries hit again in a protected segment of up
+ * to 80% of the memory, and victims come from the probation end first. Entries still being written to a response
+ * are not evicted to make room. Admitted content is copied into memory by a background loader, while the request
+ * that admitted it is served from the store.
+ */
+@Component
+public class VideoContentCache implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoContentCache.class);
+
+    private final boolean enabled;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final int maxProtectedSegments;
+    private final long maxEntrySize;
+    private final int minFrequency;
+
+    private final Executor loader;
+    private final ExecutorService ownedLoader;
+
+    private final CountMinSketch frequencies;
+    private final int sampleSize;
+    private final AtomicInteger samples = new AtomicInteger();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Entry> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Entry> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<Long> loading = new HashSet<>();
+    private final ArrayDeque<ByteBuffer> freeSegments = new ArrayDeque<>();
+    private int allocatedSegments;
+    private int protectedSegments;
+    private long cachedBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rejections;
+    private final Counter evictions;
+
+    @Autowired
+    public VideoContentCache(ContentCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, null);
+    }
+
+    /**
+     * Loads admitted content on the given executor, or on a single loader thread of its own when null.
+     */
+    VideoContentCache(ContentCacheProperties properties, MeterRegistry meterRegistry, Executor loader) {
+        this.enabled = properties.isEnabled();
+        this.ownedLoader = loader == null && enabled ? Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "content-cache-loader");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.loader = loader != null ? loader : ownedLoader;
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, properties.getSegmentSize().toBytes());
+        this.maxSegments = (int) Math.min(Integer.MAX_VALUE, properties.getMaxSize().toBytes() / segmentSize);
+        this.maxProtectedSegments = (int) (maxSegments * 4L / 5);
+        this.maxEntrySize = Math.min(properties.getMaxEntrySize().toBytes(), (long) maxSegments * segmentSize);
+        this.minFrequency = properties.getMinFrequency();
+        // Counts are aged after about ten requests per counter, so popularity reflects recent traffic
+        this.frequencies = new CountMinSketch(Math.min(1 << 20, Math.max(256, 4 * maxSegments)), 4);
+        this.sampleSize = 10 * frequencies.width();
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.rejections = Counter.builder("video.content.cache.rejections")
+                .description("Content not admitted because it was requested less often than what it would evict")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("video.content.cache.evictions").register(meterRegistry);
+        Gauge.builder("video.content.cache.size", this, VideoContentCache::cachedBytes)
+                .description("Bytes of content held off-heap")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("video.content.cache.memory", this, cache -> (double) cache.allocatedSegments() * cache.segmentSize)
+                .description("Direct memory allocated for content segments")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        if (enabled) {
+            logger.info("Caching hot video content in up to {} segments of {} KB off-heap", maxSegments, segmentSize / 1024);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("video.content.cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The content served from memory if it is cached, otherwise the content itself; content admitted now is
+     * loaded in the background. Cached bytes are only used while the store reports the same entity tag.
+     */
+    public VideoContent cached(Long videoId, VideoContent content) {
+        if (!enabled || content.length() == 0 || content.length() > maxEntrySize) {
+            return content;
+        }
+        recordRequest(videoId);
+        Entry entry = lookup(videoId, content.etag());
+        if (entry != null) {
+            hits.increment();
+            return new CachedVideoContent(entry, content);
+        }
+        misses.increment();
+        ByteBuffer[] segments = reserve(videoId, content.length());
+        if (segments != null) {
+            try {
+                loader.execute(() -> load(videoId, content, segments));
+            } catch (RejectedExecutionException ex) {
+                // Shutting down
+                abandon(videoId, segments);
+            }
+        }
+        return content;
+    }
+
+    @Override
+    public void destroy() {
+        if (ownedLoader != null) {
+            ownedLoader.shutdownNow();
+        }
+    }
+
+    public void invalidate(Long videoId) {
+        lock.lock();
+        try {
+            Entry entry = remove(videoId);
+            if (entry != null) {
+                entry.release();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long cachedBytes() {
+        lock.lock();
+        try {
+            return cachedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int allocatedSegments() {
+        lock.lock();
+        try {
+            return allocatedSegments;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean contains(Long videoId) {
+        lock.lock();
+        try {
+            return probation.containsKey(videoId) || protectedEntries.containsKey(videoId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordRequest(Long videoId) {
+        frequencies.add(videoId, 1);
+        if (samples.incrementAndGet() >= sampleSize) {
+            // Concurrent resets may halve twice, which only ages the counts a little faster
+            samples.set(0);
+            frequencies.halve();
+        }
+    }
+
+    /**
+     * The valid entry of the video, moved to the protected segment on a repeated hit.
+     */
+    private Entry lookup(Long videoId, String etag) {
+        lock.lock();
+        try {
+            Entry entry = probation.get(videoId);
+            if (entry == null) {
+                entry = protectedEntries.get(videoId);
+                if (entry == null) {
+                    return null;
+                }
+            }
+            if (!entry.etag.equals(etag)) {
+                remove(videoId);
+                entry.release();
+                return null;
+            }
+            if (!entry.isProtected) {
+                promote(entry);
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void promote(Entry entry) {
+        probation.remove(entry.videoId);
+        entry.isProtected = true;
+        protectedEntries.put(entry.videoId, entry);
+        protectedSegments += entry.segments.length;
+        Iterator<Entry> eldest = protectedEntries.values().iterator();
+        while (protectedSegments > maxProtectedSegments && eldest.hasNext()) {
+            Entry demoted = eldest.next();
+            eldest.remove();
+            demoted.isProtected = false;
+            protectedSegments -= demoted.segments.length;
+            probation.put(demoted.videoId, demoted);
+        }
+    }
+
+    /**
+     * Segments for the content if TinyLFU admits it, evicting entries requested less often when memory is full.
+     * Only entries no response is writing are evicted, so their segments are free at once. Returns null when the
+     * content is rejected or already being loaded.
+     */
+    private ByteBuffer[] reserve(Long videoId, long length) {
+        long frequency = frequencies.estimate(videoId);
+        if (frequency < minFrequency) {
+            return null;
+        }
+        int needed = (int) ((length + segmentSize - 1) / segmentSize);
+        lock.lock();
+        try {
+            if (loading.contains(videoId)) {
+                return null;
+            }
+            int available = freeSegments.size() + maxSegments - allocatedSegments;
+            List<Entry> victims = new ArrayList<>();
+            for (Iterator<Entry> candidates = evictionOrder(); available < needed && candidates.hasNext(); ) {
+                Entry victim = candidates.next();
+                if (victim.videoId.equals(videoId)) {
+                    continue;
+                }
+                if (frequencies.estimate(victim.videoId) >= frequency) {
+                    break;
+                }
+                // Readers retain entries without the lock, so claim the cache's reference to rule them out
+                if (victim.reclaim()) {
+                    victims.add(victim);
+                    available += victim.segments.length;
+                }
+            }
+            if (available < needed) {
+                for (Entry victim : victims) {
+                    victim.restore();
+                }
+                rejections.increment();
+                return null;
+            }
+            for (Entry victim : victims) {
+                remove(victim.videoId);
+                recycle(victim.segments);
+                evictions.increment();
+            }
+            ByteBuffer[] segments = new ByteBuffer[needed];
+            for (int i = 0; i < needed; i++) {
+                ByteBuffer segment = freeSegments.poll();
+                if (segment == null) {
+                    segment = ByteBuffer.allocateDirect(segmentSize);
+                    allocatedSegments++;
+                }
+                segments[i] = segment;
+            }
+            loading.add(videoId);
+            return segments;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Iterator<Entry> evictionOrder() {
+        Iterator<Entry> first = List.copyOf(probation.values()).iterator();
+        Iterator<Entry> second = List.copyOf(protectedEntries.values()).iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return first.hasNext() || second.hasNext();
+            }
+
+            @Override
+            public Entry next() {
+                return first.hasNext() ? first.next() : second.next();
+            }
+        };
+    }
+
+    /**
+     * Copies the content into the reserved segments and publishes it in the probation segment.
+     */
+    private void load(Long videoId, VideoContent content, ByteBuffer[] segments) {
+        Entry entry = null;
+        try {
+            SegmentChannel out = new SegmentChannel(segments);
+            content.transferTo(0, content.length(), out);
+            if (out.written != content.length()) {
+                throw new IOException("Content of video " + videoId + " is shorter than " + content.length() + " bytes");
+            }
+            entry = new Entry(videoId, content.etag(), content.length(), segments);
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Could not cache content of video {}: {}", videoId, ex.getMessage());
+        }
+        if (entry == null) {
+            abandon(videoId, segments);
+            return;
+        }
+        lock.lock();
+        try {
+            loading.remove(videoId);
+            probation.put(videoId, entry);
+            cachedBytes += entry.length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void abandon(Long videoId, ByteBuffer[] segments) {
+        lock.lock();
+        try {
+            loading.remove(videoId);
+            recycle(segments);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Unlinks the entry; its segments are recycled once it is released by the cache and all readers.
+     */
+    private Entry remove(Long videoId) {
+        Entry entry = probation.remove(videoId);
+        if (entry == null) {
+            entry = protectedEntries.remove(videoId);
+            if (entry == null) {
+                return null;
+            }
+            protectedSegments -= entry.segments.length;
+        }
+        cachedBytes -= entry.length;
+        return entry;
+    }
+
+    private void recycle(ByteBuffer[] segments) {
+        lock.lock();
+        try {
+            for (ByteBuffer segment : segments) {
+                freeSegments.push(segment.clear());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class Entry {
+
+        private final Long videoId;
+        private final String etag;
+        private final long length;
+        private final ByteBuffer[] segments;
+        // One reference is the cache's own, the others are responses writing the content
+        private final AtomicInteger references = new AtomicInteger(1);
+        private boolean isProtected;
+
+        private Entry(Long videoId, String etag, long length, ByteBuffer[] segments) {
+            this.videoId = videoId;
+            this.etag = etag;
+            this.length = length;
+            this.segments = segments;
+        }
+
+        private boolean retain() {
+            int current;
+            do {
+                current = references.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void release() {
+            if (references.decrementAndGet() == 0) {
+                recycle(segments);
+            }
+        }
+
+        /**
+         * Takes the cache's reference if no response holds one, after which readers fall back to the source.
+         */
+        private boolean reclaim() {
+            return references.compareAndSet(1, 0);
+        }
+
+        /**
+         * Gives back a reference taken by {@link #reclaim()} that was not needed after all.
+         */
+        private void restore() {
+            references.set(1);
+        }
+    }
+
+    private final class CachedVideoContent implements VideoContent {
+
+        private final Entry entry;
+        private final VideoContent source;
+
+        private CachedVideoContent(Entry entry, VideoContent source) {
+            this.entry = entry;
+            this.source = source;
+        }
+
+        @Override
+        public long length() {
+            return entry.length;
+        }
+
+        @Override
+        public Instant lastModified() {
+            return source.lastModified();
+        }
+
+        @Override
+        public String etag() {
+            return entry.etag;
+        }
+
+        @Override
+        public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            if (!entry.retain()) {
+                // Evicted and recycled since the lookup
+                source.transferTo(position, count, target);
+                return;
+            }
+            try {
+                while (count > 0) {
+                    int index = (int) (position / segmentSize);
+                    int offset = (int) (position % segmentSize);
+                    int length = (int) Math.min(count, segmentSize - offset);
+                    ContentBuffers.write(entry.segments[index].slice(offset, length).asReadOnlyBuffer(), target);
+                    position += length;
+                    count -= length;
+                }
+            } finally {
+                entry.release();
+            }
+        }
+    }
+
+    private static final class SegmentChannel implements WritableByteChannel {
+
+        private final ByteBuffer[] segments;
+        private int index;
+        private long written;
+
+        private SegmentChannel(ByteBuffer[] segments) {
+            this.segments = segments;
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            int total = source.remaining();
+            while (source.hasRemaining()) {
+                if (index == segments.length) {
+                    throw new IOException("Content is longer than its reported length");
+                }
+                ByteBuffer segment = segments[index];
+                if (!segment.hasRemaining()) {
+                    index++;
+                    continue;
+                }
+                int chunk = Math.min(source.remaining(), segment.remaining());
+                segment.put(segment.position(), source, source.position(), chunk);
+                segment.position(segment.position() + chunk);
+                source.position(source.position() + chunk);
+                written += chunk;
+            }
+            return total;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
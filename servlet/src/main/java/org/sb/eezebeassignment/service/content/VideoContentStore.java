@@ -0,0 +1,29 @@
+package org.sb.eezebeassignment.service.content;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Optional;
+
+public interface VideoContentStore {
+
+    Optional<VideoContent> find(Long videoId);
+
+    /**
+     * Whether {@link #store} accepts content; stores that return false reject it.
+     */
+    boolean isWritable();
+
+    /**
+     * Replaces the content of a video with whatever the writer puts into the channel; readers see either
+     * the old or the new bytes, never a partial file.
+     *
+     * @throws UnsupportedOperationException if the store is not {@link #isWritable() writable}
+     */
+    VideoContent store(Long videoId, ContentWriter writer) throws IOException;
+
+    @FunctionalInterface
+    interface ContentWriter {
+
+        void writeTo(FileChannel target) throws IOException;
+    }
+}
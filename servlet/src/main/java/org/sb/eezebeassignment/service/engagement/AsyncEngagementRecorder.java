@@ -0,0 +1,287 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fire-and-forget engagement capture. Request threads publish each view or impression to a bounded
+ * {@link EngagementEventQueue} and return; a single consumer thread aggregates queued events per video and
+ * merges them into video_engagements in batches. When the queue is full the configured
+ * {@link EngagementProperties.OverflowPolicy} applies.
+ * <p>
+ * {@link #pending} covers events the consumer has taken but not yet written; events still in the queue become
+ * visible within the queue lag.
+ */
+@Component
+@ConditionalOnProperty(prefix = "engagement", name = "mode", havingValue = "async")
+public class AsyncEngagementRecorder implements EngagementRecorder, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncEngagementRecorder.class);
+
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long DROP_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final EngagementDeltaWriter deltaWriter;
+    private final EngagementProperties.Async properties;
+    private final EngagementEventQueue queue;
+    private final EngagementSpillLog spillLog;
+    private final Counter dropped;
+    private final Counter droppedAfterStop;
+    private final Counter spilled;
+    private final Timer blocked;
+    private final Timer successfulFlushes;
+    private final Timer failedFlushes;
+    private final DistributionSummary flushedVideos;
+
+    // Written only by the consumer thread; read by pending()
+    private final Map<Long, EngagementDelta> unapplied = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastDropLog = new AtomicLong(System.nanoTime() - DROP_LOG_INTERVAL_NANOS);
+
+    private volatile Thread consumer;
+    private volatile boolean running;
+    private volatile boolean stopped;
+
+    @Autowired
+    public AsyncEngagementRecorder(EngagementDeltaWriter deltaWriter, EngagementProperties properties, MeterRegistry meterRegistry) {
+        this.deltaWriter = deltaWriter;
+        this.properties = properties.getAsync();
+        this.queue = new EngagementEventQueue(this.properties.getCapacity());
+        this.spillLog = new EngagementSpillLog(this.properties.getSpillFile());
+        this.dropped = overflowCounter(meterRegistry, "dropped");
+        this.droppedAfterStop = overflowCounter(meterRegistry, "stopped");
+        this.spilled = overflowCounter(meterRegistry, "spilled");
+        this.blocked = Timer.builder("video.engagement.publish.blocked")
+                .description("Time requests waited for space in the full engagement queue")
+                .register(meterRegistry);
+        this.successfulFlushes = flushTimer(meterRegistry, "success");
+        this.failedFlushes = flushTimer(meterRegistry, "failure");
+        this.flushedVideos = DistributionSummary.builder("video.engagement.flush.videos")
+                .description("Videos whose deltas were merged by one flush")
+                .register(meterRegistry);
+        Gauge.builder("video.engagement.queue.depth", queue, EngagementEventQueue::size)
+                .description("Engagement events waiting in the queue")
+                .register(meterRegistry);
+        Gauge.builder("video.engagement.queue.capacity", queue, EngagementEventQueue::capacity)
+                .description("Engagement events the queue holds")
+                .register(meterRegistry);
+        TimeGauge.builder("video.engagement.queue.lag", queue, TimeUnit.NANOSECONDS, EngagementEventQueue::lagNanos)
+                .description("Time the oldest queued engagement event has been waiting")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordView(Long videoId) {
+        publish(videoId, true);
+    }
+
+    @Override
+    public void recordImpression(Long videoId) {
+        publish(videoId, false);
+    }
+
+    @Override
+    public EngagementDelta pending(Long videoId) {
+        return unapplied.getOrDefault(videoId, EngagementDelta.empty(videoId));
+    }
+
+    private void publish(long videoId, boolean view) {
+        if (stopped) {
+            // The consumer has drained the queue for the last time
+            drop(droppedAfterStop, "the consumer has stopped");
+            return;
+        }
+        if (queue.offer(videoId, view)) {
+            return;
+        }
+        switch (properties.getOverflow()) {
+            case DROP -> drop(dropped, "the queue is full");
+            case BLOCK -> {
+                if (!offerWithin(videoId, view, properties.getBlockTimeout().toNanos())) {
+                    drop(dropped, "the queue stayed full for " + properties.getBlockTimeout());
+                }
+            }
+            case SPILL -> spill(new EngagementDelta(videoId, view ? 1 : 0, view ? 0 : 1));
+        }
+    }
+
+    /**
+     * Counts a lost event and logs at most once per interval, so a full queue does not also flood the log.
+     */
+    private void drop(Counter counter, String reason) {
+        counter.increment();
+        long now = System.nanoTime();
+        long last = lastDropLog.get();
+        if (now - last >= DROP_LOG_INTERVAL_NANOS && lastDropLog.compareAndSet(last, now)) {
+            logger.warn("Dropping engagement events because {}; {} dropped since startup", reason,
+                    (long) (dropped.count() + droppedAfterStop.count()));
+        }
+    }
+
+    private boolean offerWithin(long videoId, boolean view, long timeoutNanos) {
+        long start = System.nanoTime();
+        try {
+            do {
+                LockSupport.parkNanos(BLOCK_WAIT_NANOS);
+                if (queue.offer(videoId, view)) {
+                    return true;
+                }
+            } while (System.nanoTime() - start < timeoutNanos && !Thread.currentThread().isInterrupted());
+            return false;
+        } finally {
+            blocked.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void spill(EngagementDelta delta) {
+        try {
+            spillLog.append(delta);
+            spilled.increment();
+        } catch (RuntimeException ex) {
+            drop(dropped, "spilling failed: " + ex.getMessage());
+        }
+    }
+
+    private void consume() {
+        int batchSize = properties.getBatchSize();
+        while (running) {
+            int drained = queue.drain(this::aggregate, batchSize);
+            if (!unapplied.isEmpty()) {
+                if (!flush()) {
+                    // Failed deltas stay aggregated and are retried; once the queue fills up meanwhile the
+                    // overflow policy takes over
+                    LockSupport.parkNanos(properties.getRetryBackoff().toNanos());
+                }
+            } else if (drained == 0 && !(spillLog.hasPending() && replaySpill())) {
+                LockSupport.parkNanos(IDLE_WAIT_NANOS);
+            }
+        }
+        while (queue.drain(this::aggregate, Integer.MAX_VALUE) > 0) {
+            // Collect everything published before shutdown
+        }
+        if (!unapplied.isEmpty() && !flush()) {
+            if (properties.getOverflow() == EngagementProperties.OverflowPolicy.SPILL) {
+                unapplied.values().forEach(this::spill);
+            } else {
+                logger.error("Lost engagement deltas for {} videos on shutdown", unapplied.size());
+            }
+        }
+    }
+
+    private void aggregate(long videoId, boolean view) {
+        unapplied.merge(videoId, new EngagementDelta(videoId, view ? 1 : 0, view ? 0 : 1), EngagementDelta::plus);
+    }
+
+    private boolean flush() {
+        List<EngagementDelta> deltas = new ArrayList<>(unapplied.values());
+        long start = System.nanoTime();
+        try {
+            deltaWriter.apply(deltas);
+            successfulFlushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushedVideos.record(deltas.size());
+            // Nothing was aggregated meanwhile: this thread is the only writer of the map
+            unapplied.clear();
+            return true;
+        } catch (RuntimeException ex) {
+            failedFlushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.error("Failed to flush engagement deltas for {} videos, retrying", deltas.size(), ex);
+            return false;
+        }
+    }
+
+    private boolean replaySpill() {
+        try {
+            List<EngagementDelta> deltas = spillLog.takeForReplay();
+            if (deltas.isEmpty()) {
+                return false;
+            }
+            deltaWriter.apply(deltas);
+            spillLog.replayed();
+            logger.info("Replayed spilled engagement deltas for {} videos", deltas.size());
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Failed to replay spilled engagement deltas, retrying", ex);
+            LockSupport.parkNanos(properties.getRetryBackoff().toNanos());
+            return false;
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::consume, "engagement-consumer");
+        thread.setDaemon(true);
+        thread.start();
+        consumer = thread;
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = consumer;
+        consumer = null;
+        stopped = true;
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            spillLog.close();
+        } catch (IOException ex) {
+            logger.warn("Failed to close engagement spill log", ex);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return consumer != null;
+    }
+
+    /**
+     * Stopped after the web server has drained in-flight requests (graceful shutdown), so their events are still
+     * consumed.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 3072;
+    }
+
+    private static Counter overflowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("video.engagement.overflow")
+                .description("Engagement events that did not fit into the queue")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Timer flushTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("video.engagement.flush")
+                .description("Time taken to merge buffered engagement deltas into the database")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
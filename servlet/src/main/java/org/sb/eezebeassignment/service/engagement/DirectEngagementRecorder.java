@@ -0,0 +1,38 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies every event straight to video_engagements and its minute bucket with atomic upsert statements.
+ */
+@Component
+@ConditionalOnProperty(prefix = "engagement", name = "mode", havingValue = "direct")
+public class DirectEngagementRecorder implements EngagementRecorder {
+
+    private final EngagementDeltaWriter deltaWriter;
+
+    @Autowired
+    public DirectEngagementRecorder(EngagementDeltaWriter deltaWriter) {
+        this.deltaWriter = deltaWriter;
+    }
+
+    @Override
+    public void recordView(Long videoId) {
+        deltaWriter.apply(List.of(new EngagementDelta(videoId, 1, 0)));
+    }
+
+    @Override
+    public void recordImpression(Long videoId) {
+        deltaWriter.apply(List.of(new EngagementDelta(videoId, 0, 1)));
+    }
+
+    @Override
+    public EngagementDelta pending(Long videoId) {
+        return EngagementDelta.empty(videoId);
+    }
+}
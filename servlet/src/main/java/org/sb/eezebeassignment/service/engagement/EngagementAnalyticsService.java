@@ -0,0 +1,135 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import org.sb.eezebeassignment.dto.EngagementBucketResponse;
+import org.sb.eezebeassignment.dto.TopVideoResponse;
+import org.sb.eezebeassignment.model.EngagementBucket;
+import org.sb.eezebeassignment.model.EngagementGranularity;
+import org.sb.eezebeassignment.repository.EngagementBucketRepository;
+import org.sb.eezebeassignment.repository.EngagementBucketRepository.EngagementTotal;
+import org.sb.eezebeassignment.repository.VideoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Time series and top-N queries over pre-aggregated engagement buckets, and the job that rolls aged minute
+ * buckets into hours and aged hour buckets into days.
+ */
+@Service
+public class EngagementAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementAnalyticsService.class);
+
+    private final EngagementBucketRepository bucketRepository;
+    private final VideoRepository videoRepository;
+    private final EngagementProperties properties;
+    private final TransactionTemplate transaction;
+
+    @Autowired
+    public EngagementAnalyticsService(EngagementBucketRepository bucketRepository, VideoRepository videoRepository,
+                                      EngagementProperties properties, PlatformTransactionManager transactionManager) {
+        this.bucketRepository = bucketRepository;
+        this.videoRepository = videoRepository;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Views and impressions of the video per bucket of the requested granularity in [from, to). Where the data
+     * has already been rolled up beyond that granularity, the coarser buckets are returned as they are.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<EngagementBucketResponse>> getTimeSeries(Long videoId, EngagementGranularity granularity,
+                                                                 Instant from, Instant to) {
+        if (!videoRepository.existsByIdAndDeletedFalse(videoId)) {
+            return Optional.empty();
+        }
+        List<EngagementBucket> buckets = bucketRepository
+                .findByVideoIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                        videoId, granularity.truncate(from), to);
+        TreeMap<Instant, EngagementBucketResponse> series = new TreeMap<>();
+        for (EngagementBucket bucket : buckets) {
+            EngagementGranularity effective = granularity.coarser(bucket.getGranularity());
+            Instant start = effective.truncate(bucket.getBucketStart());
+            EngagementBucketResponse point = series.computeIfAbsent(start,
+                    key -> new EngagementBucketResponse(key, effective, 0, 0));
+            point.setGranularity(point.getGranularity().coarser(effective));
+            point.setViews(point.getViews() + bucket.getViews());
+            point.setImpressions(point.getImpressions() + bucket.getImpressions());
+        }
+        return Optional.of(new ArrayList<>(series.values()));
+    }
+
+    /**
+     * The most viewed (or most impressed) available videos over buckets starting within [from, to).
+     */
+    @Transactional(readOnly = true)
+    public List<TopVideoResponse> getTopVideos(Instant from, Instant to, boolean byImpressions, int limit) {
+        Set<EngagementGranularity> granularities = granularitiesSince(from);
+        List<EngagementTotal> totals = byImpressions
+                ? bucketRepository.findTopByImpressions(granularities, from, to, Limit.of(limit))
+                : bucketRepository.findTopByViews(granularities, from, to, Limit.of(limit));
+        return totals.stream()
+                .map(total -> new TopVideoResponse(total.getVideoId(), total.getTitle(), total.getViews(), total.getImpressions()))
+                .toList();
+    }
+
+    /**
+     * Granularities that can hold buckets starting at or after the instant: rollups only create hour and day
+     * buckets before the retention of the finer buckets.
+     */
+    private Set<EngagementGranularity> granularitiesSince(Instant from) {
+        Instant now = Instant.now();
+        Set<EngagementGranularity> granularities = EnumSet.of(EngagementGranularity.MINUTE);
+        if (from.isBefore(now.minus(properties.getRollup().getMinuteBucketsFor()))) {
+            granularities.add(EngagementGranularity.HOUR);
+        }
+        if (from.isBefore(now.minus(properties.getRollup().getHourBucketsFor()))) {
+            granularities.add(EngagementGranularity.DAY);
+        }
+        return granularities;
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.rollup.interval:PT5M}")
+    public void rollUp() {
+        Instant now = Instant.now();
+        // Cutoffs are aligned so only complete hours and days are rolled up
+        rollUp(EngagementGranularity.MINUTE, EngagementGranularity.HOUR,
+                EngagementGranularity.HOUR.truncate(now.minus(properties.getRollup().getMinuteBucketsFor())));
+        rollUp(EngagementGranularity.HOUR, EngagementGranularity.DAY,
+                EngagementGranularity.DAY.truncate(now.minus(properties.getRollup().getHourBucketsFor())));
+    }
+
+    /**
+     * Merges every bucket of the fine granularity starting before the cutoff into coarse buckets and deletes it,
+     * in one transaction and without loading the buckets. Returns the number of fine buckets rolled up.
+     */
+    int rollUp(EngagementGranularity fine, EngagementGranularity coarse, Instant cutoff) {
+        Integer rolledUp = transaction.execute(status -> {
+            if (!bucketRepository.tryLockForRollup()) {
+                logger.debug("Skipping engagement rollup, another instance is running it");
+                return 0;
+            }
+            bucketRepository.rollUp(fine, coarse, cutoff);
+            return bucketRepository.deleteByGranularityAndBucketStartBefore(fine, cutoff);
+        });
+        if (rolledUp != null && rolledUp > 0) {
+            logger.info("Rolled {} {} engagement buckets before {} into {} buckets", rolledUp, fine, cutoff, coarse);
+        }
+        return rolledUp == null ? 0 : rolledUp;
+    }
+}
@@ -0,0 +1,226 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind accumulator for views and impressions. Request threads only bump per-video
+ * {@link LongAdder}s; a scheduled flush drains them and merges the deltas into video_engagements
+ * in one batch. With the {@link EngagementWriteAheadLog} enabled, every event is also logged durably
+ * before the request returns, and a successful flush checkpoints the log. An event the log fails to write is
+ * still counted and flushed, only its durability is lost; the failure is logged and counted, not thrown.
+ */
+@Component
+@ConditionalOnProperty(prefix = "engagement", name = "mode", havingValue = "write-behind", matchIfMissing = true)
+public class EngagementCounterEngine implements EngagementRecorder, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementCounterEngine.class);
+
+    private final EngagementDeltaWriter deltaWriter;
+    private final EngagementWriteAheadLog writeAheadLog;
+    private final EngagementProperties properties;
+    private final TaskScheduler taskScheduler;
+    private final Timer successfulFlushes;
+    private final Timer failedFlushes;
+    private final DistributionSummary flushedVideos;
+    private final Counter unloggedEvents;
+
+    // Entries are never removed: a reader may still hold a reference while the flusher drains it.
+    // The map is therefore bounded by the number of distinct videos engaged with since startup.
+    private final Map<Long, Counters> counters = new ConcurrentHashMap<>();
+    private final Map<Long, EngagementDelta> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder buffered = new LongAdder();
+    private final AtomicBoolean earlyFlushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private volatile ScheduledFuture<?> scheduledFlush;
+
+    @Autowired
+    public EngagementCounterEngine(EngagementDeltaWriter deltaWriter, EngagementWriteAheadLog writeAheadLog,
+                                   EngagementProperties properties, TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.deltaWriter = deltaWriter;
+        this.writeAheadLog = writeAheadLog;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        this.successfulFlushes = flushTimer(meterRegistry, "success");
+        this.failedFlushes = flushTimer(meterRegistry, "failure");
+        this.flushedVideos = DistributionSummary.builder("video.engagement.flush.videos")
+                .description("Videos whose deltas were merged by one flush")
+                .register(meterRegistry);
+        this.unloggedEvents = Counter.builder("video.engagement.unlogged")
+                .description("Events buffered and flushed, but not written to the write-ahead log")
+                .register(meterRegistry);
+        Gauge.builder("video.engagement.buffered", buffered, LongAdder::sum)
+                .description("Views and impressions buffered in memory and not yet flushed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordView(Long videoId) {
+        // Counted before it is logged, so a checkpoint never covers an event missing from the flushed deltas
+        counters.computeIfAbsent(videoId, id -> new Counters()).views.increment();
+        onBuffered();
+        try {
+            writeAheadLog.appendView(videoId);
+        } catch (UncheckedIOException ex) {
+            onUnlogged(videoId, ex);
+        }
+    }
+
+    @Override
+    public void recordImpression(Long videoId) {
+        counters.computeIfAbsent(videoId, id -> new Counters()).impressions.increment();
+        onBuffered();
+        try {
+            writeAheadLog.appendImpression(videoId);
+        } catch (UncheckedIOException ex) {
+            onUnlogged(videoId, ex);
+        }
+    }
+
+    @Override
+    public EngagementDelta pending(Long videoId) {
+        EngagementDelta pending = EngagementDelta.empty(videoId);
+        Counters buffer = counters.get(videoId);
+        if (buffer != null) {
+            pending = pending.plus(new EngagementDelta(videoId, buffer.views.sum(), buffer.impressions.sum()));
+        }
+        EngagementDelta flushing = inFlight.get(videoId);
+        return flushing != null ? pending.plus(flushing) : pending;
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            earlyFlushRequested.set(false);
+            long logPosition = writeAheadLog.position();
+            List<EngagementDelta> deltas = drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            deltas.forEach(delta -> inFlight.put(delta.videoId(), delta));
+            long start = System.nanoTime();
+            try {
+                deltaWriter.apply(deltas);
+                writeAheadLog.checkpoint(logPosition);
+                successfulFlushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                flushedVideos.record(deltas.size());
+                logger.debug("Flushed engagement deltas for {} videos", deltas.size());
+            } catch (RuntimeException ex) {
+                failedFlushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                logger.error("Failed to flush engagement deltas for {} videos, re-buffering", deltas.size(), ex);
+                deltas.forEach(this::rebuffer);
+            } finally {
+                deltas.forEach(delta -> inFlight.remove(delta.videoId()));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private List<EngagementDelta> drain() {
+        List<EngagementDelta> deltas = new ArrayList<>();
+        counters.forEach((videoId, buffer) -> {
+            long views = buffer.views.sumThenReset();
+            long impressions = buffer.impressions.sumThenReset();
+            if (views != 0 || impressions != 0) {
+                buffered.add(-(views + impressions));
+                deltas.add(new EngagementDelta(videoId, views, impressions));
+            }
+        });
+        return deltas;
+    }
+
+    private void rebuffer(EngagementDelta delta) {
+        Counters buffer = counters.computeIfAbsent(delta.videoId(), id -> new Counters());
+        buffer.views.add(delta.views());
+        buffer.impressions.add(delta.impressions());
+        buffered.add(delta.views() + delta.impressions());
+    }
+
+    /**
+     * The event is already counted and will be flushed, so failing the request would report a loss that only
+     * happens if the process also dies before the next flush.
+     */
+    private void onUnlogged(Long videoId, UncheckedIOException ex) {
+        unloggedEvents.increment();
+        logger.warn("Engagement event for video {} was counted but not logged durably: {}", videoId, ex.getMessage());
+    }
+
+    private void onBuffered() {
+        buffered.increment();
+        if (buffered.sum() >= properties.getMaxBufferedDelta() && earlyFlushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    @Override
+    public void start() {
+        List<EngagementDelta> recovered = writeAheadLog.recover();
+        if (!recovered.isEmpty()) {
+            logger.info("Recovered engagement deltas for {} videos from the write-ahead log", recovered.size());
+            recovered.forEach(this::rebuffer);
+            flush();
+        }
+        scheduledFlush = taskScheduler.scheduleWithFixedDelay(this::flush, properties.getFlushInterval());
+    }
+
+    @Override
+    public void stop() {
+        ScheduledFuture<?> flushTask = scheduledFlush;
+        scheduledFlush = null;
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduledFlush != null;
+    }
+
+    /**
+     * Started after the write-ahead log and stopped after the web server has drained in-flight requests
+     * (graceful shutdown), so the final flush includes their events.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 3072;
+    }
+
+    private static Timer flushTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("video.engagement.flush")
+                .description("Time taken to merge buffered engagement deltas into the database")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Counters {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder impressions = new LongAdder();
+    }
+}
@@ -0,0 +1,34 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.sb.eezebeassignment.model.EngagementGranularity;
+import org.sb.eezebeassignment.repository.EngagementBucketRepository;
+import org.sb.eezebeassignment.repository.VideoEngagementRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Adds deltas to the lifetime counters and to the minute bucket they are written in.
+ */
+@Component
+public class EngagementDeltaWriter {
+
+    private final VideoEngagementRepository engagementRepository;
+    private final EngagementBucketRepository bucketRepository;
+
+    @Autowired
+    public EngagementDeltaWriter(VideoEngagementRepository engagementRepository, EngagementBucketRepository bucketRepository) {
+        this.engagementRepository = engagementRepository;
+        this.bucketRepository = bucketRepository;
+    }
+
+    @Transactional
+    public void apply(Collection<EngagementDelta> deltas) {
+        engagementRepository.upsertIncrements(deltas);
+        bucketRepository.upsertIncrements(EngagementGranularity.MINUTE, EngagementGranularity.MINUTE.truncate(Instant.now()), deltas);
+    }
+}
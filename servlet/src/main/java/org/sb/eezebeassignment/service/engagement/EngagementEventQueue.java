@@ -0,0 +1,116 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring of view/impression events (Vyukov's bounded queue).
+ * Each slot carries a sequence number: a producer claims the tail with one CAS and publishes the slot by advancing
+ * its sequence; the consumer frees it by advancing the sequence one lap further. Events are stored in primitive
+ * arrays, so publishing allocates nothing.
+ */
+final class EngagementEventQueue {
+
+    @FunctionalInterface
+    interface EventHandler {
+        void onEvent(long videoId, boolean view);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final long[] videoIds;
+    private final boolean[] views;
+    private final long[] enqueuedAt;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only advanced by the consumer; volatile so depth and lag can be read from other threads
+    private volatile long head;
+
+    EngagementEventQueue(int requestedCapacity) {
+        if (requestedCapacity < 2 || requestedCapacity > 1 << 30) {
+            throw new IllegalArgumentException("Queue capacity must be between 2 and 2^30: " + requestedCapacity);
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.videoIds = new long[capacity];
+        this.views = new boolean[capacity];
+        this.enqueuedAt = new long[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Returns false without waiting when the queue is full.
+     */
+    boolean offer(long videoId, boolean view) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    videoIds[index] = videoId;
+                    views[index] = view;
+                    enqueuedAt[index] = System.nanoTime();
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds the event from one lap ago
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hands up to {@code limit} events to the handler in publication order. Must only be called from the
+     * consumer thread.
+     */
+    int drain(EventHandler handler, int limit) {
+        long position = head;
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            handler.onEvent(videoIds[index], views[index]);
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Approximate number of queued events; claimed but not yet published slots are included.
+     */
+    long size() {
+        return Math.max(0, tail.get() - head);
+    }
+
+    /**
+     * Nanoseconds the oldest queued event has been waiting, or 0 when the queue is empty.
+     */
+    long lagNanos() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return 0;
+        }
+        long lag = System.nanoTime() - enqueuedAt[index];
+        // The slot may have been consumed and reused since the sequence check
+        return head == position ? Math.max(0, lag) : 0;
+    }
+}
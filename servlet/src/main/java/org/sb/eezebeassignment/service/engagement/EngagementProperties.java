@@ -0,0 +1,146 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "engagement")
+public class EngagementProperties {
+
+    /**
+     * write-behind buffers events in memory and flushes them in batches;
+     * async publishes events to a bounded queue drained by a consumer thread;
+     * direct issues one atomic upsert per event.
+     */
+    private String mode = "write-behind";
+
+    /**
+     * How often buffered view/impression deltas are merged into video_engagements.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Number of buffered events after which a flush is triggered ahead of schedule.
+     */
+    private long maxBufferedDelta = 10_000;
+
+    private final Async async = new Async();
+
+    private final Wal wal = new Wal();
+
+    private final Rollup rollup = new Rollup();
+
+    private final UniqueViewers uniqueViewers = new UniqueViewers();
+
+    public enum OverflowPolicy {
+        /**
+         * Discard the event and count it in video.engagement.overflow.
+         */
+        DROP,
+        /**
+         * Wait up to block-timeout for space, then drop.
+         */
+        BLOCK,
+        /**
+         * Append the event to spill-file; it is replayed once the queue has drained.
+         */
+        SPILL
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+
+        /**
+         * Events the queue holds; rounded up to a power of two.
+         */
+        private int capacity = 65_536;
+
+        /**
+         * Maximum number of queued events aggregated into one database write.
+         */
+        private int batchSize = 8_192;
+
+        /**
+         * What a request does when the queue is full.
+         */
+        private OverflowPolicy overflow = OverflowPolicy.DROP;
+
+        /**
+         * How long the block policy waits for space before dropping the event.
+         */
+        private Duration blockTimeout = Duration.ofMillis(100);
+
+        /**
+         * Append-only file used by the spill policy.
+         */
+        private Path spillFile = Path.of("data", "engagement-spill.log");
+
+        /**
+         * Pause before a failed database write is retried.
+         */
+        private Duration retryBackoff = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Wal {
+
+        /**
+         * Log every write-behind event durably before the request returns, and replay unflushed events on startup.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding the log segments and the checkpoint.
+         */
+        private Path directory = Path.of("data", "engagement-wal");
+
+        /**
+         * Size after which a new segment is started; segments are deleted once checkpointed.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Events collected while the previous group is being fsynced; appenders wait when it is full.
+         */
+        private DataSize bufferSize = DataSize.ofKilobytes(256);
+    }
+
+    @Getter
+    @Setter
+    public static class Rollup {
+
+        /**
+         * How often aged buckets are rolled up (read by the scheduler as engagement.rollup.interval).
+         */
+        private Duration interval = Duration.ofMinutes(5);
+
+        /**
+         * Age after which minute buckets are rolled into hour buckets.
+         */
+        private Duration minuteBucketsFor = Duration.ofHours(2);
+
+        /**
+         * Age after which hour buckets are rolled into day buckets.
+         */
+        private Duration hourBucketsFor = Duration.ofDays(7);
+    }
+
+    @Getter
+    @Setter
+    public static class UniqueViewers {
+
+        /**
+         * HyperLogLog precision p (4..16): 2^p bytes per video and a standard error of 1.04 / sqrt(2^p).
+         * Changing it makes existing sketches unmergeable, so they are restarted.
+         */
+        private int precision = 12;
+    }
+}
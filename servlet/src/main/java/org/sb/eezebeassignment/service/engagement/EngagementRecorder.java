@@ -0,0 +1,15 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import org.sb.eezebeassignment.model.EngagementDelta;
+
+public interface EngagementRecorder {
+
+    void recordView(Long videoId);
+
+    void recordImpression(Long videoId);
+
+    /**
+     * Deltas recorded for the video that are not yet visible in video_engagements.
+     */
+    EngagementDelta pending(Long videoId);
+}
@@ -0,0 +1,112 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import org.sb.eezebeassignment.model.EngagementDelta;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local append-only file of engagement deltas that did not fit into the event queue. Each record is a fixed
+ * 24 bytes (video ID, views, impressions). For replay the file is rotated to {@code <file>.replay}, so producers keep
+ * appending while the rotated deltas are written to the database; the rotated file is deleted once they are.
+ * Records are not fsynced: they survive a process crash, not a power loss.
+ */
+final class EngagementSpillLog implements AutoCloseable {
+
+    private static final int RECORD_SIZE = 3 * Long.BYTES;
+
+    private final Path file;
+    private final Path replayFile;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private FileChannel channel;
+    private volatile boolean pending;
+
+    EngagementSpillLog(Path file) {
+        this.file = file;
+        this.replayFile = file.resolveSibling(file.getFileName() + ".replay");
+        // Deltas spilled before a restart are replayed as well
+        this.pending = Files.exists(replayFile) || sizeOf(file) > 0;
+    }
+
+    synchronized void append(EngagementDelta delta) {
+        try {
+            if (channel == null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            record.clear();
+            record.putLong(delta.videoId()).putLong(delta.views()).putLong(delta.impressions()).flip();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            pending = true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to spill engagement delta to " + file, ex);
+        }
+    }
+
+    boolean hasPending() {
+        return pending;
+    }
+
+    /**
+     * Deltas awaiting replay, summed per video. A replay file left by an earlier failed or interrupted replay is
+     * returned again before the live file is rotated.
+     */
+    List<EngagementDelta> takeForReplay() throws IOException {
+        if (!Files.exists(replayFile)) {
+            synchronized (this) {
+                if (sizeOf(file) == 0) {
+                    pending = false;
+                    return List.of();
+                }
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                }
+                Files.move(file, replayFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        Map<Long, EngagementDelta> deltas = new LinkedHashMap<>();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(replayFile));
+        // A torn record at the end of the file is ignored
+        while (buffer.remaining() >= RECORD_SIZE) {
+            EngagementDelta delta = new EngagementDelta(buffer.getLong(), buffer.getLong(), buffer.getLong());
+            deltas.merge(delta.videoId(), delta, EngagementDelta::plus);
+        }
+        return new ArrayList<>(deltas.values());
+    }
+
+    /**
+     * Called once the deltas returned by {@link #takeForReplay()} have been applied.
+     */
+    void replayed() throws IOException {
+        Files.deleteIfExists(replayFile);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Local write-ahead log of write-behind engagement events. {@link #appendView} and {@link #appendImpression}
+ * return once the event is on disk; a writer thread group-commits everything appended while the previous fsync was running, so one fsync covers
+ * many requests. Events live in segments of {@code engagement.wal.segment-size}, addressed by a logical position
+ * that grows across segments. Once buffered deltas are merged into video_engagements the position reached is
+ * recorded with {@link #checkpoint} and older segments are deleted; {@link #recover} returns the events logged
+ * after the last checkpoint. Events flushed but not yet checkpointed before a crash are counted again, so the log
+ * gives at-least-once durability. When a group cannot be written, every append waiting for it throws.
+ * <p>
+ * Each record is 13 bytes: video ID, event type and a CRC32C of both, so a torn write at the end of a segment is
+ * detected and ignored.
+ */
+@Component
+public class EngagementWriteAheadLog implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementWriteAheadLog.class);
+
+    static final int RECORD_SIZE = Long.BYTES + 1 + Integer.BYTES;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final byte VIEW = 1;
+    private static final byte IMPRESSION = 2;
+
+    private final EngagementProperties.Wal properties;
+    private final Timer syncs;
+    private final DistributionSummary groupSizes;
+    private final Counter failures;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasData = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+
+    // Guarded by lock
+    private ByteBuffer appending;
+    private ByteBuffer writing;
+    private Group appendingGroup;
+    private long appended;
+    private boolean running;
+
+    // Only used by the writer thread after start
+    private FileChannel segment;
+
+    private long recoveredFrom;
+    private long recoveredTo;
+    private volatile boolean recovered;
+    private Thread writer;
+
+    @Autowired
+    public EngagementWriteAheadLog(EngagementProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getWal();
+        this.syncs = Timer.builder("video.engagement.wal.sync")
+                .description("Time taken to write and fsync one group of engagement events")
+                .register(meterRegistry);
+        this.groupSizes = DistributionSummary.builder("video.engagement.wal.group.events")
+                .description("Engagement events made durable by one fsync")
+                .register(meterRegistry);
+        this.failures = Counter.builder("video.engagement.wal.failures")
+                .description("Groups of engagement events that could not be written to the log")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void appendView(Long videoId) {
+        append(videoId, VIEW);
+    }
+
+    public void appendImpression(Long videoId) {
+        append(videoId, IMPRESSION);
+    }
+
+    private void append(long videoId, byte type) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (running && appending.remaining() < RECORD_SIZE) {
+                notFull.awaitUninterruptibly();
+            }
+            if (!running) {
+                throw new IllegalStateException("Engagement write-ahead log is not running");
+            }
+            int start = appending.position();
+            appending.putLong(videoId).put(type);
+            appending.putInt(checksum(appending, start));
+            appended += RECORD_SIZE;
+            Group group = appendingGroup;
+            hasData.signal();
+            while (!group.done) {
+                synced.awaitUninterruptibly();
+            }
+            if (group.failure != null) {
+                throw new UncheckedIOException("Engagement event could not be written to the write-ahead log", group.failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Logical position after the last appended event. Every event whose counters were incremented before
+     * its append is located before this position.
+     */
+    public long position() {
+        lock.lock();
+        try {
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deltas logged after the last checkpoint and before this start, summed per video. Checkpoints are ignored
+     * until this has been called, so events still to be recovered cannot be skipped.
+     */
+    public List<EngagementDelta> recover() {
+        if (!isEnabled()) {
+            return List.of();
+        }
+        Map<Long, EngagementDelta> deltas = new LinkedHashMap<>();
+        try {
+            List<Long> bases = segmentBases();
+            for (int i = 0; i < bases.size(); i++) {
+                long base = bases.get(i);
+                long end = i + 1 < bases.size() ? bases.get(i + 1) : Long.MAX_VALUE;
+                if (base >= recoveredTo || end <= recoveredFrom) {
+                    continue;
+                }
+                readSegment(base, Math.max(0, recoveredFrom - base), Math.min(end, recoveredTo) - base, deltas);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to recover engagement write-ahead log", ex);
+        }
+        recovered = true;
+        return new ArrayList<>(deltas.values());
+    }
+
+    /**
+     * Records that every event before the position has been merged into video_engagements and deletes the
+     * segments that only hold such events.
+     */
+    public void checkpoint(long position) {
+        if (!isEnabled() || !recovered) {
+            return;
+        }
+        try {
+            Path directory = properties.getDirectory();
+            Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, position));
+                channel.force(true);
+            }
+            Files.move(temporary, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            List<Long> bases = segmentBases();
+            // The last segment is the one being appended to
+            for (int i = 0; i + 1 < bases.size() && bases.get(i + 1) <= position; i++) {
+                Files.deleteIfExists(segmentPath(bases.get(i)));
+            }
+        } catch (IOException ex) {
+            logger.warn("Failed to checkpoint engagement write-ahead log at position {}", position, ex);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            Files.createDirectories(properties.getDirectory());
+            recoveredFrom = readCheckpoint();
+            recoveredTo = recoveredFrom;
+            for (long base : segmentBases()) {
+                recoveredTo = Math.max(recoveredTo, base + validLength(base));
+            }
+            openSegment(recoveredTo);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open engagement write-ahead log in " + properties.getDirectory(), ex);
+        }
+        int bufferSize = Math.max(RECORD_SIZE, (int) properties.getBufferSize().toBytes() / RECORD_SIZE * RECORD_SIZE);
+        lock.lock();
+        try {
+            appending = ByteBuffer.allocateDirect(bufferSize);
+            writing = ByteBuffer.allocateDirect(bufferSize);
+            appendingGroup = new Group();
+            appended = recoveredTo;
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        writer = new Thread(this::writeGroups, "engagement-wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Engagement write-ahead log opened at position {}, {} bytes to recover",
+                recoveredTo, recoveredTo - recoveredFrom);
+    }
+
+    @Override
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            running = false;
+            hasData.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+            segment.close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            logger.warn("Failed to close engagement write-ahead log segment", ex);
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    /**
+     * Started before and stopped after both the web server and the write-behind engine, so every request
+     * can append and the engine checkpoints on its final flush.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void writeGroups() {
+        while (true) {
+            Group group;
+            long groupEnd;
+            lock.lock();
+            try {
+                while (running && appending.position() == 0) {
+                    hasData.awaitUninterruptibly();
+                }
+                if (appending.position() == 0) {
+                    return;
+                }
+                ByteBuffer buffer = appending;
+                appending = writing;
+                writing = buffer;
+                group = appendingGroup;
+                appendingGroup = new Group();
+                groupEnd = appended;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            long start = System.nanoTime();
+            int events = writing.position() / RECORD_SIZE;
+            IOException failure = null;
+            writing.flip();
+            try {
+                long groupStart = groupEnd - writing.remaining();
+                if (segment.size() > 0 && segment.size() + writing.remaining() > properties.getSegmentSize().toBytes()) {
+                    openSegment(groupStart);
+                }
+                while (writing.hasRemaining()) {
+                    segment.write(writing);
+                }
+                segment.force(false);
+                syncs.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                groupSizes.record(events);
+            } catch (IOException ex) {
+                failure = ex;
+                failures.increment();
+                logger.error("Failed to write {} engagement events to the write-ahead log", events, ex);
+                try {
+                    // A partial write must not shift the positions of later groups
+                    openSegment(groupEnd);
+                } catch (IOException reopenFailure) {
+                    logger.error("Failed to start a new engagement write-ahead log segment", reopenFailure);
+                }
+            } finally {
+                writing.clear();
+            }
+
+            lock.lock();
+            try {
+                group.failure = failure;
+                group.done = true;
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void openSegment(long base) throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+        segment = openChannel(segmentPath(base));
+        // Make the new segment's directory entry durable along with its first group
+        try (FileChannel directory = FileChannel.open(properties.getDirectory(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException ex) {
+            logger.debug("Directory fsync not supported for {}", properties.getDirectory());
+        }
+    }
+
+    /**
+     * Opens a new, empty segment file for writing; tests override it to simulate a failing disk.
+     */
+    FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private long validLength(long base) throws IOException {
+        long length = 0;
+        try (DataInputStream input = open(base)) {
+            while (readRecord(input) != null) {
+                length += RECORD_SIZE;
+            }
+        }
+        return length;
+    }
+
+    private void readSegment(long base, long from, long to, Map<Long, EngagementDelta> deltas) throws IOException {
+        try (DataInputStream input = open(base)) {
+            input.skipNBytes(from);
+            for (long offset = from; offset < to; offset += RECORD_SIZE) {
+                EngagementDelta delta = readRecord(input);
+                if (delta == null) {
+                    break;
+                }
+                deltas.merge(delta.videoId(), delta, EngagementDelta::plus);
+            }
+        } catch (EOFException ex) {
+            // Checkpoint beyond the durable end of the segment
+        }
+    }
+
+    /**
+     * The next record, or null at the end of the segment or at a torn or corrupt record.
+     */
+    private static EngagementDelta readRecord(DataInputStream input) throws IOException {
+        byte[] record = new byte[RECORD_SIZE];
+        if (input.readNBytes(record, 0, RECORD_SIZE) < RECORD_SIZE) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        if (buffer.getInt(RECORD_SIZE - Integer.BYTES) != checksum(buffer, 0)) {
+            return null;
+        }
+        long videoId = buffer.getLong(0);
+        return switch (buffer.get(Long.BYTES)) {
+            case VIEW -> new EngagementDelta(videoId, 1, 0);
+            case IMPRESSION -> new EngagementDelta(videoId, 0, 1);
+            default -> null;
+        };
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(offset).limit(offset + Long.BYTES + 1));
+        return (int) crc.getValue();
+    }
+
+    private DataInputStream open(long base) throws IOException {
+        InputStream input = Files.newInputStream(segmentPath(base));
+        return new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path checkpoint = properties.getDirectory().resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(checkpoint)).getLong();
+    }
+
+    private List<Long> segmentBases() throws IOException {
+        try (Stream<Path> files = Files.list(properties.getDirectory())) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long base) {
+        return properties.getDirectory().resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Outcome of one group commit, shared by the appends it contains. Guarded by lock.
+     */
+    private static final class Group {
+
+        private boolean done;
+        private IOException failure;
+    }
+}
@@ -0,0 +1,168 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.sb.eezebeassignment.model.VideoEngagement;
+import org.sb.eezebeassignment.repository.VideoEngagementRepository;
+import org.sb.eezebeassignment.service.sketch.HyperLogLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts distinct viewers per video with HyperLogLog sketches. Viewer IDs seen since the last flush are added to
+ * an in-memory sketch per video, which every flush interval is merged into the sketch persisted with the video's
+ * engagement under a row lock. Merging is idempotent, so a failed flush is simply retried with the next one.
+ */
+@Component
+public class UniqueViewerTracker implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniqueViewerTracker.class);
+
+    private final VideoEngagementRepository engagementRepository;
+    private final EngagementProperties properties;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate transaction;
+
+    private final Map<Long, HyperLogLog> pending = new ConcurrentHashMap<>();
+    private final Map<Long, HyperLogLog> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private volatile ScheduledFuture<?> scheduledFlush;
+
+    @Autowired
+    public UniqueViewerTracker(VideoEngagementRepository engagementRepository, EngagementProperties properties,
+                               TaskScheduler taskScheduler, PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.engagementRepository = engagementRepository;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        this.transaction = new TransactionTemplate(transactionManager);
+        Gauge.builder("video.engagement.viewers.pending", pending, Map::size)
+                .description("Videos with viewer sketches not yet merged into the database")
+                .register(meterRegistry);
+    }
+
+    public void recordViewer(Long videoId, String viewerId) {
+        if (viewerId == null || viewerId.isBlank()) {
+            return;
+        }
+        // The sketch is only mutated while its map entry is locked
+        pending.compute(videoId, (id, sketch) -> {
+            HyperLogLog viewers = sketch != null ? sketch : newSketch();
+            viewers.add(viewerId);
+            return viewers;
+        });
+    }
+
+    /**
+     * Distinct viewers of the video, including those not yet merged into its persisted sketch.
+     */
+    public long estimate(VideoEngagement persisted) {
+        HyperLogLog unmerged = null;
+        for (Map<Long, HyperLogLog> sketches : List.of(pending, inFlight)) {
+            HyperLogLog[] merged = {unmerged};
+            sketches.computeIfPresent(persisted.getVideoId(), (id, sketch) -> {
+                merged[0] = merged[0] == null ? sketch.copy() : merged[0].merge(sketch);
+                return sketch;
+            });
+            unmerged = merged[0];
+        }
+        if (unmerged == null) {
+            return persisted.getUniqueViewers();
+        }
+        HyperLogLog stored = restore(persisted);
+        return (stored != null ? stored.merge(unmerged) : unmerged).estimate();
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Long> videoIds = new ArrayList<>(pending.keySet());
+            for (Long videoId : videoIds) {
+                HyperLogLog sketch = pending.remove(videoId);
+                if (sketch != null) {
+                    inFlight.put(videoId, sketch);
+                }
+            }
+            if (inFlight.isEmpty()) {
+                return;
+            }
+            try {
+                transaction.executeWithoutResult(status -> mergeInFlight());
+                logger.debug("Merged viewer sketches of {} videos", inFlight.size());
+            } catch (RuntimeException ex) {
+                logger.error("Failed to merge viewer sketches of {} videos, retrying with the next flush", inFlight.size(), ex);
+                inFlight.forEach((videoId, sketch) -> pending.merge(videoId, sketch, HyperLogLog::merge));
+            } finally {
+                inFlight.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void mergeInFlight() {
+        // Creates the rows of videos whose counters have not been flushed yet, so they can be locked
+        engagementRepository.upsertIncrements(inFlight.keySet().stream().map(EngagementDelta::empty).toList());
+        for (VideoEngagement engagement : engagementRepository.findByVideoIdInOrderByVideoIdAsc(inFlight.keySet())) {
+            HyperLogLog sketch = inFlight.get(engagement.getVideoId()).copy();
+            HyperLogLog stored = restore(engagement);
+            if (stored != null) {
+                sketch.merge(stored);
+            }
+            engagement.setViewerSketch(sketch.toBytes());
+            engagement.setUniqueViewers(sketch.estimate());
+        }
+    }
+
+    private HyperLogLog restore(VideoEngagement engagement) {
+        if (engagement.getViewerSketch() == null) {
+            return null;
+        }
+        HyperLogLog stored = HyperLogLog.fromBytes(engagement.getViewerSketch());
+        if (stored.precision() != properties.getUniqueViewers().getPrecision()) {
+            logger.warn("Restarting viewer sketch of video {} at precision {}", engagement.getVideoId(),
+                    properties.getUniqueViewers().getPrecision());
+            return null;
+        }
+        return stored;
+    }
+
+    private HyperLogLog newSketch() {
+        return new HyperLogLog(properties.getUniqueViewers().getPrecision());
+    }
+
+    @Override
+    public void start() {
+        scheduledFlush = taskScheduler.scheduleWithFixedDelay(this::flush, properties.getFlushInterval());
+    }
+
+    @Override
+    public void stop() {
+        ScheduledFuture<?> flushTask = scheduledFlush;
+        scheduledFlush = null;
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduledFlush != null;
+    }
+}
@@ -0,0 +1,34 @@
+package org.sb.eezebeassignment.service.search;
+
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.model.Video;
+
+import java.time.Instant;
+import java.util.List;
+
+record IndexedVideo(Long id, String title, String synopsis, String director, List<String> cast,
+                    String genre, int releaseYear, int runningTime, long version, Instant updatedAt) {
+
+    static IndexedVideo from(Video video) {
+        return new IndexedVideo(video.getId(), video.getTitle(), video.getSynopsis(), video.getDirector(),
+                video.getCast() == null ? List.of() : List.copyOf(video.getCast()),
+                video.getGenre(), video.getReleaseYear(), video.getRunningTime(), video.getVersion(), video.getUpdatedAt());
+    }
+
+    VideoResponse toResponse() {
+        return new VideoResponse(id, title, director, genre, releaseYear, runningTime, version, updatedAt);
+    }
+
+    long estimatedBytes() {
+        long bytes = 128;
+        bytes += chars(title) + chars(synopsis) + chars(director) + chars(genre);
+        for (String member : cast) {
+            bytes += chars(member);
+        }
+        return bytes;
+    }
+
+    private static long chars(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+}
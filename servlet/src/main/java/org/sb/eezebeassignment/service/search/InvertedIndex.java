@@ -0,0 +1,229 @@
+package org.sb.eezebeassignment.service.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index over the video catalog. Not thread-safe; {@link VideoSearchIndex} guards access.
+ * <p>
+ * Three kinds of terms are indexed:
+ * <ul>
+ *     <li>{@code t:} character trigrams of the title, used to answer case-sensitive substring queries
+ *     the same way the database LIKE does (candidates are verified against the full title);</li>
+ *     <li>{@code d:} and {@code g:} the exact director and genre values;</li>
+ *     <li>{@code w:} lower-cased words from title, director, cast, genre and synopsis, weighted by field
+ *     and used for ranked free-text search.</li>
+ * </ul>
+ * Updates append a new document ordinal and tombstone the old one; the index compacts itself once
+ * tombstones outnumber live documents.
+ */
+final class InvertedIndex {
+
+    private static final int TITLE_WEIGHT = 4;
+    private static final int DIRECTOR_WEIGHT = 3;
+    private static final int CAST_WEIGHT = 2;
+    private static final int GENRE_WEIGHT = 2;
+    private static final int SYNOPSIS_WEIGHT = 1;
+    private static final int MIN_TOMBSTONES_BEFORE_COMPACTION = 1024;
+
+    private Map<String, PostingList> postings = new HashMap<>();
+    private List<IndexedVideo> documents = new ArrayList<>();
+    private Map<Long, Integer> ordinals = new HashMap<>();
+    private BitSet live = new BitSet();
+
+    void add(IndexedVideo video) {
+        remove(video.id());
+        int ordinal = documents.size();
+        documents.add(video);
+        ordinals.put(video.id(), ordinal);
+        live.set(ordinal);
+        terms(video).forEach((term, weight) -> postings.computeIfAbsent(term, key -> new PostingList()).append(ordinal, weight));
+    }
+
+    void remove(Long videoId) {
+        Integer ordinal = ordinals.remove(videoId);
+        if (ordinal == null) {
+            return;
+        }
+        live.clear(ordinal);
+        documents.set(ordinal, null);
+        int tombstones = documents.size() - ordinals.size();
+        if (tombstones >= MIN_TOMBSTONES_BEFORE_COMPACTION && tombstones > ordinals.size()) {
+            compact();
+        }
+    }
+
+    int size() {
+        return ordinals.size();
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    long postingCount() {
+        return postings.values().stream().mapToLong(PostingList::size).sum();
+    }
+
+    long estimatedBytes() {
+        long bytes = 0;
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            bytes += 72 + entry.getKey().length() + entry.getValue().estimatedBytes();
+        }
+        for (IndexedVideo document : documents) {
+            bytes += document == null ? 8 : document.estimatedBytes() + 56;
+        }
+        return bytes + live.size() / 8;
+    }
+
+    /**
+     * Returns matching videos; ranked by relevance when {@code text} is given, otherwise by ID.
+     */
+    List<IndexedVideo> search(String director, String genre, String title, String text) {
+        List<PostingList> filters = new ArrayList<>();
+        List<PostingList> scored = new ArrayList<>();
+        if (director != null && !addRequired(filters, "d:" + director)) {
+            return List.of();
+        }
+        if (genre != null && !addRequired(filters, "g:" + genre)) {
+            return List.of();
+        }
+        if (title != null) {
+            for (String trigram : trigrams(title)) {
+                if (!addRequired(filters, "t:" + trigram)) {
+                    return List.of();
+                }
+            }
+        }
+        if (text != null) {
+            for (String word : words(text)) {
+                if (!addRequired(scored, "w:" + word)) {
+                    return List.of();
+                }
+            }
+        }
+
+        List<ScoredDocument> matches = new ArrayList<>();
+        if (filters.isEmpty() && scored.isEmpty()) {
+            live.stream().forEach(ordinal -> collect(matches, ordinal, 0, title));
+        } else {
+            intersect(filters, scored, matches, title);
+        }
+
+        Comparator<ScoredDocument> order = Comparator.comparing(match -> match.video().id());
+        if (!scored.isEmpty()) {
+            order = Comparator.comparingDouble(ScoredDocument::score).reversed().thenComparing(order);
+        }
+        return matches.stream().sorted(order).map(ScoredDocument::video).toList();
+    }
+
+    private boolean addRequired(List<PostingList> target, String term) {
+        PostingList list = postings.get(term);
+        if (list == null) {
+            return false;
+        }
+        target.add(list);
+        return true;
+    }
+
+    private void intersect(List<PostingList> filters, List<PostingList> scored, List<ScoredDocument> matches, String title) {
+        List<PostingList> all = new ArrayList<>(filters);
+        all.addAll(scored);
+        all.sort(Comparator.comparingInt(PostingList::size));
+        PostingList smallest = all.get(0);
+        double documentCount = Math.max(1, ordinals.size());
+
+        candidates:
+        for (int i = 0; i < smallest.size(); i++) {
+            int ordinal = smallest.doc(i);
+            if (!live.get(ordinal)) {
+                continue;
+            }
+            for (int j = 1; j < all.size(); j++) {
+                if (all.get(j).positionOf(ordinal) < 0) {
+                    continue candidates;
+                }
+            }
+            double score = 0;
+            for (PostingList list : scored) {
+                double idf = Math.log(1 + documentCount / list.size());
+                score += idf * list.weightAt(list.positionOf(ordinal));
+            }
+            collect(matches, ordinal, score, title);
+        }
+    }
+
+    private void collect(List<ScoredDocument> matches, int ordinal, double score, String title) {
+        IndexedVideo video = documents.get(ordinal);
+        // Trigrams only narrow the candidates; the substring itself is checked like the database would.
+        if (title == null || video.title().contains(title)) {
+            matches.add(new ScoredDocument(video, score));
+        }
+    }
+
+    private void compact() {
+        List<IndexedVideo> remaining = documents.stream().filter(document -> document != null).toList();
+        postings = new HashMap<>();
+        documents = new ArrayList<>(remaining.size());
+        ordinals = new HashMap<>();
+        live = new BitSet();
+        remaining.forEach(this::add);
+    }
+
+    private static Map<String, Integer> terms(IndexedVideo video) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String trigram : trigrams(video.title())) {
+            terms.put("t:" + trigram, 1);
+        }
+        terms.put("d:" + video.director(), 1);
+        terms.put("g:" + video.genre(), 1);
+        addWords(terms, video.title(), TITLE_WEIGHT);
+        addWords(terms, video.director(), DIRECTOR_WEIGHT);
+        addWords(terms, video.genre(), GENRE_WEIGHT);
+        addWords(terms, video.synopsis(), SYNOPSIS_WEIGHT);
+        for (String member : video.cast()) {
+            addWords(terms, member, CAST_WEIGHT);
+        }
+        return terms;
+    }
+
+    private static void addWords(Map<String, Integer> terms, String value, int weight) {
+        for (String word : words(value)) {
+            terms.merge("w:" + word, weight, Integer::sum);
+        }
+    }
+
+    static Set<String> words(String value) {
+        Set<String> words = new LinkedHashSet<>();
+        if (value == null) {
+            return words;
+        }
+        for (String word : value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    static Set<String> trigrams(String value) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (value == null) {
+            return trigrams;
+        }
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            trigrams.add(value.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private record ScoredDocument(IndexedVideo video, double score) {
+    }
+}
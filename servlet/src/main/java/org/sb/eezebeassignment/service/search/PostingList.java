@@ -0,0 +1,48 @@
+package org.sb.eezebeassignment.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Ascending document ordinals with a per-document term weight, stored in primitive arrays.
+ * Ordinals are only ever appended, so the arrays stay sorted without re-ordering.
+ */
+final class PostingList {
+
+    private int[] docs = new int[4];
+    private short[] weights = new short[4];
+    private int size;
+
+    void append(int doc, int weight) {
+        if (size == docs.length) {
+            int capacity = size + (size >> 1) + 1;
+            docs = Arrays.copyOf(docs, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        docs[size] = doc;
+        weights[size] = (short) Math.min(weight, Short.MAX_VALUE);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int position) {
+        return docs[position];
+    }
+
+    /**
+     * @return the position of the document, or a negative value when it is not in the list
+     */
+    int positionOf(int doc) {
+        return Arrays.binarySearch(docs, 0, size, doc);
+    }
+
+    int weightAt(int position) {
+        return weights[position];
+    }
+
+    long estimatedBytes() {
+        return 48 + docs.length * (long) Integer.BYTES + weights.length * (long) Short.BYTES;
+    }
+}
@@ -0,0 +1,16 @@
+package org.sb.eezebeassignment.service.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "search.index")
+public class SearchIndexProperties {
+
+    /**
+     * Serve /videos/search from an in-memory inverted index instead of the database.
+     */
+    private boolean enabled = false;
+}
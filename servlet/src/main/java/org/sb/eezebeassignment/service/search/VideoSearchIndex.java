@@ -0,0 +1,226 @@
+package org.sb.eezebeassignment.service.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.sb.eezebeassignment.config.datasource.ReplicaRouting;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.repository.VideoRepository;
+import org.sb.eezebeassignment.service.VideoChangedEvent;
+import org.sb.eezebeassignment.service.VideosImportedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keeps an {@link InvertedIndex} of all available videos in memory so searches never reach the database.
+ * Built once the application is ready and kept current through {@link VideoChangedEvent}s and
+ * {@link VideosImportedEvent}s.
+ */
+@Component
+public class VideoSearchIndex implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoSearchIndex.class);
+
+    static final int REBUILD_PAGE_SIZE = 500;
+
+    private final VideoRepository videoRepository;
+    private final SearchIndexProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock reindexLock = new ReentrantLock();
+
+    private InvertedIndex index = new InvertedIndex();
+    private List<Long> changedDuringRebuild;
+    private volatile boolean ready;
+    private volatile Duration lastRebuildTime = Duration.ZERO;
+
+    @Autowired
+    public VideoSearchIndex(VideoRepository videoRepository, SearchIndexProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        this.videoRepository = videoRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex rebuilt = new InvertedIndex();
+        // One transaction per page keeps the persistence context small; casts are batch-fetched per page
+        long afterId = 0;
+        List<Video> page;
+        do {
+            long pageAfterId = afterId;
+            page = ReplicaRouting.onPrimary(() -> readOnlyTransaction.execute(status -> {
+                List<Video> videos = videoRepository.findByDeletedFalseAndIdGreaterThanOrderByIdAsc(pageAfterId,
+                        Limit.of(REBUILD_PAGE_SIZE));
+                videos.stream().map(IndexedVideo::from).forEach(rebuilt::add);
+                return videos;
+            }));
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        List<Long> changed;
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        reindex(changed);
+
+        lastRebuildTime = Duration.ofNanos(System.nanoTime() - started);
+        IndexStats stats = stats();
+        logger.info("Search index rebuilt in {} ms: {} videos, {} terms, {} postings, ~{} KB",
+                lastRebuildTime.toMillis(), stats.documents(), stats.terms(), stats.postings(), stats.estimatedBytes() / 1024);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVideoChanged(VideoChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event.videoId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        reindex(List.of(event.videoId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVideosImported(VideosImportedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.addAll(event.videoIds());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        reindex(event.videoIds());
+    }
+
+    public List<VideoResponse> search(String director, String genre, String title, String text) {
+        lock.readLock().lock();
+        try {
+            return index.search(director, genre, title, text).stream().map(IndexedVideo::toResponse).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Sizes only: the full IndexStats walk is too expensive to run on every scrape
+        Gauge.builder("video.search.index.documents", this, searchIndex -> searchIndex.readSize(InvertedIndex::size))
+                .description("Videos held by the search index")
+                .register(registry);
+        Gauge.builder("video.search.index.terms", this, searchIndex -> searchIndex.readSize(InvertedIndex::termCount))
+                .description("Distinct terms held by the search index")
+                .register(registry);
+        Gauge.builder("video.search.index.rebuild", this, searchIndex -> searchIndex.lastRebuildTime.toMillis())
+                .description("Duration of the last full rebuild")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private int readSize(ToIntFunction<InvertedIndex> size) {
+        lock.readLock().lock();
+        try {
+            return size.applyAsInt(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public IndexStats stats() {
+        lock.readLock().lock();
+        try {
+            return new IndexStats(index.size(), index.termCount(), index.postingCount(), index.estimatedBytes(), lastRebuildTime);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reindex(Collection<Long> videoIds) {
+        if (videoIds.isEmpty()) {
+            return;
+        }
+        // Serialised so two concurrent changes of one video cannot apply their reads out of order
+        reindexLock.lock();
+        try {
+            // From the primary: a lagging replica could index a change's previous state for good
+            List<IndexedVideo> videos = ReplicaRouting.onPrimary(() -> readOnlyTransaction.execute(status ->
+                    videoRepository.findAllByIdInAndDeletedFalse(videoIds).stream().map(IndexedVideo::from).toList()));
+            Set<Long> found = new HashSet<>();
+            lock.writeLock().lock();
+            try {
+                for (IndexedVideo video : videos) {
+                    index.add(video);
+                    found.add(video.id());
+                }
+                for (Long videoId : videoIds) {
+                    if (!found.contains(videoId)) {
+                        index.remove(videoId);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            reindexLock.unlock();
+        }
+    }
+
+    public record IndexStats(int documents, int terms, long postings, long estimatedBytes, Duration lastRebuildTime) {
+    }
+}
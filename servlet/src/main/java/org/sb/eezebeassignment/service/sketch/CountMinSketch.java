@@ -0,0 +1,101 @@
+package org.sb.eezebeassignment.service.sketch;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch over long keys. {@link #estimate} never underestimates; with width w and depth d it
+ * overestimates a key's count by more than (e / w) * N, N being the total count added, with probability at most
+ * e^-d. Counters are updated atomically, so any number of threads may add concurrently.
+ */
+public final class CountMinSketch {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private final int width;
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     * @param depth number of rows, each with its own hash function
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || width > 1 << 26 || depth < 1 || depth > 16) {
+            throw new IllegalArgumentException("Count-Min Sketch width must be 1..2^26 and depth 1..16");
+        }
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.depth = depth;
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(this.width * depth);
+    }
+
+    /**
+     * A sketch overestimating by at most epsilon * N with probability at least 1 - delta.
+     */
+    public static CountMinSketch withErrorBounds(double epsilon, double delta) {
+        return new CountMinSketch((int) Math.ceil(Math.E / epsilon), (int) Math.ceil(Math.log(1 / delta)));
+    }
+
+    public void add(long key, long count) {
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(index(key, row), count);
+        }
+    }
+
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(key, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter, so counts decay over time while keeping their ratios.
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            long value;
+            do {
+                value = counters.get(i);
+            } while (value != 0 && !counters.compareAndSet(i, value, value >>> 1));
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Relative error bound: estimates exceed true counts by at most this fraction of the total count added.
+     */
+    public double epsilon() {
+        return Math.E / width;
+    }
+
+    /**
+     * Probability that an estimate exceeds the {@link #epsilon()} bound.
+     */
+    public double delta() {
+        return Math.exp(-depth);
+    }
+
+    public long memoryBytes() {
+        return (long) counters.length() * Long.BYTES;
+    }
+
+    private int index(long key, int row) {
+        return row * width + (int) (Hashing.mix(key + SEED * (row + 1)) & mask);
+    }
+}
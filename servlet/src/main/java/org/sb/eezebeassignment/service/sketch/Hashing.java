@@ -0,0 +1,30 @@
+package org.sb.eezebeassignment.service.sketch;
+
+/**
+ * 64-bit hashing shared by the sketches.
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * Stafford's variant 13 of the 64-bit finalizer of MurmurHash3; spreads every input bit over the output.
+     */
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * FNV-1a over the characters, finalized with {@link #mix}.
+     */
+    static long hash(CharSequence value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+}
@@ -0,0 +1,160 @@
+package org.sb.eezebeassignment.service.sketch;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct counter with 2^precision one-byte registers. The estimate has a relative standard error of
+ * 1.04 / sqrt(2^precision), 1.6% at the default precision of 12 (4 KB). Sketches of the same precision merge
+ * losslessly, so counts of disjoint or overlapping streams can be combined. Not thread-safe.
+ */
+public final class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 12;
+
+    private static final int SPARSE = 0x80;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("HyperLogLog precision must be 4..16: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public void add(String value) {
+        addHash(Hashing.hash(value));
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // The sentinel bit caps the rank when every remaining bit is zero
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Adds every value added to the other sketch to this one.
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog sketches of precision " + precision +
+                    " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // Linear counting is more accurate while many registers are still empty
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Bias correction of the raw estimate; the closed form is only accurate from 128 registers up.
+     */
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    public HyperLogLog copy() {
+        HyperLogLog copy = new HyperLogLog(precision);
+        System.arraycopy(registers, 0, copy.registers, 0, registers.length);
+        return copy;
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Serializes the sketch: the precision byte followed by either every register, or, while fewer than a third
+     * of the registers are set, (index, register) triples of the set ones only.
+     */
+    public byte[] toBytes() {
+        int set = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                set++;
+            }
+        }
+        if (set * 3 >= registers.length) {
+            byte[] bytes = new byte[1 + registers.length];
+            bytes[0] = (byte) precision;
+            System.arraycopy(registers, 0, bytes, 1, registers.length);
+            return bytes;
+        }
+        byte[] bytes = new byte[1 + set * 3];
+        bytes[0] = (byte) (precision | SPARSE);
+        int offset = 1;
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] != 0) {
+                bytes[offset++] = (byte) (i >>> 8);
+                bytes[offset++] = (byte) i;
+                bytes[offset++] = registers[i];
+            }
+        }
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty HyperLogLog sketch");
+        }
+        HyperLogLog sketch = new HyperLogLog(bytes[0] & ~SPARSE & 0xFF);
+        if ((bytes[0] & SPARSE) == 0) {
+            if (bytes.length != 1 + sketch.registers.length) {
+                throw new IllegalArgumentException("Truncated HyperLogLog sketch of " + bytes.length + " bytes");
+            }
+            System.arraycopy(bytes, 1, sketch.registers, 0, sketch.registers.length);
+            return sketch;
+        }
+        if ((bytes.length - 1) % 3 != 0) {
+            throw new IllegalArgumentException("Truncated sparse HyperLogLog sketch of " + bytes.length + " bytes");
+        }
+        for (int offset = 1; offset < bytes.length; offset += 3) {
+            int index = (bytes[offset] & 0xFF) << 8 | bytes[offset + 1] & 0xFF;
+            if (index >= sketch.registers.length) {
+                throw new IllegalArgumentException("HyperLogLog register " + index + " out of range");
+            }
+            sketch.registers[index] = bytes[offset + 2];
+        }
+        return sketch;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof HyperLogLog sketch && Arrays.equals(registers, sketch.registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(registers);
+    }
+}
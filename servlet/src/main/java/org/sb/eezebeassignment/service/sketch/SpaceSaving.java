@@ -0,0 +1,112 @@
+package org.sb.eezebeassignment.service.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy hitters over long keys with a fixed number of counters. Once all counters are taken, a new
+ * key replaces the key with the smallest count and inherits that count as its error. Every key occurring more
+ * than N / capacity times (N being the total count offered) is guaranteed to be tracked, and a tracked count
+ * overestimates the true count by at most its error. Not thread-safe.
+ */
+public final class SpaceSaving {
+
+    public record Counter(long key, long count, long error) {
+    }
+
+    private static final Comparator<Entry> BY_COUNT = Comparator.<Entry>comparingLong(entry -> entry.count)
+            .thenComparingLong(entry -> entry.key);
+
+    private final int capacity;
+    private final Map<Long, Entry> entries;
+    private final TreeSet<Entry> byCount = new TreeSet<>(BY_COUNT);
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Space-Saving capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new HashMap<>(capacity * 2);
+    }
+
+    public void offer(long key, long increment) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            byCount.remove(entry);
+            entry.count += increment;
+        } else if (entries.size() < capacity) {
+            entry = new Entry(key, increment, 0);
+            entries.put(key, entry);
+        } else {
+            Entry evicted = byCount.pollFirst();
+            entries.remove(evicted.key);
+            entry = new Entry(key, evicted.count + increment, evicted.count);
+            entries.put(key, entry);
+        }
+        byCount.add(entry);
+    }
+
+    /**
+     * Upper bound of the key's count: its counter when tracked, otherwise the smallest tracked count once all
+     * counters are taken (0 before).
+     */
+    public long upperBound(long key) {
+        Entry entry = entries.get(key);
+        return entry != null ? entry.count : untrackedBound();
+    }
+
+    /**
+     * Upper bound of the count of any key that is not tracked.
+     */
+    public long untrackedBound() {
+        return isFull() ? byCount.first().count : 0;
+    }
+
+    /**
+     * Lower bound of the key's count; 0 when the key is not tracked.
+     */
+    public long lowerBound(long key) {
+        Entry entry = entries.get(key);
+        return entry == null ? 0 : entry.count - entry.error;
+    }
+
+    /**
+     * Tracked counters, highest count first.
+     */
+    public List<Counter> counters() {
+        List<Counter> counters = new ArrayList<>(entries.size());
+        for (Entry entry : byCount.descendingSet()) {
+            counters.add(new Counter(entry.key, entry.count, entry.error));
+        }
+        return counters;
+    }
+
+    public boolean isFull() {
+        return entries.size() >= capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void clear() {
+        entries.clear();
+        byCount.clear();
+    }
+
+    private static final class Entry {
+        private final long key;
+        private long count;
+        private final long error;
+
+        private Entry(long key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.sb.eezebeassignment.service.trending;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the trending sketches. Views are tracked in 60 one-minute panes and 24 one-hour panes, each holding
+ * a Count-Min Sketch of sketchWidth x sketchDepth longs and topK Space-Saving counters, so memory is capped at
+ * about 84 * (sketchWidth * sketchDepth * 8 + topK * 100) bytes plus up to 4 KB of view buffers per pane, 6.6 MB
+ * with the defaults.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "trending")
+public class TrendingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Heavy hitters tracked per pane and the most videos a trending query returns. A video with more than
+     * 1 / topK of a pane's views is always tracked.
+     */
+    private int topK = 100;
+
+    /**
+     * Counters per sketch row; estimates exceed true counts by at most e / sketchWidth of the window's views.
+     */
+    private int sketchWidth = 2048;
+
+    /**
+     * Sketch rows; an estimate exceeds that bound with probability at most e^-sketchDepth.
+     */
+    private int sketchDepth = 4;
+
+    /**
+     * How long a computed top list is served before it is rebuilt from the panes.
+     */
+    private Duration refresh = Duration.ofSeconds(5);
+}
@@ -0,0 +1,357 @@
+package org.sb.eezebeassignment.service.trending;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.sb.eezebeassignment.dto.TrendingVideoResponse;
+import org.sb.eezebeassignment.service.sketch.CountMinSketch;
+import org.sb.eezebeassignment.service.sketch.SpaceSaving;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streaming heavy hitters over the views of the last 15 minutes, hour and day, kept entirely in memory. Views
+ * land in the current one-minute and one-hour pane, each with a Count-Min Sketch and Space-Saving counters; a
+ * window is the union of its most recent panes, so it slides by whole panes and includes the partial current one.
+ * <p>
+ * Recording a view only adds to the pane's sketch, whose counters are atomic, and appends the video ID to one of
+ * the pane's striped buffers. The Space-Saving counters are updated from those buffers by whichever thread finds
+ * a buffer half full and the pane lock free, and before a pane is queried. IDs that find their buffer full are
+ * not offered to Space-Saving but counted, and that count is added to the pane's upper bounds.
+ * <p>
+ * Top lists are rebuilt from the panes at most once per refresh interval or pane and answered from that
+ * snapshot, so a query costs O(limit). Reported views never undercount; a video with more than 1 / topK of a
+ * pane's views is always a candidate, and estimates exceed true counts by at most e / sketchWidth of the window's
+ * views with probability 1 - e^-sketchDepth. Counts are per instance and start empty after a restart.
+ */
+@Component
+public class TrendingVideoTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingVideoTracker.class);
+
+    private static final Comparator<TrendingVideoResponse> BY_VIEWS = Comparator
+            .comparingLong(TrendingVideoResponse::getViews).reversed()
+            .thenComparing(TrendingVideoResponse::getVideoId);
+
+    private static final int BUFFER_SIZE = 16;
+    private static final int MAX_STRIPES = 32;
+
+    private final TrendingProperties properties;
+    private final PaneRing minutes;
+    private final PaneRing hours;
+    private final Map<TrendingWindow, Snapshot> snapshots = new EnumMap<>(TrendingWindow.class);
+
+    @Autowired
+    public TrendingVideoTracker(TrendingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        int panes = properties.isEnabled() ? 1 : 0;
+        this.minutes = new PaneRing(Duration.ofMinutes(1), 60 * panes, properties);
+        this.hours = new PaneRing(Duration.ofHours(1), 24 * panes, properties);
+        Gauge.builder("video.trending.memory", this, TrendingVideoTracker::memoryBytes)
+                .description("Memory reserved by the trending sketches")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        if (properties.isEnabled()) {
+            logger.info("Tracking trending videos in {} KB of sketches", memoryBytes() / 1024);
+        }
+    }
+
+    public void recordView(Long videoId) {
+        recordView(videoId, System.currentTimeMillis());
+    }
+
+    void recordView(long videoId, long nowMillis) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        minutes.record(videoId, nowMillis);
+        hours.record(videoId, nowMillis);
+    }
+
+    /**
+     * The most viewed videos in the window, highest estimate first.
+     */
+    public List<TrendingVideoResponse> getTrending(TrendingWindow window, int limit) {
+        return getTrending(window, limit, System.currentTimeMillis());
+    }
+
+    List<TrendingVideoResponse> getTrending(TrendingWindow window, int limit, long nowMillis) {
+        if (!properties.isEnabled()) {
+            return List.of();
+        }
+        PaneRing ring = window.getLength().compareTo(minutes.span()) <= 0 ? minutes : hours;
+        long epoch = ring.epoch(nowMillis);
+        Snapshot snapshot;
+        synchronized (snapshots) {
+            snapshot = snapshots.get(window);
+        }
+        if (snapshot == null || snapshot.epoch != epoch
+                || nowMillis - snapshot.builtAtMillis >= properties.getRefresh().toMillis()) {
+            // Concurrent rebuilds are harmless, the last one wins
+            snapshot = new Snapshot(epoch, nowMillis, ring.top(epoch, ring.panesIn(window.getLength())));
+            synchronized (snapshots) {
+                snapshots.put(window, snapshot);
+            }
+        }
+        return snapshot.top.subList(0, Math.min(limit, snapshot.top.size()));
+    }
+
+    long memoryBytes() {
+        return minutes.memoryBytes() + hours.memoryBytes();
+    }
+
+    private record Snapshot(long epoch, long builtAtMillis, List<TrendingVideoResponse> top) {
+    }
+
+    /**
+     * Fixed number of panes reused round-robin; a pane is cleared when the first view of a new period reaches it.
+     */
+    private static final class PaneRing {
+
+        private final long paneMillis;
+        private final Pane[] panes;
+        private final int topK;
+
+        private PaneRing(Duration paneLength, int count, TrendingProperties properties) {
+            this.paneMillis = paneLength.toMillis();
+            this.panes = new Pane[count];
+            this.topK = properties.getTopK();
+            int stripes = Math.min(MAX_STRIPES, Integer.highestOneBit(4 * Runtime.getRuntime().availableProcessors() - 1) << 1);
+            for (int i = 0; i < count; i++) {
+                panes[i] = new Pane(new CountMinSketch(properties.getSketchWidth(), properties.getSketchDepth()),
+                        new SpaceSaving(properties.getTopK()), stripes);
+            }
+        }
+
+        private long epoch(long nowMillis) {
+            return nowMillis / paneMillis;
+        }
+
+        private Duration span() {
+            return Duration.ofMillis(paneMillis * panes.length);
+        }
+
+        private int panesIn(Duration window) {
+            return (int) Math.min(panes.length, Math.max(1, window.toMillis() / paneMillis));
+        }
+
+        private void record(long videoId, long nowMillis) {
+            long epoch = epoch(nowMillis);
+            Pane pane = panes[(int) (epoch % panes.length)];
+            if (pane.epoch != epoch && !pane.rotateTo(epoch)) {
+                // A view that raced a rotation to the next period; its period is no longer tracked here
+                return;
+            }
+            // Without the lock, a view reaches a pane rotated after the check above only if its thread stalled for
+            // a whole ring cycle, so such views are not guarded against
+            pane.sketch.add(videoId, 1);
+            pane.buffer(videoId);
+        }
+
+        /**
+         * Candidates are the videos tracked by any pane of the window. Per pane, a video's views are bounded above
+         * by both its sketch estimate and its Space-Saving bound, and below by its Space-Saving guarantee.
+         */
+        private List<TrendingVideoResponse> top(long epoch, int count) {
+            List<PaneView> views = new ArrayList<>(count);
+            Set<Long> candidates = new HashSet<>();
+            for (int i = 0; i < count && i <= epoch; i++) {
+                PaneView view = panes[(int) ((epoch - i) % panes.length)].view(epoch - i);
+                if (view != null) {
+                    views.add(view);
+                    candidates.addAll(view.counters.keySet());
+                }
+            }
+            List<TrendingVideoResponse> top = new ArrayList<>(candidates.size());
+            for (Long videoId : candidates) {
+                long upper = 0;
+                long lower = 0;
+                for (PaneView view : views) {
+                    SpaceSaving.Counter counter = view.counters.get(videoId);
+                    long bound = (counter != null ? counter.count() : view.untrackedBound) + view.unaccounted;
+                    upper += Math.min(bound, view.sketch.estimate(videoId));
+                    lower += counter != null ? counter.count() - counter.error() : 0;
+                }
+                top.add(new TrendingVideoResponse(videoId, Math.max(upper, lower), lower));
+            }
+            top.sort(BY_VIEWS);
+            return List.copyOf(top.subList(0, Math.min(topK, top.size())));
+        }
+
+        private long memoryBytes() {
+            long bytes = 0;
+            for (Pane pane : panes) {
+                // Roughly a map entry, a tree node and a boxed key per Space-Saving counter
+                bytes += pane.sketch.memoryBytes() + 100L * pane.heavyHitters.capacity()
+                        + (long) pane.buffers.length * BUFFER_SIZE * Long.BYTES;
+            }
+            return bytes;
+        }
+    }
+
+    private static final class Pane {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final CountMinSketch sketch;
+        // Guarded by lock
+        private final SpaceSaving heavyHitters;
+        private final ViewBuffer[] buffers;
+        private final LongAdder dropped = new LongAdder();
+        private volatile long epoch = -1;
+
+        private Pane(CountMinSketch sketch, SpaceSaving heavyHitters, int stripes) {
+            this.sketch = sketch;
+            this.heavyHitters = heavyHitters;
+            this.buffers = new ViewBuffer[stripes];
+            for (int i = 0; i < stripes; i++) {
+                buffers[i] = new ViewBuffer();
+            }
+        }
+
+        /**
+         * Clears the pane for a later period. Returns false when it already holds a period after the given one.
+         */
+        private boolean rotateTo(long newEpoch) {
+            lock.lock();
+            try {
+                if (epoch < newEpoch) {
+                    for (ViewBuffer buffer : buffers) {
+                        buffer.drainTo(null);
+                    }
+                    sketch.clear();
+                    heavyHitters.clear();
+                    dropped.reset();
+                    epoch = newEpoch;
+                }
+                return epoch == newEpoch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void buffer(long videoId) {
+            int hash = Thread.currentThread().hashCode();
+            int pending = buffers[(hash ^ (hash >>> 16)) & (buffers.length - 1)].offer(videoId);
+            if (pending < 0) {
+                dropped.increment();
+            }
+            if ((pending < 0 || pending >= BUFFER_SIZE / 2) && lock.tryLock()) {
+                try {
+                    drain();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void drain() {
+            for (ViewBuffer buffer : buffers) {
+                buffer.drainTo(heavyHitters);
+            }
+        }
+
+        /**
+         * The pane's counters if it holds the given period, otherwise null.
+         */
+        private PaneView view(long expectedEpoch) {
+            lock.lock();
+            try {
+                if (epoch != expectedEpoch) {
+                    return null;
+                }
+                drain();
+                // Views dropped, or buffered but not yet published to Space-Saving, may be missing from its counts
+                long unaccounted = dropped.sum();
+                for (ViewBuffer buffer : buffers) {
+                    unaccounted += buffer.pending();
+                }
+                Map<Long, SpaceSaving.Counter> counters = new HashMap<>();
+                for (SpaceSaving.Counter counter : heavyHitters.counters()) {
+                    counters.put(counter.key(), counter);
+                }
+                return new PaneView(counters, heavyHitters.untrackedBound(), unaccounted, sketch);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Bounded multi-producer ring of video IDs; producers claim a slot with a CAS, and the single consumer holding
+     * the pane lock drains it.
+     */
+    private static final class ViewBuffer {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private final AtomicLongArray slots = new AtomicLongArray(BUFFER_SIZE);
+        private final AtomicLong writes = new AtomicLong();
+        // Only advanced by the consumer
+        private volatile long reads;
+
+        private ViewBuffer() {
+            for (int i = 0; i < BUFFER_SIZE; i++) {
+                slots.set(i, EMPTY);
+            }
+        }
+
+        /**
+         * Number of IDs waiting after this one, or -1 when the buffer is full.
+         */
+        private int offer(long videoId) {
+            long tail;
+            do {
+                tail = writes.get();
+                if (tail - reads >= BUFFER_SIZE) {
+                    return -1;
+                }
+            } while (!writes.compareAndSet(tail, tail + 1));
+            slots.set((int) (tail & (BUFFER_SIZE - 1)), videoId);
+            return (int) (tail + 1 - reads);
+        }
+
+        /**
+         * Offers the published IDs to the target, or discards them when it is null. Stops at a slot claimed but
+         * not yet written, which the next drain picks up.
+         */
+        private void drainTo(SpaceSaving target) {
+            long head = reads;
+            long tail = writes.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & (BUFFER_SIZE - 1));
+                long videoId = slots.get(index);
+                if (videoId == EMPTY) {
+                    break;
+                }
+                slots.set(index, EMPTY);
+                if (target != null) {
+                    target.offer(videoId, 1);
+                }
+            }
+            reads = head;
+        }
+
+        private long pending() {
+            return writes.get() - reads;
+        }
+    }
+
+    private record PaneView(Map<Long, SpaceSaving.Counter> counters, long untrackedBound, long unaccounted,
+                            CountMinSketch sketch) {
+    }
+}
@@ -0,0 +1,32 @@
+package org.sb.eezebeassignment.service.trending;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum TrendingWindow {
+
+    LAST_15_MINUTES("15m", Duration.ofMinutes(15)),
+    LAST_HOUR("1h", Duration.ofHours(1)),
+    LAST_DAY("24h", Duration.ofDays(1));
+
+    private final String label;
+    private final Duration length;
+
+    TrendingWindow(String label, Duration length) {
+        this.label = label;
+        this.length = length;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public static Optional<TrendingWindow> fromLabel(String label) {
+        return Arrays.stream(values()).filter(window -> window.label.equals(label)).findFirst();
+    }
+}
@@ -0,0 +1,27 @@
+package org.sb.eezebeassignment.service.upload;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "content.upload")
+public class UploadProperties {
+
+    /**
+     * Directory where parts of unfinished uploads are staged, one sub-directory per upload.
+     */
+    private Path root = Path.of("data", "uploads");
+
+    private DataSize maxPartSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Unfinished uploads that received no part for this long are deleted.
+     */
+    private Duration expireAfter = Duration.ofHours(24);
+}
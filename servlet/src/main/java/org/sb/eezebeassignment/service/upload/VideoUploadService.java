@@ -0,0 +1,355 @@
+package org.sb.eezebeassignment.service.upload;
+
+import org.sb.eezebeassignment.dto.UploadPart;
+import org.sb.eezebeassignment.dto.UploadStatusResponse;
+import org.sb.eezebeassignment.exception.InvalidUploadException;
+import org.sb.eezebeassignment.repository.VideoRepository;
+import org.sb.eezebeassignment.service.content.VideoContent;
+import org.sb.eezebeassignment.service.content.VideoContentStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Chunked, resumable uploads of video content. Every upload is a staging directory holding its parts as
+ * individual files named {@code <partNumber>.<sha256>.part}, so parts can be uploaded in parallel and in any
+ * order, re-sent after a failure, and survive restarts. Completing an upload concatenates the parts into the
+ * {@link VideoContentStore} with file-to-file transfers. While an upload is being completed or aborted its parts
+ * can't change, and it can't be completed or aborted while parts are still being received.
+ */
+@Service
+public class VideoUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoUploadService.class);
+
+    // Holds the video ID; its modification time marks the last activity on the upload
+    private static final String VIDEO_ID_FILE = "video";
+    private static final Pattern PART_FILE = Pattern.compile("(\\d{5})\\.([0-9a-f]{64})\\.part");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final VideoRepository videoRepository;
+    private final VideoContentStore contentStore;
+    private final UploadProperties properties;
+    private final ConcurrentHashMap<String, UploadActivity> activities = new ConcurrentHashMap<>();
+
+    @Autowired
+    public VideoUploadService(VideoRepository videoRepository, VideoContentStore contentStore, UploadProperties properties) {
+        this.videoRepository = videoRepository;
+        this.contentStore = contentStore;
+        this.properties = properties;
+    }
+
+    public Optional<UploadStatusResponse> initUpload(Long videoId) throws IOException {
+        if (!contentStore.isWritable()) {
+            throw new InvalidUploadException("The configured content store does not accept uploads");
+        }
+        if (!videoRepository.existsByIdAndDeletedFalse(videoId)) {
+            return Optional.empty();
+        }
+        String uploadId = UUID.randomUUID().toString();
+        Path directory = Files.createDirectories(properties.getRoot().resolve(uploadId));
+        Files.writeString(directory.resolve(VIDEO_ID_FILE), videoId.toString());
+        logger.info("Started upload {} for video with ID {}", uploadId, videoId);
+        return Optional.of(new UploadStatusResponse(uploadId, videoId, List.of()));
+    }
+
+    public Optional<UploadStatusResponse> getUpload(Long videoId, String uploadId) throws IOException {
+        Optional<Path> directory = directoryOf(videoId, uploadId);
+        if (directory.isEmpty()) {
+            return Optional.empty();
+        }
+        List<UploadPart> parts = new ArrayList<>(storedParts(directory.get()).values());
+        return Optional.of(new UploadStatusResponse(uploadId, videoId, parts));
+    }
+
+    /**
+     * Streams one part to disk while hashing it; a part with the same number replaces the previous one.
+     *
+     * @param expectedSha256 hex SHA-256 sent by the client, verified when present
+     */
+    public Optional<UploadPart> uploadPart(Long videoId, String uploadId, int partNumber, InputStream body,
+                                           String expectedSha256) throws IOException {
+        Optional<Path> directory = directoryOf(videoId, uploadId);
+        if (directory.isEmpty()) {
+            return Optional.empty();
+        }
+        String id = directory.get().getFileName().toString();
+        UploadActivity activity = beginPart(id);
+        try {
+            Files.setLastModifiedTime(directory.get().resolve(VIDEO_ID_FILE), FileTime.from(Instant.now()));
+            return Optional.of(storePart(directory.get(), partNumber, body, expectedSha256, activity));
+        } finally {
+            endPart(id);
+        }
+    }
+
+    private UploadPart storePart(Path directory, int partNumber, InputStream body, String expectedSha256,
+                                 UploadActivity activity) throws IOException {
+        long maxPartSize = properties.getMaxPartSize().toBytes();
+        MessageDigest digest = sha256();
+        long size = 0;
+        Path temp = Files.createTempFile(directory, partPrefix(partNumber), ".tmp");
+        try {
+            try (ReadableByteChannel in = Channels.newChannel(body);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (in.read(buffer) >= 0) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > maxPartSize) {
+                        throw new InvalidUploadException("Part " + partNumber + " exceeds the maximum part size of " + maxPartSize + " bytes");
+                    }
+                    digest.update(buffer);
+                    buffer.rewind();
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                out.force(false);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            if (expectedSha256 != null && !expectedSha256.equalsIgnoreCase(sha256)) {
+                throw new InvalidUploadException("Checksum mismatch for part " + partNumber + ": received " + sha256);
+            }
+
+            Path part = directory.resolve(partPrefix(partNumber) + sha256 + ".part");
+            // Concurrent re-uploads of a part would otherwise delete each other's file
+            activity.partReplacement.lock();
+            try {
+                Files.move(temp, part, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                deleteOtherVersions(directory, partNumber, part);
+            } finally {
+                activity.partReplacement.unlock();
+            }
+            return new UploadPart(partNumber, size, sha256);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Assembles the listed parts, in order, into the content of the video and removes the upload.
+     */
+    public Optional<VideoContent> completeUpload(Long videoId, String uploadId, List<UploadPart> requested) throws IOException {
+        Optional<Path> directory = directoryOf(videoId, uploadId);
+        if (directory.isEmpty()) {
+            return Optional.empty();
+        }
+        String id = directory.get().getFileName().toString();
+        beginExclusive(id);
+        try {
+            Map<Integer, UploadPart> stored = storedParts(directory.get());
+            List<Path> files = new ArrayList<>(requested.size());
+            int previous = 0;
+            for (UploadPart part : requested) {
+                if (part.getPartNumber() <= previous) {
+                    throw new InvalidUploadException("Parts must be listed in ascending part number order");
+                }
+                previous = part.getPartNumber();
+                UploadPart storedPart = stored.get(part.getPartNumber());
+                if (storedPart == null) {
+                    throw new InvalidUploadException("Part " + part.getPartNumber() + " has not been uploaded");
+                }
+                if (!storedPart.getSha256().equalsIgnoreCase(part.getSha256())) {
+                    throw new InvalidUploadException("Checksum mismatch for part " + part.getPartNumber() + ": stored " + storedPart.getSha256());
+                }
+                files.add(directory.get().resolve(partPrefix(part.getPartNumber()) + storedPart.getSha256() + ".part"));
+            }
+
+            VideoContent content = contentStore.store(videoId, target -> {
+                for (Path file : files) {
+                    try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+                        long size = source.size();
+                        long transferred = 0;
+                        while (transferred < size) {
+                            transferred += source.transferTo(transferred, size - transferred, target);
+                        }
+                    }
+                }
+            });
+            FileSystemUtils.deleteRecursively(directory.get());
+            logger.info("Completed upload {} for video with ID {}: {} parts, {} bytes", uploadId, videoId, files.size(), content.length());
+            return Optional.of(content);
+        } finally {
+            activities.remove(id);
+        }
+    }
+
+    public boolean abortUpload(Long videoId, String uploadId) throws IOException {
+        Optional<Path> directory = directoryOf(videoId, uploadId);
+        if (directory.isEmpty()) {
+            return false;
+        }
+        String id = directory.get().getFileName().toString();
+        beginExclusive(id);
+        try {
+            FileSystemUtils.deleteRecursively(directory.get());
+        } finally {
+            activities.remove(id);
+        }
+        logger.info("Aborted upload {} for video with ID {}", uploadId, videoId);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${content.upload.cleanup-interval:PT1H}")
+    public void deleteExpiredUploads() throws IOException {
+        Path root = properties.getRoot();
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        Instant expiry = Instant.now().minus(properties.getExpireAfter());
+        try (DirectoryStream<Path> uploads = Files.newDirectoryStream(root)) {
+            for (Path upload : uploads) {
+                Path videoIdFile = upload.resolve(VIDEO_ID_FILE);
+                if (!Files.exists(videoIdFile) || !Files.getLastModifiedTime(videoIdFile).toInstant().isBefore(expiry)) {
+                    continue;
+                }
+                String id = upload.getFileName().toString();
+                // Uploads still receiving parts, being completed or aborted are left alone
+                if (activities.putIfAbsent(id, UploadActivity.exclusive()) != null) {
+                    continue;
+                }
+                try {
+                    FileSystemUtils.deleteRecursively(upload);
+                } finally {
+                    activities.remove(id);
+                }
+                logger.info("Deleted expired upload {}", id);
+            }
+        }
+    }
+
+    private UploadActivity beginPart(String uploadId) {
+        return activities.compute(uploadId, (id, activity) -> {
+            if (activity == null) {
+                activity = new UploadActivity(false);
+            } else if (activity.exclusive) {
+                throw new InvalidUploadException("Upload " + id + " is being completed or aborted");
+            }
+            activity.partsInProgress++;
+            return activity;
+        });
+    }
+
+    private void endPart(String uploadId) {
+        activities.computeIfPresent(uploadId, (id, activity) -> --activity.partsInProgress == 0 ? null : activity);
+    }
+
+    private void beginExclusive(String uploadId) {
+        if (activities.putIfAbsent(uploadId, UploadActivity.exclusive()) != null) {
+            throw new InvalidUploadException("Upload " + uploadId + " is being completed, aborted or still receiving parts");
+        }
+    }
+
+    private Optional<Path> directoryOf(Long videoId, String uploadId) throws IOException {
+        try {
+            // Normalising through UUID keeps the path inside the upload root
+            uploadId = UUID.fromString(uploadId).toString();
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        Path directory = properties.getRoot().resolve(uploadId);
+        try {
+            return videoId.toString().equals(Files.readString(directory.resolve(VIDEO_ID_FILE)).trim())
+                    ? Optional.of(directory) : Optional.empty();
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static Map<Integer, UploadPart> storedParts(Path directory) throws IOException {
+        Map<Integer, UploadPart> parts = new TreeMap<>();
+        Map<Integer, Instant> modified = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.part")) {
+            for (Path file : files) {
+                Matcher matcher = PART_FILE.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                int partNumber = Integer.parseInt(matcher.group(1));
+                Instant lastModified = Files.getLastModifiedTime(file).toInstant();
+                // Two versions of a part only coexist while a re-upload replaces the old one; the newer wins
+                if (modified.containsKey(partNumber) && modified.get(partNumber).isAfter(lastModified)) {
+                    continue;
+                }
+                modified.put(partNumber, lastModified);
+                parts.put(partNumber, new UploadPart(partNumber, Files.size(file), matcher.group(2)));
+            }
+        }
+        return parts;
+    }
+
+    private static void deleteOtherVersions(Path directory, int partNumber, Path keep) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, partPrefix(partNumber) + "*.part")) {
+            for (Path file : files) {
+                if (!file.equals(keep)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static String partPrefix(int partNumber) {
+        return String.format(Locale.ROOT, "%05d.", partNumber);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * What is currently happening to an upload: parts being received, or one exclusive completion or abort.
+     * Only changed inside {@link ConcurrentHashMap#compute} and friends.
+     */
+    private static final class UploadActivity {
+
+        private final boolean exclusive;
+        private final ReentrantLock partReplacement = new ReentrantLock();
+        private int partsInProgress;
+
+        private UploadActivity(boolean exclusive) {
+            this.exclusive = exclusive;
+        }
+
+        private static UploadActivity exclusive() {
+            return new UploadActivity(true);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+-- Baseline schema as previously generated by Hibernate. Existing databases are baselined at this version.
+CREATE TABLE IF NOT EXISTS videos (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        VARCHAR(255)  NOT NULL,
+    synopsis     VARCHAR(1000) NOT NULL,
+    director     VARCHAR(255)  NOT NULL,
+    release_year INTEGER       NOT NULL,
+    genre        VARCHAR(255)  NOT NULL,
+    running_time INTEGER       NOT NULL,
+    deleted      BOOLEAN       NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS video_cast (
+    video_id    BIGINT NOT NULL REFERENCES videos (id),
+    cast_member VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS video_engagements (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    video_id    BIGINT  NOT NULL,
+    views       INTEGER NOT NULL,
+    impressions INTEGER NOT NULL
+);
@@ -0,0 +1,20 @@
+-- Fold duplicate engagement rows (created by the old read-modify-write path) into the oldest row.
+UPDATE video_engagements keep
+SET views       = dup.views,
+    impressions = dup.impressions
+FROM (SELECT MIN(id) AS keep_id, SUM(views) AS views, SUM(impressions) AS impressions
+      FROM video_engagements
+      GROUP BY video_id
+      HAVING COUNT(*) > 1) dup
+WHERE keep.id = dup.keep_id;
+
+DELETE FROM video_engagements e
+USING (SELECT video_id, MIN(id) AS keep_id
+       FROM video_engagements
+       GROUP BY video_id
+       HAVING COUNT(*) > 1) dup
+WHERE e.video_id = dup.video_id
+  AND e.id <> dup.keep_id;
+
+ALTER TABLE video_engagements
+    ADD CONSTRAINT uk_video_engagements_video_id UNIQUE (video_id);
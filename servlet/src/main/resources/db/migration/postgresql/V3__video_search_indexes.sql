@@ -0,0 +1,7 @@
+-- Exact-match search criteria are always combined with the soft-delete flag.
+CREATE INDEX IF NOT EXISTS idx_videos_deleted_director ON videos (deleted, director);
+CREATE INDEX IF NOT EXISTS idx_videos_deleted_genre ON videos (deleted, genre);
+
+-- Trigram index so title LIKE '%...%' searches no longer scan the whole table.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_videos_title_trgm ON videos USING gin (title gin_trgm_ops);
@@ -0,0 +1,6 @@
+-- Video IDs move from IDENTITY to a pooled sequence (allocation size 50) so Hibernate can JDBC-batch inserts.
+CREATE SEQUENCE IF NOT EXISTS videos_seq INCREMENT BY 50;
+
+SELECT setval('videos_seq', (SELECT COALESCE(MAX(id), 0) FROM videos) + 50);
+
+ALTER TABLE videos ALTER COLUMN id DROP IDENTITY IF EXISTS;
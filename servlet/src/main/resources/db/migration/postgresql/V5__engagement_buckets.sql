@@ -0,0 +1,18 @@
+-- Lifetime counters no longer fit an INTEGER for the most watched titles.
+ALTER TABLE video_engagements
+    ALTER COLUMN views TYPE BIGINT,
+    ALTER COLUMN impressions TYPE BIGINT;
+
+-- Per-minute engagement, rolled up into hour and day buckets as it ages.
+CREATE TABLE IF NOT EXISTS engagement_buckets (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    video_id     BIGINT      NOT NULL,
+    granularity  VARCHAR(8)  NOT NULL,
+    bucket_start TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    views        BIGINT      NOT NULL,
+    impressions  BIGINT      NOT NULL,
+    CONSTRAINT uk_engagement_buckets_video_granularity_start UNIQUE (video_id, granularity, bucket_start)
+);
+
+-- Rollups and top-N queries select by granularity and time range across all videos.
+CREATE INDEX IF NOT EXISTS idx_engagement_buckets_granularity_start ON engagement_buckets (granularity, bucket_start);
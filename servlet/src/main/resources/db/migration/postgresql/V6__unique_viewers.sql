@@ -0,0 +1,4 @@
+-- Approximate distinct viewers: a serialized HyperLogLog per video and its estimate at the last merge.
+ALTER TABLE video_engagements
+    ADD COLUMN IF NOT EXISTS unique_viewers BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS viewer_sketch BYTEA;
@@ -0,0 +1,12 @@
+-- Validators for HTTP caching: a version per video and one for the catalog as a whole.
+ALTER TABLE videos
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now();
+
+CREATE TABLE IF NOT EXISTS catalog_version (
+    id         INTEGER PRIMARY KEY,
+    version    BIGINT                      NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO catalog_version (id, version, updated_at) VALUES (1, 0, now()) ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,114 @@
+package org.sb.eezebeassignment.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstConnection = mock(Connection.class);
+    private final Connection secondConnection = mock(Connection.class);
+    private DataSource primary;
+    private DataSource first;
+    private DataSource second;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = dataSource(primaryConnection);
+        first = dataSource(firstConnection);
+        second = dataSource(secondConnection);
+        routing = new ReplicaRoutingDataSource(primary, List.of(first, second), new ReplicaProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testWritesAndNonTransactionalWorkUseThePrimary() throws SQLException {
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void testReadOnlyTransactionsAlternateBetweenReplicas() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(firstConnection, routing.getConnection());
+        assertSame(secondConnection, routing.getConnection());
+        assertSame(firstConnection, routing.getConnection());
+        assertSame(primaryConnection, ReplicaRouting.onPrimary(this::connection));
+    }
+
+    @Test
+    void testReadsOfAScopeStayOnOneReplicaUntilPinnedToThePrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        try (ReplicaRouting.Scope scope = ReplicaRouting.open(false)) {
+            Connection connection = routing.getConnection();
+            assertSame(connection, routing.getConnection());
+            assertSame(connection, routing.getConnection());
+
+            scope.pinToPrimary();
+            assertSame(primaryConnection, routing.getConnection());
+        }
+        try (ReplicaRouting.Scope ignored = ReplicaRouting.open(true)) {
+            assertSame(primaryConnection, routing.getConnection());
+        }
+    }
+
+    @Test
+    void testFailingReplicaIsSkippedUntilItsHealthProbeSucceeds() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(first.getConnection()).thenThrow(new SQLException("down"));
+
+        assertSame(secondConnection, routing.getConnection());
+        assertSame(secondConnection, routing.getConnection());
+        assertEquals(1, routing.healthyReplicas());
+
+        doReturn(firstConnection).when(first).getConnection();
+        when(firstConnection.isValid(anyInt())).thenReturn(true);
+        when(secondConnection.isValid(anyInt())).thenReturn(true);
+        routing.checkReplicas();
+
+        assertEquals(2, routing.healthyReplicas());
+    }
+
+    @Test
+    void testReadsFallBackToThePrimaryWithoutHealthyReplicas() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(first.getConnection()).thenThrow(new SQLException("down"));
+        when(second.getConnection()).thenThrow(new SQLException("down"));
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(0, routing.healthyReplicas());
+    }
+
+    private Connection connection() {
+        try {
+            return routing.getConnection();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static DataSource dataSource(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
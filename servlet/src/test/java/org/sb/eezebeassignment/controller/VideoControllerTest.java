@@ -0,0 +1,294 @@
+package org.sb.eezebeassignment.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.sb.eezebeassignment.dto.VideoRequest;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.model.CatalogVersion;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.model.VideoEngagement;
+import org.sb.eezebeassignment.service.CatalogVersionService;
+import org.sb.eezebeassignment.service.VideoService;
+import org.sb.eezebeassignment.service.bulk.VideoBulkImportService;
+import org.sb.eezebeassignment.service.content.VideoContent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class VideoControllerTest {
+
+    @InjectMocks
+    private VideoController videoController;
+
+    @Mock
+    private VideoService videoService;
+
+    @Mock
+    private VideoBulkImportService bulkImportService;
+
+    @Mock
+    private CatalogVersionService catalogVersionService;
+
+    @Spy
+    private VideoStreamWriter streamWriter = new VideoStreamWriter();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(catalogVersionService.current()).thenReturn(new CatalogVersion(CatalogVersion.ID, 7, Instant.EPOCH));
+    }
+
+    @Test
+    void testPublishVideo() {
+        VideoRequest request = new VideoRequest();
+        request.setTitle("Inception");
+        request.setSynopsis("A mind-bending thriller.");
+        request.setDirector("Christopher Nolan");
+        request.setReleaseYear(2010);
+        request.setGenre("Sci-Fi");
+        request.setRunningTime(148);
+
+        Video video = new Video();
+        video.setId(1L);
+        when(videoService.publishVideo(any(Video.class))).thenReturn(video);
+
+        ResponseEntity<?> response = videoController.publishVideo(request);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void testGetVideoById() {
+        when(videoService.getVideoMetadata(1L)).thenReturn(Optional.of(metadata(1L)));
+
+        ResponseEntity<?> response = videoController.getVideoById(1L);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"video-1-0\"", response.getHeaders().getETag());
+        assertEquals(Instant.EPOCH.toEpochMilli(), response.getHeaders().getLastModified());
+        verify(videoService).recordImpression(1L);
+    }
+
+    @Test
+    void testGetVideoByIdNotFound() {
+        when(videoService.getVideoMetadata(1L)).thenReturn(Optional.empty());
+
+        ResponseEntity<?> response = videoController.getVideoById(1L);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verify(videoService, never()).recordImpression(1L);
+    }
+
+    @Test
+    void testPlayVideo() throws Exception {
+        VideoContent content = content("content");
+        when(videoService.getVideoContent(1L, false)).thenReturn(Optional.of(content));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        videoController.playVideo(1L, null, null, new MockHttpServletRequest(), response);
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals("content", response.getContentAsString());
+        verify(videoService).recordView(1L, null);
+    }
+
+    @Test
+    void testPlayVideoPassesViewerId() throws Exception {
+        VideoContent content = content("content");
+        when(videoService.getVideoContent(1L, false)).thenReturn(Optional.of(content));
+
+        videoController.playVideo(1L, null, "viewer-1", new MockHttpServletRequest(), new MockHttpServletResponse());
+        videoController.playVideo(1L, "viewer-2", "viewer-1", new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        verify(videoService).recordView(1L, "viewer-1");
+        verify(videoService).recordView(1L, "viewer-2");
+    }
+
+    @Test
+    void testPlayVideoRangeFromMiddleDoesNotRecordView() throws Exception {
+        VideoContent content = content("content");
+        when(videoService.getVideoContent(1L, false)).thenReturn(Optional.of(content));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=3-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        videoController.playVideo(1L, null, null, request, response);
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("tent", response.getContentAsString());
+        verify(videoService, never()).recordView(eq(1L), any());
+    }
+
+    @Test
+    void testPlayVideoNotFound() throws Exception {
+        when(videoService.getVideoContent(1L, false)).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        videoController.playVideo(1L, null, null, new MockHttpServletRequest(), response);
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+        verify(videoService, never()).recordView(eq(1L), any());
+    }
+
+    @Test
+    void testGetVideoEngagement() {
+        VideoEngagement engagement = new VideoEngagement();
+        engagement.setViews(100);
+        engagement.setImpressions(200);
+
+        when(videoService.getVideoMetadata(1L)).thenReturn(Optional.of(metadata(1L)));
+        when(videoService.getVideoEngagement(1L)).thenReturn(engagement);
+
+        ResponseEntity<?> response = videoController.getVideoEngagement(1L);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void testGetVideoEngagementNotFound() {
+        when(videoService.getVideoMetadata(1L)).thenReturn(Optional.empty());
+
+        ResponseEntity<?> response = videoController.getVideoEngagement(1L);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testSoftDeleteVideo() {
+        when(videoService.softDeleteVideo(1L)).thenReturn(true);
+
+        ResponseEntity<?> response = videoController.softDeleteVideo(1L);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void testSoftDeleteVideoNotFound() {
+        when(videoService.softDeleteVideo(1L)).thenReturn(false);
+
+        ResponseEntity<?> response = videoController.softDeleteVideo(1L);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testUpdateVideoNotFound() {
+        VideoRequest request = new VideoRequest();
+        request.setTitle("Updated Title");
+        when(videoService.updateVideo(999L, request, null)).thenReturn(Optional.empty());
+
+        ResponseEntity<?> response = videoController.updateVideo(999L, request, null);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testUpdateVideoPassesIfMatchVersion() {
+        VideoRequest request = new VideoRequest();
+        Video video = new Video();
+        video.setId(1L);
+        video.setVersion(4);
+        when(videoService.updateVideo(1L, request, 3L)).thenReturn(Optional.of(video));
+
+        ResponseEntity<?> response = videoController.updateVideo(1L, request, "\"video-1-3\"");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"video-1-4\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testExpectedVersionFromIfMatch() {
+        assertNull(VideoController.expectedVersion(1L, null));
+        assertNull(VideoController.expectedVersion(1L, "*"));
+        assertEquals(7L, VideoController.expectedVersion(1L, "\"other\", \"video-1-7\""));
+        assertEquals(VideoController.UNMATCHABLE_VERSION, VideoController.expectedVersion(1L, "\"video-2-7\""));
+        assertEquals(VideoController.UNMATCHABLE_VERSION, VideoController.expectedVersion(1L, "W/\"video-1-7\""));
+        assertEquals(VideoController.UNMATCHABLE_VERSION, VideoController.expectedVersion(1L, "\"video-1-\""));
+    }
+
+    @Test
+    void testSoftDeleteVideoAlreadyDeleted() {
+        when(videoService.softDeleteVideo(1L)).thenReturn(false);
+
+        ResponseEntity<?> response = videoController.softDeleteVideo(1L);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testPlayVideoNullVideo() throws Exception {
+        when(videoService.getVideoById(1L)).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        videoController.playVideo(1L, null, null, new MockHttpServletRequest(), response);
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+    }
+
+    @Test
+    void testListAvailableVideosFullPageHasNextCursor() {
+        when(videoService.listAvailableVideos(null, 2)).thenReturn(List.of(metadata(1L), metadata(2L)));
+
+        ResponseEntity<?> response = videoController.listAvailableVideos(null, 2, webRequest(null));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(VideoController.NEXT_AFTER_ID_HEADER));
+        assertEquals("\"catalog-7\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testListAvailableVideosNotModifiedSkipsQuery() {
+        ServletWebRequest webRequest = webRequest("\"catalog-7\"");
+
+        assertNull(videoController.listAvailableVideos(null, 2, webRequest));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), webRequest.getResponse().getStatus());
+        verify(videoService, never()).listAvailableVideos(any(), anyInt());
+    }
+
+    @Test
+    void testListAvailableVideosLastPageHasNoCursor() {
+        when(videoService.listAvailableVideos(2L, 2)).thenReturn(List.of(metadata(3L)));
+
+        ResponseEntity<?> response = videoController.listAvailableVideos(2L, 2, webRequest(null));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(VideoController.NEXT_AFTER_ID_HEADER));
+    }
+
+    private static VideoContent content(String text) {
+        VideoContent content = mock(VideoContent.class);
+        byte[] bytes = text.getBytes();
+        when(content.length()).thenReturn((long) bytes.length);
+        when(content.etag()).thenReturn("\"test\"");
+        when(content.lastModified()).thenReturn(Instant.parse("2024-01-01T00:00:00Z"));
+        try {
+            doAnswer(invocation -> {
+                long position = invocation.getArgument(0);
+                long count = invocation.getArgument(1);
+                WritableByteChannel target = invocation.getArgument(2);
+                target.write(ByteBuffer.wrap(bytes, (int) position, (int) count));
+                return null;
+            }).when(content).transferTo(anyLong(), anyLong(), any(WritableByteChannel.class));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return content;
+    }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/videos");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static VideoResponse metadata(Long id) {
+        return new VideoResponse(id, "Inception", "Christopher Nolan", "Sci-Fi", 2010, 148, 0, Instant.EPOCH);
+    }
+}
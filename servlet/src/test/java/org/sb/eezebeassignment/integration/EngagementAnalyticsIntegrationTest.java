@@ -0,0 +1,187 @@
+package org.sb.eezebeassignment.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sb.eezebeassignment.model.EngagementBucket;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.sb.eezebeassignment.model.EngagementGranularity;
+import org.sb.eezebeassignment.repository.EngagementBucketRepository;
+import org.sb.eezebeassignment.service.engagement.EngagementAnalyticsService;
+import org.sb.eezebeassignment.service.engagement.EngagementCounterEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EngagementAnalyticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EngagementCounterEngine engagementEngine;
+
+    @Autowired
+    private EngagementBucketRepository bucketRepository;
+
+    @Autowired
+    private EngagementAnalyticsService analyticsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        engagementEngine.flush();
+        bucketRepository.deleteAll();
+    }
+
+    @Test
+    void testFlushedEngagementAppearsInTimeSeriesAndTopVideos() throws Exception {
+        long popular = publish("Popular");
+        long quiet = publish("Quiet");
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/videos/" + popular + "/play")).andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/videos/" + quiet + "/play")).andExpect(status().isOk());
+        mockMvc.perform(get("/videos/" + quiet)).andExpect(status().isOk());
+        mockMvc.perform(get("/videos/" + quiet)).andExpect(status().isOk());
+        engagementEngine.flush();
+
+        // The scheduled flush may have written some of the views a minute earlier
+        assertEquals(3, totalViews(popular, "MINUTE"));
+
+        mockMvc.perform(get("/videos/engagement/top").param("window", "PT1H").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].videoId").value(popular))
+                .andExpect(jsonPath("$[0].title").value("Popular"))
+                .andExpect(jsonPath("$[0].views").value(3))
+                .andExpect(jsonPath("$[1].videoId").value(quiet));
+
+        mockMvc.perform(get("/videos/engagement/top").param("metric", "impressions").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].videoId").value(quiet))
+                .andExpect(jsonPath("$[0].impressions").value(2));
+    }
+
+    @Test
+    void testPlaysAreTrendingWithoutAFlush() throws Exception {
+        long id = publish("Breakout");
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(get("/videos/" + id + "/play")).andExpect(status().isOk());
+        }
+
+        // Other tests' views share the tracker, so only this video's entry is checked
+        mockMvc.perform(get("/videos/trending").param("window", "15m").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.videoId == " + id + ")].views").value(contains(4)))
+                .andExpect(jsonPath("$[?(@.videoId == " + id + ")].minViews").value(contains(4)));
+    }
+
+    @Test
+    void testRollupMergesAgedMinuteBucketsIntoHours() throws Exception {
+        long id = publish("Archive");
+        Instant hour = Instant.now().minus(5, ChronoUnit.HOURS).truncatedTo(ChronoUnit.HOURS);
+        transactionTemplate.executeWithoutResult(status -> {
+            bucketRepository.upsertIncrements(EngagementGranularity.MINUTE, hour.plus(1, ChronoUnit.MINUTES),
+                    List.of(new EngagementDelta(id, 2, 5)));
+            bucketRepository.upsertIncrements(EngagementGranularity.MINUTE, hour.plus(59, ChronoUnit.MINUTES),
+                    List.of(new EngagementDelta(id, 1, 1)));
+            bucketRepository.upsertIncrements(EngagementGranularity.MINUTE, Instant.now().truncatedTo(ChronoUnit.MINUTES),
+                    List.of(new EngagementDelta(id, 7, 0)));
+        });
+
+        analyticsService.rollUp();
+
+        List<EngagementBucket> buckets = bucketRepository.findAll();
+        assertEquals(2, buckets.size());
+        EngagementBucket rolled = buckets.stream()
+                .filter(bucket -> bucket.getGranularity() == EngagementGranularity.HOUR)
+                .findFirst().orElseThrow();
+        assertEquals(hour, rolled.getBucketStart());
+        assertEquals(3, rolled.getViews());
+        assertEquals(6, rolled.getImpressions());
+
+        // Rolled up data is returned as hour points even when minutes are requested
+        mockMvc.perform(get("/videos/" + id + "/engagement/series").param("granularity", "MINUTE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].bucketStart").value(hour.toString()))
+                .andExpect(jsonPath("$[0].granularity").value("HOUR"))
+                .andExpect(jsonPath("$[0].views").value(3))
+                .andExpect(jsonPath("$[1].granularity").value("MINUTE"))
+                .andExpect(jsonPath("$[1].views").value(7));
+
+        assertEquals(10, totalViews(id, "DAY"));
+        // A window reaching past the minute retention also sums the rolled up hour buckets
+        mockMvc.perform(get("/videos/engagement/top").param("window", "PT24H").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].videoId").value(id))
+                .andExpect(jsonPath("$[0].views").value(10))
+                .andExpect(jsonPath("$[0].impressions").value(6));
+    }
+
+    @Test
+    void testInvalidRequestsAreRejected() throws Exception {
+        long id = publish("Anything");
+
+        mockMvc.perform(get("/videos/" + id + "/engagement/series").param("granularity", "WEEK"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/videos/" + id + "/engagement/series")
+                        .param("from", "2024-05-02T00:00:00Z").param("to", "2024-05-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/videos/999999/engagement/series"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/videos/engagement/top").param("metric", "likes"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/videos/engagement/top").param("window", "-PT1H"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/videos/trending").param("window", "7d"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long totalViews(long id, String granularity) throws Exception {
+        String response = mockMvc.perform(get("/videos/" + id + "/engagement/series").param("granularity", granularity))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].granularity").value(everyItem(is(granularity))))
+                .andReturn().getResponse().getContentAsString();
+        long views = 0;
+        for (JsonNode point : objectMapper.readTree(response)) {
+            views += point.get("views").asLong();
+        }
+        return views;
+    }
+
+    private long publish(String title) throws Exception {
+        String response = mockMvc.perform(post("/videos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"" + title + "\", \"synopsis\": \"A story.\", \"director\": \"Someone\"," +
+                                "\"releaseYear\": 2020, \"genre\": \"Drama\", \"runningTime\": 100}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
@@ -0,0 +1,71 @@
+package org.sb.eezebeassignment.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.repository.VideoRepository;
+import org.sb.eezebeassignment.service.engagement.EngagementCounterEngine;
+import org.sb.eezebeassignment.service.engagement.EngagementWriteAheadLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Requests whose engagement events the write-ahead log fails to write still succeed, and the events are counted.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EngagementWriteAheadLogFailureIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    @Autowired
+    private EngagementCounterEngine engine;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private EngagementWriteAheadLog writeAheadLog;
+
+    @Test
+    void testRequestsSucceedAndEventsAreFlushedWhenTheLogFails() throws Exception {
+        Video video = videoRepository.save(new Video("Heat", "A heist.", "Michael Mann", List.of("Al Pacino"), 1995, "Crime", 170));
+        UncheckedIOException failure = new UncheckedIOException("Engagement event could not be written to the write-ahead log",
+                new IOException("No space left on device"));
+        doThrow(failure).when(writeAheadLog).appendView(any());
+        doThrow(failure).when(writeAheadLog).appendImpression(any());
+        double unlogged = meterRegistry.get("video.engagement.unlogged").counter().count();
+
+        mockMvc.perform(get("/videos/" + video.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Heat")));
+        mockMvc.perform(get("/videos/" + video.getId() + "/play"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("This is a simulated video content for video ID: " + video.getId()));
+
+        assertEquals(unlogged + 2, meterRegistry.get("video.engagement.unlogged").counter().count());
+        engine.flush();
+        mockMvc.perform(get("/videos/" + video.getId() + "/engagement"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.views", is(1)))
+                .andExpect(jsonPath("$.impressions", is(1)));
+    }
+}
@@ -0,0 +1,55 @@
+package org.sb.eezebeassignment.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testPrometheusEndpointExposesApplicationMetrics() throws Exception {
+        String response = mockMvc.perform(post("/videos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Heat\", \"synopsis\": \"Cops and robbers.\", \"director\": \"Michael Mann\"," +
+                                "\"releaseYear\": 1995, \"genre\": \"Crime\", \"runningTime\": 170}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(get("/videos/" + id)).andExpect(status().isOk());
+        mockMvc.perform(get("/videos/" + id + "/play")).andExpect(status().isOk());
+        mockMvc.perform(get("/videos/search").param("director", "Michael Mann")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{application=\"eeze-be\"")))
+                .andExpect(content().string(containsString("uri=\"/videos/{id}/play\"")))
+                .andExpect(content().string(not(containsString("uri=\"/videos/" + id))))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_count")))
+                .andExpect(content().string(containsString("method=\"findResponseByIdAndDeletedFalse\"")))
+                .andExpect(content().string(containsString("video_engagement_events_total{application=\"eeze-be\",type=\"view\"}")))
+                .andExpect(content().string(containsString("video_engagement_events_total{application=\"eeze-be\",type=\"impression\"}")))
+                .andExpect(content().string(containsString("video_search_seconds_count{application=\"eeze-be\",source=\"database\"}")))
+                .andExpect(content().string(containsString("cache_gets_total{application=\"eeze-be\",cache=\"videoMetadata\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")));
+    }
+}
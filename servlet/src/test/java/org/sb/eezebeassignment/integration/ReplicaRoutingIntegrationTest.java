@@ -0,0 +1,117 @@
+package org.sb.eezebeassignment.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sb.eezebeassignment.config.datasource.ReplicaRoutingDataSource;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.repository.VideoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The same in-memory database stands in for the primary and a replica; a second replica URL points at a
+ * database that does not exist.
+ */
+@SpringBootTest(properties = {
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.nodes[0].url=jdbc:h2:mem:videodb",
+        "datasource.replicas.nodes[1].url=jdbc:h2:mem:missing;IFEXISTS=TRUE",
+        "datasource.replicas.connection-timeout=250ms",
+        "datasource.replicas.read-your-writes-window=PT1M"
+})
+@AutoConfigureMockMvc
+public class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private Video video;
+
+    @BeforeEach
+    void setUp() {
+        videoRepository.deleteAll();
+        video = videoRepository.save(new Video("Following", "A writer follows strangers.", "Christopher Nolan",
+                List.of("Jeremy Theobald"), 1998, "Thriller", 69));
+    }
+
+    @Test
+    void testReadsGoToTheHealthyReplica() throws Exception {
+        double before = replicaConnections();
+
+        mockMvc.perform(get("/videos")).andExpect(status().isOk());
+        mockMvc.perform(get("/videos")).andExpect(status().isOk());
+
+        // Each request reads its catalog version and page from one replica
+        assertEquals(before + 4, replicaConnections());
+        routingDataSource.checkReplicas();
+        assertEquals(1, meterRegistry.get("db.replicas.healthy").gauge().value());
+    }
+
+    @Test
+    void testClientReadsItsOwnWritesFromThePrimary() throws Exception {
+        Cookie pin = mockMvc.perform(patch("/videos/" + video.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"genre\": \"Noir\"}"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().exists("primary-reads-until"))
+                .andReturn().getResponse().getCookie("primary-reads-until");
+        double before = replicaConnections();
+
+        mockMvc.perform(get("/videos").cookie(pin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].genre").value("Noir"));
+
+        assertEquals(before, replicaConnections());
+        mockMvc.perform(get("/videos")).andExpect(status().isOk());
+        assertTrue(replicaConnections() > before);
+    }
+
+    @Test
+    void testStreamedCatalogKeepsTheRequestsRouting() throws Exception {
+        Cookie pin = mockMvc.perform(patch("/videos/" + video.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"genre\": \"Noir\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie("primary-reads-until");
+        double before = replicaConnections();
+
+        MvcResult pinned = mockMvc.perform(get("/videos/stream").cookie(pin))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pinned))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].genre").value("Noir"));
+
+        // The body is written on an async thread, which must still read from the primary
+        assertEquals(before, replicaConnections());
+        MvcResult unpinned = mockMvc.perform(get("/videos/stream")).andReturn();
+        mockMvc.perform(asyncDispatch(unpinned)).andExpect(status().isOk());
+        // The catalog version and the body are read from the same replica
+        assertEquals(before + 2, replicaConnections());
+    }
+
+    private double replicaConnections() {
+        return meterRegistry.get("db.routing.connections").tag("target", "replica-0").counter().count();
+    }
+}
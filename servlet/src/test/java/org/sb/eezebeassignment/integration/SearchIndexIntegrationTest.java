@@ -0,0 +1,77 @@
+package org.sb.eezebeassignment.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.sb.eezebeassignment.service.search.VideoSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "search.index.enabled=true")
+@AutoConfigureMockMvc
+public class SearchIndexIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VideoSearchIndex searchIndex;
+
+    @Test
+    void testIndexFollowsPublishUpdateAndDelete() throws Exception {
+        assertTrue(searchIndex.isReady());
+
+        long id = publish("{\"title\": \"Arrival\", \"synopsis\": \"Linguist meets aliens.\", \"director\": \"Denis Villeneuve\"," +
+                "\"releaseYear\": 2016, \"genre\": \"Sci-Fi\", \"runningTime\": 116}");
+
+        mockMvc.perform(get("/videos/search").param("q", "linguist"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].title", is("Arrival")));
+
+        mockMvc.perform(put("/videos/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Arrival\", \"synopsis\": \"First contact.\", \"director\": \"Denis Villeneuve\"," +
+                                "\"releaseYear\": 2016, \"genre\": \"Drama\", \"runningTime\": 116}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/videos/search").param("genre", "Drama").param("director", "Denis Villeneuve"))
+                .andExpect(jsonPath("$.length()", is(1)));
+        mockMvc.perform(get("/videos/search").param("q", "linguist"))
+                .andExpect(jsonPath("$.length()", is(0)));
+
+        mockMvc.perform(delete("/videos/" + id))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/videos/search").param("title", "Arrival"))
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @Test
+    void testIndexFollowsBulkImport() throws Exception {
+        String body = "{\"title\": \"Sicario\", \"synopsis\": \"Cartel war.\", \"director\": \"Denis Villeneuve\", \"releaseYear\": 2015, \"genre\": \"Crime\", \"runningTime\": 121}\n" +
+                "{\"title\": \"Prisoners\", \"synopsis\": \"A missing daughter.\", \"director\": \"Denis Villeneuve\", \"releaseYear\": 2013, \"genre\": \"Crime\", \"runningTime\": 153}\n";
+
+        mockMvc.perform(post("/videos/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(jsonPath("$.imported", is(2)));
+        mockMvc.perform(get("/videos/search").param("genre", "Crime"))
+                .andExpect(jsonPath("$.length()", is(2)));
+    }
+
+    private long publish(String body) throws Exception {
+        String response = mockMvc.perform(post("/videos").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode node = objectMapper.readTree(response);
+        return node.get("id").asLong();
+    }
+}
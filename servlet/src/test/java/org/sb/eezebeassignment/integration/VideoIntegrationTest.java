@@ -0,0 +1,530 @@
+package org.sb.eezebeassignment.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.repository.VideoEngagementRepository;
+import org.sb.eezebeassignment.repository.VideoRepository;
+import org.sb.eezebeassignment.service.VideoService;
+import org.sb.eezebeassignment.service.engagement.UniqueViewerTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class VideoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private VideoEngagementRepository engagementRepository;
+
+    @Autowired
+    private UniqueViewerTracker uniqueViewerTracker;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private VideoService videoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        videoRepository.deleteAll(); // Clean database before each test
+    }
+
+    @Test
+    void testPublishVideo() throws Exception {
+        String requestBody = "{" +
+                "\"title\": \"Inception\"," +
+                "\"synopsis\": \"A mind-bending thriller.\"," +
+                "\"director\": \"Christopher Nolan\"," +
+                "\"releaseYear\": 2010," +
+                "\"genre\": \"Sci-Fi\"," +
+                "\"runningTime\": 148," +
+                "\"cast\": \"Leonardo DiCaprio, Joseph Gordon-Levitt\"" +
+                "}";
+
+        mockMvc.perform(post("/videos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Inception")));
+    }
+
+    @Test
+    void testGetVideoById() throws Exception {
+        Video video = new Video("Interstellar", "Space exploration.", "Christopher Nolan", List.of("Matthew McConaughey", "Anne Hathaway"), 2014, "Sci-Fi", 169);
+        video = videoRepository.save(video);
+
+        mockMvc.perform(get("/videos/" + video.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Interstellar")));
+    }
+
+    @Test
+    void testGetVideoByIdNotFound() throws Exception {
+        mockMvc.perform(get("/videos/999999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testUpdateVideo() throws Exception {
+        Video video = new Video("Interstellar", "Space exploration.", "Christopher Nolan", List.of("Matthew McConaughey", "Anne Hathaway"), 2014, "Sci-Fi", 169);
+        video = videoRepository.save(video);
+
+        String requestBody = "{" +
+                "\"title\": \"Inception\"," +
+                "\"synopsis\": \"A mind-bending thriller.\"," +
+                "\"director\": \"Christopher Nolan\"," +
+                "\"releaseYear\": 2010," +
+                "\"genre\": \"Sci-Fi\"," +
+                "\"runningTime\": 148," +
+                "\"cast\": \"Leonardo DiCaprio, Joseph Gordon-Levitt\"" +
+                "}";
+
+        mockMvc.perform(put("/videos/" + video.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk());
+        Optional<Video> updatedVideo = videoRepository.findById(video.getId());
+        assertEquals(updatedVideo.map(Video::getTitle), Optional.of("Inception"));
+    }
+
+    @Test
+    void testMetadataCacheIsInvalidatedOnUpdateAndDelete() throws Exception {
+        Video video = videoRepository.save(new Video("Interstellar", "Space exploration.", "Christopher Nolan", List.of("Matthew McConaughey"), 2014, "Sci-Fi", 169));
+        var cache = cacheManager.getCache("videoMetadata");
+
+        mockMvc.perform(get("/videos/" + video.getId()))
+                .andExpect(jsonPath("$.title", is("Interstellar")));
+        assertNotNull(cache.get(video.getId()));
+
+        mockMvc.perform(put("/videos/" + video.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Interstellar (Director's Cut)\", \"synopsis\": \"Space exploration.\"," +
+                                "\"director\": \"Christopher Nolan\", \"releaseYear\": 2014, \"genre\": \"Sci-Fi\", \"runningTime\": 175}"))
+                .andExpect(status().isOk());
+        assertNull(cache.get(video.getId()));
+        mockMvc.perform(get("/videos/" + video.getId()))
+                .andExpect(jsonPath("$.title", is("Interstellar (Director's Cut)")));
+
+        mockMvc.perform(delete("/videos/" + video.getId()))
+                .andExpect(status().isOk());
+        assertNull(cache.get(video.getId()));
+        mockMvc.perform(get("/videos/" + video.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testPlayVideo() throws Exception {
+        Video video = new Video("The Dark Knight", "Gotham's hero.", "Christopher Nolan", List.of("Christian Bale"), 2008, "Action", 152);
+        video = videoRepository.save(video);
+
+        mockMvc.perform(get("/videos/" + video.getId() + "/play"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("This is a simulated video content for video ID: " + video.getId()));
+    }
+
+    @Test
+    void testPlayVideoByteRanges() throws Exception {
+        Video video = videoRepository.save(new Video("The Dark Knight", "Gotham's hero.", "Christopher Nolan", List.of("Christian Bale"), 2008, "Action", 152));
+        String content = "This is a simulated video content for video ID: " + video.getId();
+
+        mockMvc.perform(get("/videos/" + video.getId() + "/play").header("Range", "bytes=0-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 0-3/" + content.length()))
+                .andExpect(header().string("Content-Length", "4"))
+                .andExpect(content().string("This"));
+        mockMvc.perform(get("/videos/" + video.getId() + "/play").header("Range", "bytes=-2"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string(content.substring(content.length() - 2)));
+        mockMvc.perform(get("/videos/" + video.getId() + "/play").header("Range", "bytes=0-3,5-6"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Type", org.hamcrest.Matchers.startsWith("multipart/byteranges; boundary=")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Content-Range: bytes 5-6/" + content.length())));
+        mockMvc.perform(get("/videos/" + video.getId() + "/play").header("Range", "bytes=1000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */" + content.length()));
+    }
+
+    @Test
+    void testPlayVideoMergesOverlappingRanges() throws Exception {
+        Video video = videoRepository.save(new Video("The Dark Knight", "Gotham's hero.", "Christopher Nolan", List.of("Christian Bale"), 2008, "Action", 152));
+        String content = "This is a simulated video content for video ID: " + video.getId();
+
+        mockMvc.perform(get("/videos/" + video.getId() + "/play").header("Range", "bytes=" + String.join(",", Collections.nCopies(50, "0-"))))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 0-" + (content.length() - 1) + "/" + content.length()))
+                .andExpect(header().string("Content-Length", String.valueOf(content.length())))
+                .andExpect(content().string(content));
+        mockMvc.perform(get("/videos/" + video.getId() + "/play").header("Range", "bytes=5-6,0-3,2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 0-6/" + content.length()))
+                .andExpect(content().string(content.substring(0, 7)));
+    }
+
+    @Test
+    void testPlayVideoConditionalRequests() throws Exception {
+        Video video = videoRepository.save(new Video("The Dark Knight", "Gotham's hero.", "Christopher Nolan", List.of("Christian Bale"), 2008, "Action", 152));
+
+        String etag = mockMvc.perform(get("/videos/" + video.getId() + "/play"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/videos/" + video.getId() + "/play").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/videos/" + video.getId() + "/play").header("Range", "bytes=0-3").header("If-Range", etag))
+                .andExpect(status().isPartialContent());
+        mockMvc.perform(get("/videos/" + video.getId() + "/play").header("Range", "bytes=0-3").header("If-Range", "\"stale\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/videos/" + video.getId() + "/play").header("Range", "bytes=0-3").header("If-Range", "yesterday"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testMetadataConditionalRequests() throws Exception {
+        Video video = videoRepository.save(new Video("Memento", "Short-term memory loss.", "Christopher Nolan", List.of("Guy Pearce"), 2000, "Thriller", 113));
+
+        MvcResult first = mockMvc.perform(get("/videos/" + video.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.version", is(0)))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertEquals("\"video-" + video.getId() + "-0\"", etag);
+
+        mockMvc.perform(get("/videos/" + video.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/videos/" + video.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Memento\", \"synopsis\": \"Told backwards.\"," +
+                                "\"director\": \"Christopher Nolan\", \"releaseYear\": 2000, \"genre\": \"Thriller\", \"runningTime\": 113}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(1)));
+
+        mockMvc.perform(get("/videos/" + video.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"video-" + video.getId() + "-1\""));
+    }
+
+    @Test
+    void testUpdateWithStaleIfMatchIsRejected() throws Exception {
+        Video video = videoRepository.save(new Video("Dunkirk", "Evacuation.", "Christopher Nolan", List.of("Fionn Whitehead"), 2017, "War", 106));
+        String etag = mockMvc.perform(get("/videos/" + video.getId())).andReturn().getResponse().getHeader("ETag");
+        String body = "{\"title\": \"Dunkirk\", \"synopsis\": \"%s\", \"director\": \"Christopher Nolan\"," +
+                "\"releaseYear\": 2017, \"genre\": \"War\", \"runningTime\": 106}";
+
+        String newEtag = mockMvc.perform(put("/videos/" + video.getId()).header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body.formatted("First edit.")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals("\"video-" + video.getId() + "-1\"", newEtag);
+
+        // A second editor still holding the original ETag must not overwrite the first edit
+        mockMvc.perform(put("/videos/" + video.getId()).header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body.formatted("Second edit.")))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/videos/" + video.getId()).header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"genre\": \"Drama\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        Video stored = videoRepository.findById(video.getId()).orElseThrow();
+        assertEquals("First edit.", stored.getSynopsis());
+        assertEquals("War", stored.getGenre());
+        assertEquals(1, stored.getVersion());
+    }
+
+    @Test
+    void testPatchVideoChangesOnlyPresentFields() throws Exception {
+        Video video = videoRepository.save(new Video("Insomnia", "Alaska.", "Christopher Nolan", List.of("Al Pacino"), 2002, "Thriller", 118));
+        mockMvc.perform(get("/videos/" + video.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(patch("/videos/" + video.getId()).header("If-Match", "\"video-" + video.getId() + "-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"runningTime\": 119, \"cast\": [\"Al Pacino\", \"Robin Williams\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"video-" + video.getId() + "-1\""))
+                .andExpect(jsonPath("$.title", is("Insomnia")))
+                .andExpect(jsonPath("$.runningTime", is(119)))
+                .andExpect(jsonPath("$.version", is(1)));
+
+        // The cached metadata was evicted
+        mockMvc.perform(get("/videos/" + video.getId()))
+                .andExpect(jsonPath("$.runningTime", is(119)));
+        Video stored = videoRepository.findByIdAndDeletedFalse(video.getId()).orElseThrow();
+        assertEquals("Alaska.", stored.getSynopsis());
+        assertEquals(List.of("Al Pacino", "Robin Williams"), transactionTemplate.execute(status ->
+                List.copyOf(videoRepository.findById(video.getId()).orElseThrow().getCast())));
+
+        mockMvc.perform(patch("/videos/" + video.getId()).contentType(MediaType.APPLICATION_JSON).content("{\"title\": \" \"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/videos/999999").contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"Missing\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testListAndSearchConditionalRequestsFollowTheCatalogVersion() throws Exception {
+        mockMvc.perform(post("/videos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Tenet\", \"synopsis\": \"Inverted time.\", \"director\": \"Christopher Nolan\"," +
+                                "\"releaseYear\": 2020, \"genre\": \"Sci-Fi\", \"runningTime\": 150}"))
+                .andExpect(status().isOk());
+        String etag = mockMvc.perform(get("/videos"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/videos").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/videos/search").param("director", "Christopher Nolan").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/videos/stream").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        Long videoId = videoRepository.findAll().get(0).getId();
+        mockMvc.perform(delete("/videos/" + videoId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/videos").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @Test
+    void testSoftDeleteVideo() throws Exception {
+        Video video = new Video("Memento", "Memory loss mystery.", "Christopher Nolan", List.of("Guy Pearce", "Carrie-Anne Moss"), 2000, "Thriller", 113);
+        video = videoRepository.save(video);
+
+        mockMvc.perform(delete("/videos/" + video.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/videos/" + video.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testSearchVideos() throws Exception {
+        Video video1 = new Video("Inception", "A thriller", "Christopher Nolan", List.of("Leonardo DiCaprio"), 2010, "Sci-Fi", 148);
+        Video video2 = new Video("Dunkirk", "War film", "Not Christopher Nolan", List.of("Tom Hardy"), 2017, "War", 106);
+        Video video3 = new Video("The Prestige", "Magicians rivalry", "Christopher Nolan", List.of("Hugh Jackman"), 2006, "Drama", 130);
+
+        videoRepository.save(video1);
+        videoRepository.save(video2);
+        videoRepository.save(video3);
+
+        mockMvc.perform(get("/videos/search?director=Christopher Nolan"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)));
+        mockMvc.perform(get("/videos/search?genre=War"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)));
+        mockMvc.perform(get("/videos/search?title=The Prestige"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)));
+    }
+
+    @Test
+    void testSearchVideosCombinesCriteriaAndTreatsWildcardsLiterally() throws Exception {
+        videoRepository.save(new Video("100% Wolf", "Werewolf comedy", "Alexs Stadermann", List.of("Ilai Swindells"), 2020, "Animation", 96));
+        videoRepository.save(new Video("1000 Wolves", "Nature film", "Alexs Stadermann", List.of("Narrator"), 2021, "Documentary", 90));
+        videoRepository.save(new Video("100 Wolves", "Nature film", "Someone Else", List.of("Narrator"), 2021, "Documentary", 90));
+
+        mockMvc.perform(get("/videos/search").param("title", "100%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].title", is("100% Wolf")));
+        mockMvc.perform(get("/videos/search").param("director", "Alexs Stadermann").param("genre", "Documentary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].title", is("1000 Wolves")));
+        mockMvc.perform(get("/videos/search").param("title", "Wolves").param("genre", "Documentary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)));
+    }
+
+    @Test
+    void testEngagement() throws Exception {
+        Video video = new Video("The Dark Knight", "Gotham's hero.", "Christopher Nolan", List.of("Christian Bale"), 2008, "Action", 152);
+        video = videoRepository.save(video);
+
+        mockMvc.perform(get("/videos/" + video.getId() + "/play"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/videos/" + video.getId() + "/play"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/videos/" + video.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/videos/" + video.getId() + "/engagement"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.views", is(2)))
+                .andExpect(jsonPath("$.impressions", is(1)));
+    }
+
+    @Test
+    void testEngagementEventsTakeNoConnection() {
+        Timer acquisitions = meterRegistry.get("hikaricp.connections.acquire").timer();
+        long before = acquisitions.count();
+
+        for (int i = 0; i < 200; i++) {
+            videoService.recordView(1L, "viewer-" + i);
+            videoService.recordImpression(1L);
+        }
+
+        assertEquals(before, acquisitions.count());
+    }
+
+    @Test
+    void testUniqueViewersAreCountedBeforeAndAfterFlush() throws Exception {
+        Video video = videoRepository.save(new Video("Heat", "A heist.", "Michael Mann", List.of("Al Pacino"), 1995, "Crime", 170));
+        String play = "/videos/" + video.getId() + "/play";
+
+        mockMvc.perform(get(play).param("viewerId", "alice")).andExpect(status().isOk());
+        mockMvc.perform(get(play).param("viewerId", "alice")).andExpect(status().isOk());
+        mockMvc.perform(get(play).header("X-Viewer-Id", "bob")).andExpect(status().isOk());
+        mockMvc.perform(get(play)).andExpect(status().isOk());
+        mockMvc.perform(get("/videos/" + video.getId() + "/engagement"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.views", is(4)))
+                .andExpect(jsonPath("$.uniqueViewers", is(2)));
+
+        uniqueViewerTracker.flush();
+        assertEquals(2, engagementRepository.findByVideoId(video.getId()).orElseThrow().getUniqueViewers());
+
+        mockMvc.perform(get(play).param("viewerId", "bob")).andExpect(status().isOk());
+        mockMvc.perform(get(play).param("viewerId", "carol")).andExpect(status().isOk());
+        mockMvc.perform(get("/videos/" + video.getId() + "/engagement"))
+                .andExpect(jsonPath("$.uniqueViewers", is(3)));
+        mockMvc.perform(get(play).param("viewerId", "x".repeat(129)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testListVideosIsKeysetPaginated() throws Exception {
+        Video first = videoRepository.save(new Video("Inception", "A thriller", "Christopher Nolan", List.of("Leonardo DiCaprio"), 2010, "Sci-Fi", 148));
+        Video second = videoRepository.save(new Video("Dunkirk", "War film", "Christopher Nolan", List.of("Tom Hardy"), 2017, "War", 106));
+        Video deleted = new Video("Memento", "Memory loss mystery.", "Christopher Nolan", List.of("Guy Pearce"), 2000, "Thriller", 113);
+        deleted.setDeleted(true);
+        videoRepository.save(deleted);
+        Video third = videoRepository.save(new Video("Tenet", "Time inversion", "Christopher Nolan", List.of("John David Washington"), 2020, "Sci-Fi", 150));
+
+        mockMvc.perform(get("/videos?limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].title", is("Inception")))
+                .andExpect(header().string("X-Next-After-Id", String.valueOf(second.getId())));
+        mockMvc.perform(get("/videos?limit=2&afterId=" + second.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(third.getId().intValue())))
+                .andExpect(header().string("X-Next-After-Id", nullValue()));
+        mockMvc.perform(get("/videos?afterId=" + first.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)));
+    }
+
+    @Test
+    void testListVideosRejectsOversizedPage() throws Exception {
+        mockMvc.perform(get("/videos?limit=100000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testStreamVideos() throws Exception {
+        videoRepository.save(new Video("Inception", "A thriller", "Christopher Nolan", List.of("Leonardo DiCaprio"), 2010, "Sci-Fi", 148));
+        videoRepository.save(new Video("Dunkirk", "War film", "Christopher Nolan", List.of("Tom Hardy"), 2017, "War", 106));
+
+        MvcResult result = mockMvc.perform(get("/videos/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[1].title", is("Dunkirk")));
+    }
+
+    @Test
+    void testBulkPublishJsonArrayReportsFailuresPerItem() throws Exception {
+        String longSynopsis = "x".repeat(1001);
+        String body = "[" +
+                "{\"title\": \"Inception\", \"synopsis\": \"A thriller\", \"director\": \"Christopher Nolan\", \"cast\": [\"Leonardo DiCaprio\"]," +
+                "\"releaseYear\": 2010, \"genre\": \"Sci-Fi\", \"runningTime\": 148}," +
+                "{\"title\": \"\", \"synopsis\": \"Missing title\", \"director\": \"Nobody\", \"releaseYear\": 2000, \"genre\": \"Drama\", \"runningTime\": 90}," +
+                "{\"title\": \"Tenet\", \"synopsis\": \"" + longSynopsis + "\", \"director\": \"Christopher Nolan\"," +
+                "\"releaseYear\": 2020, \"genre\": \"Sci-Fi\", \"runningTime\": 150}," +
+                "{\"title\": \"Dunkirk\", \"synopsis\": \"War film\", \"director\": \"Christopher Nolan\", \"releaseYear\": \"soon\", \"genre\": \"War\", \"runningTime\": 106}," +
+                "{\"title\": \"Memento\", \"synopsis\": \"Backwards\", \"director\": \"Christopher Nolan\", \"releaseYear\": 2000, \"genre\": \"Thriller\", \"runningTime\": 113}" +
+                "]";
+
+        mockMvc.perform(post("/videos/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(5)))
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.failures.length()", is(3)))
+                .andExpect(jsonPath("$.failures[0].index", is(1)))
+                .andExpect(jsonPath("$.failures[0].errors.title", is("must not be blank")))
+                .andExpect(jsonPath("$.failures[1].index", is(2)))
+                .andExpect(jsonPath("$.failures[2].index", is(3)));
+
+        List<Video> videos = videoRepository.findAll(Sort.by("title"));
+        assertEquals(List.of("Inception", "Memento"), videos.stream().map(Video::getTitle).toList());
+    }
+
+    @Test
+    void testBulkPublishNdjsonAcrossBatches() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            body.append("{\"title\": \"Title ").append(i).append("\", \"synopsis\": \"Synopsis\", \"director\": \"Director\",")
+                    .append("\"releaseYear\": 2000, \"genre\": \"Drama\", \"runningTime\": 90, \"cast\": [\"Actor ").append(i).append("\"]}\n");
+            if (i == 600) {
+                body.append("{not json}\n\n");
+            }
+        }
+
+        mockMvc.perform(post("/videos/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(1201)))
+                .andExpect(jsonPath("$.imported", is(1200)))
+                .andExpect(jsonPath("$.failures[0].index", is(601)));
+
+        assertEquals(1200, videoRepository.count());
+    }
+}
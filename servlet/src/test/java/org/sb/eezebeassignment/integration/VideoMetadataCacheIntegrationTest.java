@@ -0,0 +1,97 @@
+package org.sb.eezebeassignment.integration;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.sb.eezebeassignment.dto.VideoRequest;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.repository.VideoRepository;
+import org.sb.eezebeassignment.service.VideoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.AopTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * The metadata cache never keeps a version older than the committed row, whatever the order of reads and updates.
+ */
+@SpringBootTest
+public class VideoMetadataCacheIntegrationTest {
+
+    @Autowired
+    private VideoService videoService;
+
+    @MockitoSpyBean
+    private VideoRepository videoRepository;
+
+    @Test
+    void testReadOfTheOldRowIsNotCachedAfterTheUpdateCommits() throws Exception {
+        Video video = videoService.publishVideo(new Video("Alien", "In space.", "Ridley Scott", List.of("Sigourney Weaver"), 1979, "Sci-Fi", 117));
+        Long id = video.getId();
+        AtomicBoolean pauseNextRead = new AtomicBoolean(true);
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        // The spy delegates to the repository proxy through its default answer; the proxy has no real method to call
+        Answer<?> repository = mockingDetails(AopTestUtils.getUltimateTargetObject(videoRepository)).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object row = repository.answer(invocation);
+            if (pauseNextRead.compareAndSet(true, false)) {
+                read.countDown();
+                assertTrue(updated.await(10, TimeUnit.SECONDS));
+            }
+            return row;
+        }).when(videoRepository).findResponseByIdAndDeletedFalse(any());
+
+        // The lookup reads version 0, then stalls until the update has committed
+        CompletableFuture<Optional<VideoResponse>> lookup = CompletableFuture.supplyAsync(() -> videoService.getVideoMetadata(id));
+        assertTrue(read.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Optional<Video>> update = CompletableFuture.supplyAsync(() -> videoService.updateVideo(id, request("Alien (Director's Cut)"), null));
+        while (videoRepository.findById(id).orElseThrow().getVersion() == 0) {
+            Thread.sleep(10);
+        }
+        updated.countDown();
+
+        assertEquals(0, lookup.get(10, TimeUnit.SECONDS).orElseThrow().getVersion());
+        update.get(10, TimeUnit.SECONDS);
+        VideoResponse cached = videoService.getVideoMetadata(id).orElseThrow();
+        assertEquals(1, cached.getVersion());
+        assertEquals("Alien (Director's Cut)", cached.getTitle());
+    }
+
+    @Test
+    void testPublishingEvictsACachedMiss() {
+        Video video = videoService.publishVideo(new Video("Aliens", "Back in space.", "James Cameron", List.of("Sigourney Weaver"), 1986, "Sci-Fi", 137));
+        Long nextId = video.getId() + 1;
+        assertTrue(videoService.getVideoMetadata(nextId).isEmpty());
+
+        Video next = new Video("Alien 3", "Prison planet.", "David Fincher", List.of("Sigourney Weaver"), 1992, "Sci-Fi", 114);
+        next = videoService.publishVideo(next);
+
+        assertEquals(nextId, next.getId());
+        assertEquals("Alien 3", videoService.getVideoMetadata(nextId).orElseThrow().getTitle());
+    }
+
+    private static VideoRequest request(String title) {
+        VideoRequest request = new VideoRequest();
+        request.setTitle(title);
+        request.setSynopsis("In space.");
+        request.setDirector("Ridley Scott");
+        request.setReleaseYear(1979);
+        request.setGenre("Sci-Fi");
+        request.setRunningTime(117);
+        return request;
+    }
+}
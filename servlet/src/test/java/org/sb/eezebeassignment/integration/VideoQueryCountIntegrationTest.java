@@ -0,0 +1,194 @@
+package org.sb.eezebeassignment.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sb.eezebeassignment.controller.VideoController;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.repository.VideoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "org.sb.eezebeassignment.integration.VideoQueryCountIntegrationTest$StatementCounter")
+@AutoConfigureMockMvc
+public class VideoQueryCountIntegrationTest {
+
+    private static final int VIDEOS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    @Autowired
+    private VideoController videoController;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        videoRepository.deleteAll();
+        videoRepository.saveAll(IntStream.range(0, VIDEOS)
+                .mapToObj(i -> new Video("Movie " + i, "A story.", "Director " + (i % 3),
+                        List.of("Actor " + i, "Actor " + (i + 1)), 2000 + i, "Drama", 100))
+                .toList());
+        StatementCounter.reset();
+    }
+
+    @Test
+    void testListingIsOneStatement() throws Exception {
+        String etag = mockMvc.perform(get("/videos").param("limit", String.valueOf(VIDEOS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(VIDEOS)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Plus the catalog version lookup for the validators, which is all a revalidation costs
+        assertEquals(2, StatementCounter.count(), StatementCounter.statements()::toString);
+
+        StatementCounter.reset();
+        mockMvc.perform(get("/videos").param("limit", String.valueOf(VIDEOS)).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        assertEquals(1, StatementCounter.count(), StatementCounter.statements()::toString);
+    }
+
+    @Test
+    void testDatabaseSearchIsOneStatement() throws Exception {
+        mockMvc.perform(get("/videos/search").param("director", "Director 1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(VIDEOS / 3)));
+        assertEquals(2, StatementCounter.count(), StatementCounter.statements()::toString);
+
+        StatementCounter.reset();
+        mockMvc.perform(get("/videos/search").param("q", "story movie"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(VIDEOS)));
+        assertEquals(2, StatementCounter.count(), StatementCounter.statements()::toString);
+
+        // Cast members match through a subquery, once per video even when both names match
+        StatementCounter.reset();
+        mockMvc.perform(get("/videos/search").param("q", "actor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(VIDEOS)));
+        assertEquals(2, StatementCounter.count(), StatementCounter.statements()::toString);
+        mockMvc.perform(get("/videos/search").param("q", "actor 30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Movie 29"));
+    }
+
+    @Test
+    void testPatchWritesOnlyTheChangedColumns() throws Exception {
+        Long id = videoRepository.findAll().get(0).getId();
+        StatementCounter.reset();
+
+        mockMvc.perform(patch("/videos/" + id).contentType(MediaType.APPLICATION_JSON).content("{\"genre\": \"Comedy\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.genre").value("Comedy"));
+
+        // The targeted UPDATE, the catalog version bump and the projection of the result; no SELECT of the entity
+        assertEquals(3, StatementCounter.count(), StatementCounter.statements()::toString);
+        String update = StatementCounter.statements().get(0);
+        assertTrue(update.startsWith("update videos"), update);
+        assertFalse(update.contains("synopsis") || update.contains("title"), update);
+    }
+
+    @Test
+    void testStreamingReadsPagesOutsideTheWrites() throws Exception {
+        videoRepository.saveAll(IntStream.range(0, 1000)
+                .mapToObj(i -> new Video("Sequel " + i, "A story.", "Director", List.of(), 2000, "Drama", 100))
+                .toList());
+        StreamingResponseBody body = videoController.streamAvailableVideos(new ServletWebRequest(new MockHttpServletRequest())).getBody();
+        StatementCounter.reset();
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        AtomicBoolean writtenInTransaction = new AtomicBoolean();
+
+        body.writeTo(new FilterOutputStream(json) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                writtenInTransaction.compareAndSet(false, TransactionSynchronizationManager.isActualTransactionActive());
+                out.write(bytes, offset, length);
+            }
+        });
+
+        List<VideoResponse> videos = objectMapper.readValue(json.toByteArray(), new TypeReference<>() {
+        });
+        assertEquals(VIDEOS + 1000, videos.size());
+        assertEquals(videos.stream().map(VideoResponse::getId).sorted().toList(), videos.stream().map(VideoResponse::getId).toList());
+        // Pages of 500: one projection query per page
+        assertEquals(3, StatementCounter.count(), StatementCounter.statements()::toString);
+        assertFalse(writtenInTransaction.get(), "the client was written to while a page's transaction was open");
+    }
+
+    @Test
+    void testCastsOfLoadedVideosAreBatchFetched() {
+        List<Long> ids = videoRepository.findAll().stream().map(Video::getId).toList();
+        StatementCounter.reset();
+
+        int castMembers = transactionTemplate.execute(status -> videoRepository.findAllByIdInAndDeletedFalse(ids).stream()
+                .mapToInt(video -> video.getCast().size())
+                .sum());
+
+        assertEquals(VIDEOS * 2, castMembers);
+        assertEquals(2, StatementCounter.count(), StatementCounter.statements()::toString);
+    }
+
+    /**
+     * Records the SQL Hibernate prepares on the calling thread, so background jobs do not skew the counts.
+     */
+    public static class StatementCounter implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+
+        static void reset() {
+            STATEMENTS.get().clear();
+        }
+
+        static int count() {
+            return STATEMENTS.get().size();
+        }
+
+        static List<String> statements() {
+            return STATEMENTS.get();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.sb.eezebeassignment.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sb.eezebeassignment.dto.UploadPart;
+import org.sb.eezebeassignment.service.upload.VideoUploadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "content.store.type=filesystem")
+@AutoConfigureMockMvc
+public class VideoUploadIntegrationTest {
+
+    @TempDir
+    static Path dataDirectory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VideoUploadService uploadService;
+
+    @DynamicPropertySource
+    static void contentDirectories(DynamicPropertyRegistry registry) {
+        registry.add("content.store.root", () -> dataDirectory.resolve("videos").toString());
+        registry.add("content.upload.root", () -> dataDirectory.resolve("uploads").toString());
+    }
+
+    @Test
+    void testUploadPartsOutOfOrderAndPlayAssembledContent() throws Exception {
+        long videoId = publish();
+        String uploadId = initUpload(videoId);
+        String base = "/videos/" + videoId + "/uploads/" + uploadId;
+        byte[] first = "first part, ".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "second part".getBytes(StandardCharsets.UTF_8);
+
+        mockMvc.perform(put(base + "/parts/2").content(second).header("X-Content-SHA256", sha256(second)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size", is(second.length)));
+        mockMvc.perform(put(base + "/parts/1").content("corrupted".getBytes()).header("X-Content-SHA256", sha256(first)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(base))
+                .andExpect(jsonPath("$.parts.length()", is(1)))
+                .andExpect(jsonPath("$.parts[0].partNumber", is(2)));
+
+        // Resume with the missing part, sent twice; the second copy replaces the first
+        mockMvc.perform(put(base + "/parts/1").content("stale".getBytes()))
+                .andExpect(status().isOk());
+        mockMvc.perform(put(base + "/parts/1").content(first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sha256", is(sha256(first))));
+        mockMvc.perform(get(base))
+                .andExpect(jsonPath("$.parts.length()", is(2)))
+                .andExpect(jsonPath("$.parts[0].sha256", is(sha256(first))));
+
+        mockMvc.perform(post(base + "/complete").contentType(MediaType.APPLICATION_JSON)
+                        .content(completeBody(1, sha256(second), 2, sha256(second))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(base + "/complete").contentType(MediaType.APPLICATION_JSON)
+                        .content(completeBody(1, sha256(first), 2, sha256(second))))
+                .andExpect(status().isNoContent())
+                .andExpect(header().exists("ETag"));
+
+        mockMvc.perform(get("/videos/" + videoId + "/play"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("first part, second part"));
+        mockMvc.perform(get(base))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testUnknownVideoOrUploadIsNotFound() throws Exception {
+        mockMvc.perform(post("/videos/999999/uploads"))
+                .andExpect(status().isNotFound());
+
+        long videoId = publish();
+        mockMvc.perform(put("/videos/" + videoId + "/uploads/not-an-upload/parts/1").content("x".getBytes()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/videos/" + videoId + "/uploads/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/videos/" + videoId + "/play"))
+                .andExpect(status().isNotFound());
+
+        String uploadId = initUpload(videoId);
+        mockMvc.perform(get("/videos/" + (videoId + 1) + "/uploads/" + uploadId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/videos/" + videoId + "/uploads/" + uploadId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/videos/" + videoId + "/uploads/" + uploadId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testUploadsExpireAfterTheirLastPart() throws Exception {
+        long videoId = publish();
+        String uploadId = initUpload(videoId);
+        String base = "/videos/" + videoId + "/uploads/" + uploadId;
+        Path videoIdFile = dataDirectory.resolve("uploads").resolve(uploadId).resolve("video");
+        Files.setLastModifiedTime(videoIdFile, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+
+        mockMvc.perform(put(base + "/parts/1").content("recent".getBytes()))
+                .andExpect(status().isOk());
+        uploadService.deleteExpiredUploads();
+        mockMvc.perform(get(base))
+                .andExpect(status().isOk());
+
+        Files.setLastModifiedTime(videoIdFile, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        uploadService.deleteExpiredUploads();
+        mockMvc.perform(get(base))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testUploadIsNotCompletedOrAbortedWhileReceivingParts() throws Exception {
+        long videoId = publish();
+        String uploadId = initUpload(videoId);
+        String base = "/videos/" + videoId + "/uploads/" + uploadId;
+        byte[] bytes = "slow part".getBytes(StandardCharsets.UTF_8);
+        CountDownLatch receiving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ByteArrayInputStream slowBody = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length) {
+                receiving.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.read(buffer, offset, length);
+            }
+        };
+
+        CompletableFuture<Optional<UploadPart>> part = CompletableFuture.supplyAsync(() -> {
+            try {
+                return uploadService.uploadPart(videoId, uploadId, 1, slowBody, null);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertTrue(receiving.await(5, TimeUnit.SECONDS));
+        mockMvc.perform(post(base + "/complete").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"parts\": [{\"partNumber\": 1, \"sha256\": \"" + sha256(bytes) + "\"}]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete(base))
+                .andExpect(status().isBadRequest());
+
+        release.countDown();
+        assertTrue(part.get(5, TimeUnit.SECONDS).isPresent());
+        mockMvc.perform(post(base + "/complete").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"parts\": [{\"partNumber\": 1, \"sha256\": \"" + sha256(bytes) + "\"}]}"))
+                .andExpect(status().isNoContent());
+    }
+
+    private long publish() throws Exception {
+        String response = mockMvc.perform(post("/videos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Arrival\", \"synopsis\": \"Linguist meets aliens.\", \"director\": \"Denis Villeneuve\"," +
+                                "\"releaseYear\": 2016, \"genre\": \"Sci-Fi\", \"runningTime\": 116}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private String initUpload(long videoId) throws Exception {
+        String response = mockMvc.perform(post("/videos/" + videoId + "/uploads"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode upload = objectMapper.readTree(response);
+        return upload.get("uploadId").asText();
+    }
+
+    private static String completeBody(int firstPart, String firstSha256, int secondPart, String secondSha256) {
+        return "{\"parts\": [{\"partNumber\": " + firstPart + ", \"sha256\": \"" + firstSha256 + "\"}," +
+                "{\"partNumber\": " + secondPart + ", \"sha256\": \"" + secondSha256 + "\"}]}";
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
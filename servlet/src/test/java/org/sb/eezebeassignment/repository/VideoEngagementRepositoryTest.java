@@ -0,0 +1,58 @@
+package org.sb.eezebeassignment.repository;
+
+import org.junit.jupiter.api.Test;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.sb.eezebeassignment.model.VideoEngagement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+public class VideoEngagementRepositoryTest {
+
+    @Autowired
+    private VideoEngagementRepository engagementRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testUpsertIncrementsCreatesMissingRows() {
+        engagementRepository.upsertIncrements(List.of(new EngagementDelta(1L, 2, 3)));
+
+        VideoEngagement engagement = engagementRepository.findByVideoId(1L).orElseThrow();
+        assertEquals(2, engagement.getViews());
+        assertEquals(3, engagement.getImpressions());
+    }
+
+    @Test
+    void testUpsertIncrementsAddsToExistingRows() {
+        engagementRepository.saveAndFlush(new VideoEngagement(1L, 10, 20));
+
+        engagementRepository.upsertIncrements(List.of(
+                new EngagementDelta(1L, 1, 0),
+                new EngagementDelta(2L, 0, 1)));
+        engagementRepository.upsertIncrements(List.of(new EngagementDelta(1L, 1, 5)));
+        entityManager.clear();
+
+        assertEquals(1, engagementRepository.findAll().stream().filter(e -> e.getVideoId() == 1L).count());
+        VideoEngagement engagement = engagementRepository.findByVideoId(1L).orElseThrow();
+        assertEquals(12, engagement.getViews());
+        assertEquals(25, engagement.getImpressions());
+        assertEquals(1, engagementRepository.findByVideoId(2L).orElseThrow().getImpressions());
+    }
+
+    @Test
+    void testVideoIdIsUnique() {
+        engagementRepository.saveAndFlush(new VideoEngagement(1L, 0, 0));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> engagementRepository.saveAndFlush(new VideoEngagement(1L, 0, 0)));
+    }
+}
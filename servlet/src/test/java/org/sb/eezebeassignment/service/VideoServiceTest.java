@@ -0,0 +1,328 @@
+package org.sb.eezebeassignment.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.sb.eezebeassignment.model.Video;
+import org.sb.eezebeassignment.model.VideoEngagement;
+import org.sb.eezebeassignment.repository.VideoEngagementRepository;
+import org.sb.eezebeassignment.repository.VideoRepository;
+import org.sb.eezebeassignment.dto.VideoPatchRequest;
+import org.sb.eezebeassignment.dto.VideoRequest;
+import org.sb.eezebeassignment.dto.VideoResponse;
+import org.sb.eezebeassignment.exception.VideoVersionMismatchException;
+import org.sb.eezebeassignment.service.content.VideoContent;
+import org.sb.eezebeassignment.service.content.VideoContentCache;
+import org.sb.eezebeassignment.service.content.VideoContentStore;
+import org.sb.eezebeassignment.service.engagement.EngagementRecorder;
+import org.sb.eezebeassignment.service.engagement.UniqueViewerTracker;
+import org.sb.eezebeassignment.service.search.VideoSearchIndex;
+import org.sb.eezebeassignment.service.trending.TrendingVideoTracker;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class VideoServiceTest {
+
+    @InjectMocks
+    private VideoService videoService;
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Mock
+    private VideoEngagementRepository engagementRepository;
+
+    @Mock
+    private EngagementRecorder engagementRecorder;
+
+    @Mock
+    private UniqueViewerTracker uniqueViewerTracker;
+
+    @Mock
+    private VideoSearchIndex searchIndex;
+
+    @Mock
+    private TrendingVideoTracker trendingTracker;
+
+    @Mock
+    private VideoContentStore contentStore;
+
+    @Mock
+    private VideoContentCache contentCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testPublishVideo() {
+        Video video = new Video();
+        video.setTitle("Inception");
+
+        when(videoRepository.save(any(Video.class))).thenReturn(video);
+
+        Video savedVideo = videoService.publishVideo(video);
+        assertNotNull(savedVideo);
+        assertEquals("Inception", savedVideo.getTitle());
+        verify(eventPublisher).publishEvent(any(VideoChangedEvent.class));
+    }
+
+    @Test
+    void testGetVideoById() {
+        Video video = new Video();
+        video.setId(1L);
+
+        when(videoRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(video));
+
+        Optional<Video> foundVideo = videoService.getVideoById(1L);
+        assertTrue(foundVideo.isPresent());
+        assertEquals(1L, foundVideo.get().getId());
+    }
+
+    @Test
+    void testGetVideoByIdNotFound() {
+        when(videoRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.empty());
+
+        Optional<Video> foundVideo = videoService.getVideoById(1L);
+        assertFalse(foundVideo.isPresent());
+    }
+
+    @Test
+    void testGetVideoMetadata() {
+        when(videoRepository.findResponseByIdAndDeletedFalse(1L))
+                .thenReturn(Optional.of(new VideoResponse(1L, "Inception", "Christopher Nolan", "Sci-Fi", 2010, 148, 0, Instant.EPOCH)));
+
+        Optional<VideoResponse> metadata = videoService.getVideoMetadata(1L);
+        assertTrue(metadata.isPresent());
+        assertEquals("Inception", metadata.get().getTitle());
+    }
+
+    @Test
+    void testUpdateVideo() {
+        Video video = new Video();
+        video.setId(1L);
+        video.setTitle("Inception");
+        video.setVersion(3);
+        VideoRequest request = new VideoRequest();
+        request.setTitle("Inception Updated");
+        request.setReleaseYear(2010);
+        request.setRunningTime(148);
+
+        when(videoRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(video));
+
+        Optional<Video> updatedVideo = videoService.updateVideo(1L, request, 3L);
+        assertTrue(updatedVideo.isPresent());
+        assertEquals("Inception Updated", updatedVideo.get().getTitle());
+        assertNotNull(updatedVideo.get().getUpdatedAt());
+        verify(eventPublisher).publishEvent(new VideoChangedEvent(1L));
+    }
+
+    @Test
+    void testUpdateVideoAtAnotherVersionIsRejected() {
+        Video video = new Video();
+        video.setId(1L);
+        video.setTitle("Inception");
+        video.setVersion(4);
+        VideoRequest request = new VideoRequest();
+        request.setTitle("Inception Updated");
+
+        when(videoRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(video));
+
+        assertThrows(VideoVersionMismatchException.class, () -> videoService.updateVideo(1L, request, 3L));
+        assertEquals("Inception", video.getTitle());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testPatchVideoUpdatesOnlyPresentFields() {
+        VideoPatchRequest patch = new VideoPatchRequest();
+        patch.setTitle("Inception Updated");
+        VideoResponse patched = new VideoResponse(1L, "Inception Updated", "Christopher Nolan", "Sci-Fi", 2010, 148, 1, Instant.EPOCH);
+
+        when(videoRepository.updateAttributes(eq(1L), isNull(), eq(Map.of("title", "Inception Updated")), any(Instant.class)))
+                .thenReturn(1);
+        when(videoRepository.findResponseByIdAndDeletedFalse(1L)).thenReturn(Optional.of(patched));
+
+        assertEquals(Optional.of(patched), videoService.patchVideo(1L, patch, null));
+        verify(videoRepository, never()).replaceCast(anyLong(), anyList());
+        verify(eventPublisher).publishEvent(new VideoChangedEvent(1L));
+    }
+
+    @Test
+    void testPatchVideoAtAnotherVersionIsRejected() {
+        VideoPatchRequest patch = new VideoPatchRequest();
+        patch.setGenre("Drama");
+
+        when(videoRepository.updateAttributes(eq(1L), eq(3L), anyMap(), any(Instant.class))).thenReturn(0);
+        when(videoRepository.existsByIdAndDeletedFalse(1L)).thenReturn(true);
+
+        assertThrows(VideoVersionMismatchException.class, () -> videoService.patchVideo(1L, patch, 3L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testSoftDeleteVideo() {
+        Video video = new Video();
+        video.setId(1L);
+
+        when(videoRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(video));
+        when(videoRepository.save(any(Video.class))).thenReturn(video);
+
+        boolean result = videoService.softDeleteVideo(1L);
+        assertTrue(result);
+        assertTrue(video.isDeleted());
+        verify(eventPublisher).publishEvent(new VideoChangedEvent(1L));
+    }
+
+    @Test
+    void testSoftDeleteVideoNotFound() {
+        when(videoRepository.findById(1L)).thenReturn(Optional.empty());
+
+        boolean result = videoService.softDeleteVideo(1L);
+        assertFalse(result);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSearchVideosUsesDatabaseWhenIndexNotReady() {
+        when(searchIndex.isReady()).thenReturn(false);
+        when(videoRepository.findResponses(any(Specification.class)))
+                .thenReturn(List.of(new VideoResponse(1L, "Inception", "Christopher Nolan", "Sci-Fi", 2010, 148, 0, Instant.EPOCH)));
+
+        List<VideoResponse> result = videoService.searchVideos("Christopher Nolan", null, null, null);
+        assertEquals(1, result.size());
+        assertEquals("Inception", result.get(0).getTitle());
+        verify(searchIndex, never()).search(any(), any(), any(), any());
+    }
+
+    @Test
+    void testSearchVideosUsesIndexWhenReady() {
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("Christopher Nolan", null, null, "dream"))
+                .thenReturn(List.of(new VideoResponse(1L, "Inception", "Christopher Nolan", "Sci-Fi", 2010, 148, 0, Instant.EPOCH)));
+
+        List<VideoResponse> result = videoService.searchVideos("Christopher Nolan", null, null, "dream");
+        assertEquals(1, result.size());
+        verifyNoInteractions(videoRepository);
+    }
+
+    @Test
+    void testRecordView() {
+        videoService.recordView(1L);
+
+        verify(engagementRecorder).recordView(1L);
+        verify(trendingTracker).recordView(1L);
+        verifyNoInteractions(engagementRepository);
+    }
+
+    @Test
+    void testRecordViewCountsViewer() {
+        videoService.recordView(1L, "viewer-1");
+
+        verify(engagementRecorder).recordView(1L);
+        verify(uniqueViewerTracker).recordViewer(1L, "viewer-1");
+    }
+
+    @Test
+    void testRecordImpression() {
+        videoService.recordImpression(1L);
+
+        verify(engagementRecorder).recordImpression(1L);
+        verifyNoInteractions(engagementRepository);
+    }
+
+    @Test
+    void testGetVideoEngagement() {
+        VideoEngagement engagement = new VideoEngagement();
+        engagement.setViews(100);
+        engagement.setImpressions(200);
+
+        when(engagementRepository.findByVideoId(1L)).thenReturn(Optional.of(engagement));
+        when(engagementRecorder.pending(1L)).thenReturn(EngagementDelta.empty(1L));
+
+        VideoEngagement result = videoService.getVideoEngagement(1L);
+        assertNotNull(result);
+        assertEquals(100, result.getViews());
+        assertEquals(200, result.getImpressions());
+    }
+
+    @Test
+    void testGetVideoEngagementIncludesPendingDeltas() {
+        VideoEngagement engagement = new VideoEngagement();
+        engagement.setViews(100);
+        engagement.setImpressions(200);
+
+        when(engagementRepository.findByVideoId(1L)).thenReturn(Optional.of(engagement));
+        when(engagementRecorder.pending(1L)).thenReturn(new EngagementDelta(1L, 3, 4));
+        when(uniqueViewerTracker.estimate(engagement)).thenReturn(42L);
+
+        VideoEngagement result = videoService.getVideoEngagement(1L);
+        assertEquals(103, result.getViews());
+        assertEquals(204, result.getImpressions());
+        assertEquals(42, result.getUniqueViewers());
+    }
+
+    @Test
+    void testGetVideoEngagementNotFound() {
+        when(engagementRepository.findByVideoId(1L)).thenReturn(Optional.empty());
+        when(engagementRecorder.pending(1L)).thenReturn(EngagementDelta.empty(1L));
+
+        VideoEngagement result = videoService.getVideoEngagement(1L);
+        assertNotNull(result);
+        assertEquals(0, result.getViews());
+        assertEquals(0, result.getImpressions());
+    }
+
+    @Test
+    void testGetVideoContent() {
+        VideoContent content = mock(VideoContent.class);
+        when(videoRepository.existsByIdAndDeletedFalse(1L)).thenReturn(true);
+        VideoContent cached = mock(VideoContent.class);
+        when(contentStore.find(1L)).thenReturn(Optional.of(content));
+        when(contentCache.cached(1L, content)).thenReturn(cached);
+
+        assertEquals(Optional.of(cached), videoService.getVideoContent(1L, false));
+    }
+
+    @Test
+    void testGetVideoContentSentFromItsFileBypassesTheCache() {
+        VideoContent content = mock(VideoContent.class);
+        when(content.file()).thenReturn(Optional.of(Path.of("1.mp4")));
+        when(videoRepository.existsByIdAndDeletedFalse(1L)).thenReturn(true);
+        when(contentStore.find(1L)).thenReturn(Optional.of(content));
+
+        assertEquals(Optional.of(content), videoService.getVideoContent(1L, true));
+        verifyNoInteractions(contentCache);
+    }
+
+    @Test
+    void testGetVideoContentOfDeletedVideo() {
+        when(videoRepository.existsByIdAndDeletedFalse(1L)).thenReturn(false);
+
+        assertTrue(videoService.getVideoContent(1L, false).isEmpty());
+        verifyNoInteractions(contentStore);
+    }
+}
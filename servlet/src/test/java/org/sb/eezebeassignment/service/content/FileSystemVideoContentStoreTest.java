@@ -0,0 +1,93 @@
+package org.sb.eezebeassignment.service.content;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sb.eezebeassignment.content.ContentStoreProperties;
+import org.sb.eezebeassignment.controller.VideoStreamWriter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileSystemVideoContentStoreTest {
+
+    @TempDir
+    Path root;
+
+    private final byte[] bytes = new byte[100_000];
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        Files.write(root.resolve("1.mp4"), bytes);
+    }
+
+    @Test
+    void testMissingFileIsNotFound() {
+        assertTrue(store(DataSize.ofMegabytes(1)).find(2L).isEmpty());
+    }
+
+    @Test
+    void testTransferRangeThroughFileChannel() throws Exception {
+        VideoContent content = store(DataSize.ofBytes(0)).find(1L).orElseThrow();
+        assertEquals(bytes.length, content.length());
+        assertEquals(root.resolve("1.mp4"), content.file().orElseThrow());
+        assertTrue(content.etag().startsWith("\""));
+
+        assertArrayEquals(Arrays.copyOfRange(bytes, 1000, 71000), read(content, 1000, 70000));
+    }
+
+    @Test
+    void testTransferRangeThroughMapping() throws Exception {
+        FileSystemVideoContentStore store = store(DataSize.ofMegabytes(1));
+        VideoContent content = store.find(1L).orElseThrow();
+
+        assertArrayEquals(Arrays.copyOfRange(bytes, 5, 10), read(content, 5, 5));
+        assertArrayEquals(Arrays.copyOfRange(bytes, 99_990, 100_000), read(content, 99_990, 10));
+
+        byte[] replaced = "replaced".getBytes();
+        Files.write(root.resolve("1.mp4"), replaced);
+        Files.setLastModifiedTime(root.resolve("1.mp4"), FileTime.fromMillis(0));
+        assertArrayEquals(replaced, read(store.find(1L).orElseThrow(), 0, replaced.length));
+    }
+
+    @Test
+    void testStreamWriterHandsLargeRangesToSendfile() throws Exception {
+        VideoContent content = store(DataSize.ofMegabytes(1)).find(1L).orElseThrow();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", true);
+        request.addHeader("Range", "bytes=100-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new VideoStreamWriter().write(request, response, content);
+        assertEquals(206, response.getStatus());
+        assertEquals(root.resolve("1.mp4").toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(100L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals((long) bytes.length, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private FileSystemVideoContentStore store(DataSize mappedCapacity) {
+        ContentStoreProperties properties = new ContentStoreProperties();
+        properties.setRoot(root);
+        properties.setMappedCapacity(mappedCapacity);
+        return new FileSystemVideoContentStore(properties);
+    }
+
+    private static byte[] read(VideoContent content, long position, long count) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        content.transferTo(position, count, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,264 @@
+package org.sb.eezebeassignment.service.content;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VideoContentCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testFrequentContentIsServedFromMemoryAcrossSegments() throws Exception {
+        VideoContentCache cache = cache(DataSize.ofKilobytes(8), true);
+        TestContent source = new TestContent(bytes(3000, 1), "\"a\"");
+
+        assertSame(source, cache.cached(1L, source));
+        assertSame(source, cache.cached(1L, source));
+        assertEquals(1, source.transfers.get());
+
+        VideoContent hit = cache.cached(1L, source);
+        assertNotSame(source, hit);
+        assertTrue(hit.file().isEmpty());
+        assertEquals(3000, hit.length());
+        assertEquals("\"a\"", hit.etag());
+        assertArrayEquals(source.bytes, read(hit, 0, 3000));
+        assertArrayEquals(Arrays.copyOfRange(source.bytes, 1000, 2100), read(hit, 1000, 1100));
+        assertArrayEquals(Arrays.copyOfRange(source.bytes, 2047, 2049), read(hit, 2047, 2));
+        assertEquals(1, source.transfers.get());
+        assertEquals(3000, cache.cachedBytes());
+        assertEquals(3, cache.allocatedSegments());
+        assertEquals(1, meterRegistry.get("video.content.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void testChangedContentIsReloaded() throws Exception {
+        VideoContentCache cache = cache(DataSize.ofKilobytes(8), true);
+        TestContent original = new TestContent(bytes(1500, 1), "\"a\"");
+        cache.cached(1L, original);
+        cache.cached(1L, original);
+
+        TestContent replaced = new TestContent(bytes(1500, 7), "\"b\"");
+        assertSame(replaced, cache.cached(1L, replaced));
+        VideoContent reloaded = cache.cached(1L, replaced);
+        assertNotSame(replaced, reloaded);
+        assertEquals("\"b\"", reloaded.etag());
+        assertArrayEquals(replaced.bytes, read(reloaded, 0, 1500));
+        // The stale entry's segments were reused
+        assertEquals(2, cache.allocatedSegments());
+        assertEquals(1500, cache.cachedBytes());
+    }
+
+    @Test
+    void testFullCacheOnlyAdmitsMoreFrequentContent() {
+        VideoContentCache cache = cache(DataSize.ofKilobytes(2), true);
+        TestContent hot = new TestContent(bytes(2048, 1), "\"hot\"");
+        TestContent cold = new TestContent(bytes(2048, 2), "\"cold\"");
+        for (int i = 0; i < 5; i++) {
+            cache.cached(1L, hot);
+        }
+
+        cache.cached(2L, cold);
+        cache.cached(2L, cold);
+        assertTrue(cache.contains(1L));
+        assertFalse(cache.contains(2L));
+        assertEquals(1, meterRegistry.get("video.content.cache.rejections").counter().count());
+
+        for (int i = 0; i < 5; i++) {
+            cache.cached(2L, cold);
+        }
+        assertFalse(cache.contains(1L));
+        assertTrue(cache.contains(2L));
+        assertEquals(1, meterRegistry.get("video.content.cache.evictions").counter().count());
+        assertEquals(2, cache.allocatedSegments());
+    }
+
+    @Test
+    void testEvictedSegmentsAreNotReusedWhileBeingWritten() throws Exception {
+        VideoContentCache cache = cache(DataSize.ofKilobytes(2), true);
+        TestContent first = new TestContent(bytes(2048, 1), "\"first\"");
+        TestContent second = new TestContent(bytes(2048, 2), "\"second\"");
+        cache.cached(1L, first);
+        cache.cached(1L, first);
+        VideoContent playing = cache.cached(1L, first);
+
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicInteger writes = new AtomicInteger();
+        OutputStream slowClient = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                if (writes.getAndIncrement() == 0) {
+                    cache.invalidate(1L);
+                    cache.cached(2L, second);
+                    assertSame(second, cache.cached(2L, second));
+                }
+                received.write(bytes, offset, length);
+            }
+        };
+        playing.transferTo(0, 2048, Channels.newChannel(slowClient));
+
+        assertArrayEquals(first.bytes, received.toByteArray());
+        cache.cached(2L, second);
+        assertNotSame(second, cache.cached(2L, second));
+        assertEquals(2, cache.allocatedSegments());
+    }
+
+    @Test
+    void testEntriesBeingWrittenAreNotEvicted() throws Exception {
+        VideoContentCache cache = cache(DataSize.ofKilobytes(2), true);
+        TestContent playing = new TestContent(bytes(2048, 1), "\"playing\"");
+        TestContent hot = new TestContent(bytes(2048, 2), "\"hot\"");
+        cache.cached(1L, playing);
+        cache.cached(1L, playing);
+        VideoContent hit = cache.cached(1L, playing);
+
+        AtomicInteger writes = new AtomicInteger();
+        OutputStream slowClient = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                if (writes.getAndIncrement() == 0) {
+                    for (int i = 0; i < 5; i++) {
+                        assertSame(hot, cache.cached(2L, hot));
+                    }
+                }
+            }
+        };
+        hit.transferTo(0, 2048, Channels.newChannel(slowClient));
+
+        assertTrue(cache.contains(1L));
+        assertFalse(cache.contains(2L));
+        assertEquals(0, meterRegistry.get("video.content.cache.evictions").counter().count());
+
+        cache.cached(2L, hot);
+        assertFalse(cache.contains(1L));
+        assertTrue(cache.contains(2L));
+    }
+
+    @Test
+    void testAdmittedContentIsLoadedInTheBackground() throws Exception {
+        List<Runnable> loads = new ArrayList<>();
+        VideoContentCache cache = cache(DataSize.ofKilobytes(8), true, loads::add);
+        TestContent source = new TestContent(bytes(1500, 1), "\"a\"");
+        cache.cached(1L, source);
+
+        assertSame(source, cache.cached(1L, source));
+        assertEquals(0, source.transfers.get());
+        // Already being loaded, so not reserved again
+        assertSame(source, cache.cached(1L, source));
+        assertEquals(1, loads.size());
+
+        loads.get(0).run();
+        VideoContent hit = cache.cached(1L, source);
+        assertNotSame(source, hit);
+        assertArrayEquals(source.bytes, read(hit, 0, 1500));
+        assertEquals(1, source.transfers.get());
+    }
+
+    @Test
+    void testDisabledCacheAndLargeContentPassThrough() {
+        TestContent content = new TestContent(bytes(100, 1), "\"a\"");
+        VideoContentCache disabled = cache(DataSize.ofKilobytes(8), false);
+        disabled.cached(1L, content);
+        assertSame(content, disabled.cached(1L, content));
+
+        VideoContentCache small = cache(DataSize.ofKilobytes(1), true);
+        TestContent large = new TestContent(bytes(2000, 1), "\"b\"");
+        small.cached(1L, large);
+        assertSame(large, small.cached(1L, large));
+        assertEquals(0, small.allocatedSegments());
+    }
+
+    private VideoContentCache cache(DataSize maxSize, boolean enabled) {
+        return cache(maxSize, enabled, Runnable::run);
+    }
+
+    private VideoContentCache cache(DataSize maxSize, boolean enabled, Executor loader) {
+        ContentCacheProperties properties = new ContentCacheProperties();
+        properties.setEnabled(enabled);
+        properties.setMaxSize(maxSize);
+        properties.setSegmentSize(DataSize.ofKilobytes(1));
+        return new VideoContentCache(properties, meterRegistry, loader);
+    }
+
+    private static byte[] bytes(int length, int seed) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * seed);
+        }
+        return bytes;
+    }
+
+    private static byte[] read(VideoContent content, long position, long count) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        content.transferTo(position, count, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private static final class TestContent implements VideoContent {
+
+        private final byte[] bytes;
+        private final String etag;
+        private final AtomicInteger transfers = new AtomicInteger();
+
+        private TestContent(byte[] bytes, String etag) {
+            this.bytes = bytes;
+            this.etag = etag;
+        }
+
+        @Override
+        public long length() {
+            return bytes.length;
+        }
+
+        @Override
+        public Instant lastModified() {
+            return Instant.EPOCH;
+        }
+
+        @Override
+        public String etag() {
+            return etag;
+        }
+
+        @Override
+        public Optional<Path> file() {
+            return Optional.of(Path.of("video-" + etag.hashCode() + ".mp4"));
+        }
+
+        @Override
+        public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            transfers.incrementAndGet();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, Math.toIntExact(position), Math.toIntExact(count));
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+        }
+    }
+}
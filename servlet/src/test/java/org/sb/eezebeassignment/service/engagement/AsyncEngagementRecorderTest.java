@@ -0,0 +1,168 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class AsyncEngagementRecorderTest {
+
+    @Mock
+    private EngagementDeltaWriter deltaWriter;
+
+    @TempDir
+    private Path tempDir;
+
+    private EngagementProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncEngagementRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new EngagementProperties();
+        properties.getAsync().setCapacity(4);
+        properties.getAsync().setSpillFile(tempDir.resolve("spill.log"));
+        properties.getAsync().setRetryBackoff(Duration.ofMillis(10));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (recorder != null) {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testQueuedEventsAreAppliedInOneBatchPerVideo() {
+        recorder = new AsyncEngagementRecorder(deltaWriter, properties, meterRegistry);
+        recorder.recordView(1L);
+        recorder.recordView(1L);
+        recorder.recordImpression(2L);
+        verifyNoInteractions(deltaWriter);
+        assertEquals(3, meterRegistry.get("video.engagement.queue.depth").gauge().value());
+
+        recorder.start();
+
+        ArgumentCaptor<Collection<EngagementDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(deltaWriter, timeout(5000)).apply(captor.capture());
+        assertEquals(Set.of(new EngagementDelta(1L, 2, 0), new EngagementDelta(2L, 0, 1)), Set.copyOf(captor.getValue()));
+    }
+
+    @Test
+    void testDropPolicyCountsEventsThatDoNotFit() {
+        recorder = new AsyncEngagementRecorder(deltaWriter, properties, meterRegistry);
+        for (int i = 0; i < 6; i++) {
+            recorder.recordView(1L);
+        }
+
+        assertEquals(2, meterRegistry.get("video.engagement.overflow").tag("outcome", "dropped").counter().count());
+    }
+
+    @Test
+    void testBlockPolicyDropsAfterTimeout() {
+        properties.getAsync().setOverflow(EngagementProperties.OverflowPolicy.BLOCK);
+        properties.getAsync().setBlockTimeout(Duration.ofMillis(20));
+        recorder = new AsyncEngagementRecorder(deltaWriter, properties, meterRegistry);
+        for (int i = 0; i < 5; i++) {
+            recorder.recordView(1L);
+        }
+
+        assertEquals(1, meterRegistry.get("video.engagement.overflow").tag("outcome", "dropped").counter().count());
+        assertEquals(1, meterRegistry.get("video.engagement.publish.blocked").timer().count());
+    }
+
+    @Test
+    void testSpilledEventsAreReplayedAfterTheQueueDrains() {
+        properties.getAsync().setOverflow(EngagementProperties.OverflowPolicy.SPILL);
+        recorder = new AsyncEngagementRecorder(deltaWriter, properties, meterRegistry);
+        for (int i = 0; i < 7; i++) {
+            recorder.recordView(1L);
+        }
+        assertEquals(3, meterRegistry.get("video.engagement.overflow").tag("outcome", "spilled").counter().count());
+
+        recorder.start();
+
+        verify(deltaWriter, timeout(5000)).apply(List.of(new EngagementDelta(1L, 4, 0)));
+        verify(deltaWriter, timeout(5000)).apply(List.of(new EngagementDelta(1L, 3, 0)));
+        assertFalse(Files.exists(tempDir.resolve("spill.log.replay")));
+    }
+
+    @Test
+    void testSpillLeftBeforeRestartIsReplayed() {
+        properties.getAsync().setOverflow(EngagementProperties.OverflowPolicy.SPILL);
+        AsyncEngagementRecorder previous = new AsyncEngagementRecorder(deltaWriter, properties, meterRegistry);
+        for (int i = 0; i < 6; i++) {
+            previous.recordImpression(9L);
+        }
+        previous.stop();
+
+        recorder = new AsyncEngagementRecorder(deltaWriter, properties, new SimpleMeterRegistry());
+        recorder.start();
+
+        verify(deltaWriter, timeout(5000)).apply(List.of(new EngagementDelta(9L, 0, 2)));
+    }
+
+    @Test
+    void testFailedWriteIsRetriedAndStaysPending() {
+        doThrow(new IllegalStateException("db down")).doNothing().when(deltaWriter).apply(anyList());
+        recorder = new AsyncEngagementRecorder(deltaWriter, properties, meterRegistry);
+        recorder.start();
+
+        recorder.recordView(1L);
+
+        verify(deltaWriter, timeout(5000).times(2)).apply(List.of(new EngagementDelta(1L, 1, 0)));
+        assertEquals(1, meterRegistry.get("video.engagement.flush").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void testStopAppliesQueuedEvents() {
+        recorder = new AsyncEngagementRecorder(deltaWriter, properties, meterRegistry);
+        recorder.start();
+        recorder.recordImpression(3L);
+
+        recorder.stop();
+
+        verify(deltaWriter, atLeastOnce()).apply(anyList());
+        assertTrue(recorder.pending(3L).isEmpty());
+        assertFalse(recorder.isRunning());
+    }
+
+    @Test
+    void testEventsAfterStopAreCountedAsDropped() {
+        recorder = new AsyncEngagementRecorder(deltaWriter, properties, meterRegistry);
+        recorder.start();
+        recorder.stop();
+
+        recorder.recordView(4L);
+
+        assertEquals(1, meterRegistry.get("video.engagement.overflow").tag("outcome", "stopped").counter().count());
+        assertEquals(0, meterRegistry.get("video.engagement.queue.depth").gauge().value());
+    }
+
+    @Test
+    void testStopsAfterTheWebServer() {
+        recorder = new AsyncEngagementRecorder(deltaWriter, properties, meterRegistry);
+
+        assertTrue(recorder.getPhase() < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+    }
+}
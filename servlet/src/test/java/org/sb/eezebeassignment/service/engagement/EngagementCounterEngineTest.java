@@ -0,0 +1,162 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class EngagementCounterEngineTest {
+
+    @Mock
+    private EngagementDeltaWriter deltaWriter;
+
+    @Mock
+    private EngagementWriteAheadLog writeAheadLog;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private EngagementProperties properties;
+
+    private EngagementCounterEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new EngagementProperties();
+        engine = new EngagementCounterEngine(deltaWriter, writeAheadLog, properties, taskScheduler, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testRecordIsBufferedWithoutDatabaseAccess() {
+        engine.recordView(1L);
+        engine.recordView(1L);
+        engine.recordImpression(1L);
+
+        EngagementDelta pending = engine.pending(1L);
+        assertEquals(2, pending.views());
+        assertEquals(1, pending.impressions());
+        verifyNoInteractions(deltaWriter);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushWritesDeltasInOneBatch() {
+        engine.recordView(1L);
+        engine.recordImpression(2L);
+
+        engine.flush();
+
+        ArgumentCaptor<Collection<EngagementDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(deltaWriter).apply(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertTrue(engine.pending(1L).isEmpty());
+        assertTrue(engine.pending(2L).isEmpty());
+    }
+
+    @Test
+    void testFlushWithNothingBufferedSkipsWriter() {
+        engine.flush();
+
+        verifyNoInteractions(deltaWriter);
+    }
+
+    @Test
+    void testFailedFlushKeepsDeltas() {
+        doThrow(new IllegalStateException("db down")).when(deltaWriter).apply(anyList());
+        engine.recordView(1L);
+
+        engine.flush();
+
+        assertEquals(1, engine.pending(1L).views());
+    }
+
+    @Test
+    void testExceedingBufferThresholdSchedulesEarlyFlush() {
+        properties.setMaxBufferedDelta(2);
+
+        engine.recordView(1L);
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+        engine.recordView(1L);
+        engine.recordView(1L);
+
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void testConcurrentRecordsAreNotLost() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    engine.recordView(1L);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(80_000, engine.pending(1L).views());
+    }
+
+    @Test
+    void testEventsAreLoggedAndFlushCheckpointsPositionTakenBeforeDrain() {
+        when(writeAheadLog.position()).thenReturn(26L);
+        engine.recordView(1L);
+        engine.recordImpression(1L);
+
+        engine.flush();
+
+        verify(writeAheadLog).appendView(1L);
+        verify(writeAheadLog).appendImpression(1L);
+        verify(writeAheadLog).checkpoint(26L);
+    }
+
+    @Test
+    void testFailedFlushDoesNotCheckpoint() {
+        doThrow(new IllegalStateException("db down")).when(deltaWriter).apply(anyList());
+        engine.recordView(1L);
+
+        engine.flush();
+
+        verify(writeAheadLog, never()).checkpoint(anyLong());
+    }
+
+    @Test
+    void testStartFlushesRecoveredDeltas() {
+        when(writeAheadLog.recover()).thenReturn(List.of(new EngagementDelta(7L, 3, 4)));
+        when(writeAheadLog.position()).thenReturn(91L);
+
+        engine.start();
+        engine.stop();
+
+        verify(deltaWriter).apply(List.of(new EngagementDelta(7L, 3, 4)));
+        verify(writeAheadLog).checkpoint(91L);
+    }
+
+    @Test
+    void testStopsAfterTheWebServerAndBeforeTheWriteAheadLog() {
+        EngagementWriteAheadLog log = new EngagementWriteAheadLog(properties, new SimpleMeterRegistry());
+
+        assertTrue(engine.getPhase() < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+        assertTrue(engine.getPhase() > log.getPhase());
+    }
+}
@@ -0,0 +1,86 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EngagementEventQueueTest {
+
+    @Test
+    void testCapacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(8, new EngagementEventQueue(5).capacity());
+        assertEquals(8, new EngagementEventQueue(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new EngagementEventQueue(1));
+    }
+
+    @Test
+    void testOfferFailsWhenFullAndSucceedsAfterDrain() {
+        EngagementEventQueue queue = new EngagementEventQueue(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i, true));
+        }
+        assertFalse(queue.offer(4, true));
+        assertEquals(4, queue.size());
+
+        List<Long> drained = new ArrayList<>();
+        assertEquals(2, queue.drain((videoId, view) -> drained.add(videoId), 2));
+        assertEquals(List.of(0L, 1L), drained);
+        assertTrue(queue.offer(4, false));
+        assertTrue(queue.offer(5, false));
+        assertFalse(queue.offer(6, false));
+
+        assertEquals(4, queue.drain((videoId, view) -> drained.add(videoId), 10));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L), drained);
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.lagNanos());
+    }
+
+    @Test
+    void testConcurrentProducersLoseNoEvents() throws Exception {
+        EngagementEventQueue queue = new EngagementEventQueue(1024);
+        int producers = 4;
+        int eventsPerProducer = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long videoId = p;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    while (!queue.offer(videoId, i % 2 == 0)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        long[] views = new long[producers];
+        long[] impressions = new long[producers];
+        long consumed = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (consumed < (long) producers * eventsPerProducer && System.nanoTime() < deadline) {
+            consumed += queue.drain((videoId, view) -> {
+                if (view) {
+                    views[(int) videoId]++;
+                } else {
+                    impressions[(int) videoId]++;
+                }
+            }, 256);
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        for (int p = 0; p < producers; p++) {
+            assertEquals(eventsPerProducer / 2, views[p]);
+            assertEquals(eventsPerProducer / 2, impressions[p]);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package org.sb.eezebeassignment.service.engagement;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sb.eezebeassignment.model.EngagementDelta;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EngagementWriteAheadLogTest {
+
+    @TempDir
+    private Path directory;
+
+    private EngagementProperties properties;
+    private EngagementWriteAheadLog log;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EngagementProperties();
+        properties.getWal().setEnabled(true);
+        properties.getWal().setDirectory(directory);
+        log = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.stop();
+    }
+
+    @Test
+    void testEventsAppendedBeforeRestartAreRecovered() {
+        assertEquals(List.of(), log.recover());
+        log.appendView(1L);
+        log.appendView(1L);
+        log.appendImpression(2L);
+        log.stop();
+
+        log = open();
+
+        assertEquals(Set.of(new EngagementDelta(1L, 2, 0), new EngagementDelta(2L, 0, 1)), Set.copyOf(log.recover()));
+        assertEquals(3L * EngagementWriteAheadLog.RECORD_SIZE, log.position());
+    }
+
+    @Test
+    void testConcurrentAppendsAreAllDurable() throws Exception {
+        log.recover();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 500; j++) {
+                    log.appendView(5L);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        log.stop();
+
+        log = open();
+
+        assertEquals(List.of(new EngagementDelta(5L, 4_000, 0)), log.recover());
+    }
+
+    @Test
+    void testCheckpointSkipsFlushedEventsAndDeletesOldSegments() throws IOException {
+        log.stop();
+        properties.getWal().setSegmentSize(DataSize.ofBytes(EngagementWriteAheadLog.RECORD_SIZE));
+        log = open();
+        log.recover();
+        log.appendView(1L);
+        log.appendView(2L);
+        long flushed = log.position();
+        log.appendImpression(3L);
+        assertEquals(3, segmentCount());
+
+        log.checkpoint(flushed);
+        assertEquals(1, segmentCount());
+        log.stop();
+
+        log = open();
+
+        assertEquals(List.of(new EngagementDelta(3L, 0, 1)), log.recover());
+    }
+
+    @Test
+    void testCheckpointIsIgnoredUntilRecovered() {
+        log.appendView(1L);
+        log.checkpoint(log.position());
+        log.stop();
+
+        log = open();
+
+        assertEquals(List.of(new EngagementDelta(1L, 1, 0)), log.recover());
+    }
+
+    @Test
+    void testTornRecordAtEndOfSegmentIsIgnored() throws IOException {
+        log.appendView(1L);
+        log.stop();
+        try (Stream<Path> segments = Files.list(directory)) {
+            Path segment = segments.filter(file -> file.toString().endsWith(".wal")).findFirst().orElseThrow();
+            Files.write(segment, new byte[]{0, 0, 0, 0, 0, 0, 0, 9, 1}, StandardOpenOption.APPEND);
+        }
+
+        log = open();
+        log.appendImpression(1L);
+        log.stop();
+        log = open();
+
+        assertEquals(List.of(new EngagementDelta(1L, 1, 1)), log.recover());
+    }
+
+    @Test
+    void testAppendsOfAFailedGroupThrowAndLaterGroupsStillSucceed() {
+        log.stop();
+        AtomicBoolean diskFailing = new AtomicBoolean();
+        log = new EngagementWriteAheadLog(properties, new SimpleMeterRegistry()) {
+            @Override
+            FileChannel openChannel(Path path) throws IOException {
+                return new FailingChannel(super.openChannel(path), diskFailing);
+            }
+        };
+        log.start();
+        log.recover();
+
+        log.appendView(1L);
+        diskFailing.set(true);
+        UncheckedIOException failure = assertThrows(UncheckedIOException.class, () -> log.appendView(2L));
+        assertEquals("Disk full", failure.getCause().getMessage());
+        diskFailing.set(false);
+        log.appendImpression(3L);
+        log.stop();
+
+        log = open();
+
+        assertEquals(Set.of(new EngagementDelta(1L, 1, 0), new EngagementDelta(3L, 0, 1)), Set.copyOf(log.recover()));
+        assertEquals(3L * EngagementWriteAheadLog.RECORD_SIZE, log.position());
+    }
+
+    @Test
+    void testDisabledLogIsNoOp() {
+        log.stop();
+        properties.getWal().setEnabled(false);
+        log = open();
+
+        log.appendView(1L);
+
+        assertEquals(List.of(), log.recover());
+        assertFalse(log.isRunning());
+    }
+
+    private EngagementWriteAheadLog open() {
+        EngagementWriteAheadLog writeAheadLog = new EngagementWriteAheadLog(properties, new SimpleMeterRegistry());
+        writeAheadLog.start();
+        return writeAheadLog;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".wal")).count();
+        }
+    }
+
+    private static final class FailingChannel extends FileChannel {
+
+        private final FileChannel delegate;
+        private final AtomicBoolean failing;
+
+        private FailingChannel(FileChannel delegate, AtomicBoolean failing) {
+            this.delegate = delegate;
+            this.failing = failing;
+        }
+
+        private void check() throws IOException {
+            if (failing.get()) {
+                throw new IOException("Disk full");
+            }
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            check();
+            return delegate.write(source);
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) throws IOException {
+            check();
+            return delegate.write(sources, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer source, long position) throws IOException {
+            check();
+            return delegate.write(source, position);
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            check();
+            delegate.force(metaData);
+        }
+
+        @Override
+        public int read(ByteBuffer target) throws IOException {
+            return delegate.read(target);
+        }
+
+        @Override
+        public long read(ByteBuffer[] targets, int offset, int length) throws IOException {
+            return delegate.read(targets, offset, length);
+        }
+
+        @Override
+        public int read(ByteBuffer target, long position) throws IOException {
+            return delegate.read(target, position);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel source, long position, long count) throws IOException {
+            check();
+            return delegate.transferFrom(source, position, count);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
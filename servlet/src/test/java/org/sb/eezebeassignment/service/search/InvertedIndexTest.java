@@ -0,0 +1,75 @@
+package org.sb.eezebeassignment.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.add(video(1L, "Inception", "Christopher Nolan", "Sci-Fi", "A thief steals secrets through dream-sharing.", "Leonardo DiCaprio"));
+        index.add(video(2L, "Dunkirk", "Not Christopher Nolan", "War", "Soldiers are evacuated.", "Tom Hardy"));
+        index.add(video(3L, "The Prestige", "Christopher Nolan", "Drama", "Two magicians feud.", "Hugh Jackman"));
+        index.add(video(4L, "Dream House", "Jim Sheridan", "Thriller", "A family moves into a house.", "Daniel Craig"));
+    }
+
+    @Test
+    void testExactDirectorAndGenreFilters() {
+        assertEquals(List.of(1L, 3L), ids(index.search("Christopher Nolan", null, null, null)));
+        assertEquals(List.of(2L), ids(index.search(null, "War", null, null)));
+        assertEquals(List.of(3L), ids(index.search("Christopher Nolan", "Drama", null, null)));
+        assertTrue(index.search("Unknown", null, null, null).isEmpty());
+    }
+
+    @Test
+    void testTitleSubstringMatchesLikeTheDatabase() {
+        assertEquals(List.of(1L), ids(index.search(null, null, "ncep", null)));
+        assertEquals(List.of(3L), ids(index.search(null, null, "The Prestige", null)));
+        assertTrue(index.search(null, null, "the prestige", null).isEmpty());
+        assertEquals(List.of(2L), ids(index.search(null, null, "Du", null)));
+    }
+
+    @Test
+    void testFreeTextIsRankedByFieldWeight() {
+        // "dream" is in the title of 4 but only in the synopsis of 1
+        assertEquals(List.of(4L, 1L), ids(index.search(null, null, null, "Dream")));
+        assertEquals(List.of(1L), ids(index.search(null, null, null, "dream DiCaprio")));
+    }
+
+    @Test
+    void testUpdateAndRemoveKeepIndexCurrent() {
+        index.add(video(2L, "Oppenheimer", "Christopher Nolan", "Drama", "The atomic bomb.", "Cillian Murphy"));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("Christopher Nolan", null, null, null)));
+        assertTrue(index.search(null, null, "Dunkirk", null).isEmpty());
+
+        index.remove(1L);
+        assertEquals(List.of(2L, 3L), ids(index.search("Christopher Nolan", null, null, null)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testCompactionPreservesDocuments() {
+        for (int i = 0; i < 3000; i++) {
+            index.add(video(5L, "Tenet " + i, "Christopher Nolan", "Sci-Fi", "Time inversion.", "John David Washington"));
+        }
+        assertEquals(5, index.size());
+        assertEquals(List.of(5L), ids(index.search(null, null, "Tenet 2999", null)));
+        assertTrue(index.estimatedBytes() > 0);
+    }
+
+    private static List<Long> ids(List<IndexedVideo> videos) {
+        return videos.stream().map(IndexedVideo::id).toList();
+    }
+
+    private static IndexedVideo video(Long id, String title, String director, String genre, String synopsis, String castMember) {
+        return new IndexedVideo(id, title, synopsis, director, List.of(castMember), genre, 2000, 120, 0, Instant.EPOCH);
+    }
+}
@@ -0,0 +1,57 @@
+package org.sb.eezebeassignment.service.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountMinSketchTest {
+
+    @Test
+    void testEstimatesNeverUndercountAndStayWithinErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(1024, 4);
+        long[] counts = new long[5_000];
+        Random random = new Random(42);
+        long total = 0;
+        for (int i = 0; i < 200_000; i++) {
+            // Skewed towards low keys, like views of a catalog
+            int key = (int) (counts.length * Math.pow(random.nextDouble(), 3));
+            sketch.add(key, 1);
+            counts[key]++;
+            total++;
+        }
+
+        int outOfBound = 0;
+        for (int key = 0; key < counts.length; key++) {
+            long estimate = sketch.estimate(key);
+            assertTrue(estimate >= counts[key]);
+            if (estimate - counts[key] > sketch.epsilon() * total) {
+                outOfBound++;
+            }
+        }
+        assertTrue(outOfBound <= sketch.delta() * counts.length * 2, "Out of bound estimates: " + outOfBound);
+    }
+
+    @Test
+    void testHalveAndClear() {
+        CountMinSketch sketch = new CountMinSketch(64, 2);
+        sketch.add(7L, 9);
+
+        sketch.halve();
+        assertEquals(4, sketch.estimate(7L));
+
+        sketch.clear();
+        assertEquals(0, sketch.estimate(7L));
+    }
+
+    @Test
+    void testDimensions() {
+        CountMinSketch sketch = CountMinSketch.withErrorBounds(0.001, 0.01);
+
+        assertEquals(4096, sketch.width());
+        assertEquals(5, sketch.depth());
+        assertEquals(4096L * 5 * Long.BYTES, sketch.memoryBytes());
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 4));
+    }
+}
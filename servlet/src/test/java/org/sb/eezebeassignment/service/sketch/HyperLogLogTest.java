@@ -0,0 +1,81 @@
+package org.sb.eezebeassignment.service.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    @Test
+    void testDuplicatesAreCountedOnce() {
+        HyperLogLog sketch = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add("viewer-" + (i % 10));
+        }
+
+        assertEquals(10, sketch.estimate());
+    }
+
+    @Test
+    void testEstimateIsWithinThreeStandardErrors() {
+        for (int distinct : new int[]{1_000, 20_000, 300_000}) {
+            HyperLogLog sketch = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+            for (int i = 0; i < distinct; i++) {
+                sketch.add("session-" + i);
+            }
+
+            double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+            assertTrue(error < 3 * 1.04 / Math.sqrt(4096), distinct + " distinct estimated as " + sketch.estimate());
+        }
+    }
+
+    @Test
+    void testSmallSketchesUseTheirOwnBiasCorrection() {
+        // With every register at rank 10 the estimate is alpha * m * 2^10
+        long[][] expected = {{4, 11026}, {5, 22839}, {6, 46465}, {7, 93752}};
+        for (long[] precisionAndEstimate : expected) {
+            int precision = (int) precisionAndEstimate[0];
+            byte[] bytes = new byte[1 + (1 << precision)];
+            bytes[0] = (byte) precision;
+            Arrays.fill(bytes, 1, bytes.length, (byte) 10);
+
+            assertEquals(precisionAndEstimate[1], HyperLogLog.fromBytes(bytes).estimate(), "precision " + precision);
+        }
+    }
+
+    @Test
+    void testMergeCountsTheUnion() {
+        HyperLogLog first = new HyperLogLog(10);
+        HyperLogLog second = new HyperLogLog(10);
+        for (int i = 0; i < 600; i++) {
+            first.add("viewer-" + i);
+            second.add("viewer-" + (i + 300));
+        }
+
+        long union = first.merge(second).estimate();
+
+        assertTrue(Math.abs(union - 900) < 900 * 0.1, "Union estimated as " + union);
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(12)));
+    }
+
+    @Test
+    void testSerializationRoundTripsSparseAndDenseSketches() {
+        HyperLogLog sketch = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        sketch.add("alice");
+        sketch.add("bob");
+
+        byte[] sparse = sketch.toBytes();
+        assertEquals(1 + 2 * 3, sparse.length);
+        assertEquals(sketch, HyperLogLog.fromBytes(sparse));
+
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add("viewer-" + i);
+        }
+        byte[] dense = sketch.toBytes();
+        assertEquals(1 + 4096, dense.length);
+        assertEquals(sketch, HyperLogLog.fromBytes(dense));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{12, 1}));
+    }
+}
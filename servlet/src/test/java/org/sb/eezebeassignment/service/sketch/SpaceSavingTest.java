@@ -0,0 +1,49 @@
+package org.sb.eezebeassignment.service.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpaceSavingTest {
+
+    @Test
+    void testCountsAreExactUntilFull() {
+        SpaceSaving heavyHitters = new SpaceSaving(3);
+        heavyHitters.offer(1L, 5);
+        heavyHitters.offer(2L, 1);
+        heavyHitters.offer(1L, 1);
+
+        assertEquals(List.of(new SpaceSaving.Counter(1L, 6, 0), new SpaceSaving.Counter(2L, 1, 0)),
+                heavyHitters.counters());
+        assertEquals(0, heavyHitters.upperBound(3L));
+    }
+
+    @Test
+    void testNewKeyReplacesSmallestCounterAndInheritsItsCount() {
+        SpaceSaving heavyHitters = new SpaceSaving(2);
+        heavyHitters.offer(1L, 10);
+        heavyHitters.offer(2L, 3);
+
+        heavyHitters.offer(3L, 1);
+
+        assertEquals(List.of(new SpaceSaving.Counter(1L, 10, 0), new SpaceSaving.Counter(3L, 4, 3)),
+                heavyHitters.counters());
+        assertEquals(4, heavyHitters.upperBound(2L));
+        assertEquals(1, heavyHitters.lowerBound(3L));
+        assertEquals(0, heavyHitters.lowerBound(2L));
+    }
+
+    @Test
+    void testFrequentKeysSurviveNoise() {
+        SpaceSaving heavyHitters = new SpaceSaving(10);
+        for (long i = 0; i < 10_000; i++) {
+            heavyHitters.offer(i % 4 == 0 ? -1L : i, 1);
+        }
+
+        SpaceSaving.Counter top = heavyHitters.counters().get(0);
+        assertEquals(-1L, top.key());
+        assertTrue(top.count() - top.error() <= 2_500 && top.count() >= 2_500);
+    }
+}
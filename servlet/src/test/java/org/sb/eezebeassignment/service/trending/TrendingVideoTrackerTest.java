@@ -0,0 +1,140 @@
+package org.sb.eezebeassignment.service.trending;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sb.eezebeassignment.dto.TrendingVideoResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrendingVideoTrackerTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+    private static final long NOW = 1_000 * HOUR + 30 * MINUTE;
+
+    private TrendingProperties properties;
+    private TrendingVideoTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TrendingProperties();
+        properties.setTopK(4);
+        properties.setSketchWidth(256);
+        tracker = new TrendingVideoTracker(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testWindowsRankViewsByTheirOwnPanes() {
+        record(1L, 10, NOW - 50 * MINUTE);
+        record(2L, 6, NOW - 5 * MINUTE);
+        record(3L, 4, NOW);
+        record(1L, 1, NOW - 2 * HOUR);
+
+        assertEquals(List.of(2L, 3L), ids(tracker.getTrending(TrendingWindow.LAST_15_MINUTES, 10, NOW)));
+        assertEquals(List.of(1L, 2L, 3L), ids(tracker.getTrending(TrendingWindow.LAST_HOUR, 10, NOW)));
+        List<TrendingVideoResponse> day = tracker.getTrending(TrendingWindow.LAST_DAY, 1, NOW);
+        assertEquals(List.of(1L), ids(day));
+        assertEquals(11, day.get(0).getViews());
+        assertEquals(11, day.get(0).getMinViews());
+    }
+
+    @Test
+    void testPaneIsClearedWhenReusedForANewPeriod() {
+        record(1L, 5, NOW);
+
+        long later = NOW + 60 * MINUTE;
+        record(2L, 1, later);
+
+        assertEquals(List.of(2L), ids(tracker.getTrending(TrendingWindow.LAST_15_MINUTES, 10, later)));
+        assertEquals(List.of(1L, 2L), ids(tracker.getTrending(TrendingWindow.LAST_DAY, 10, later)));
+    }
+
+    @Test
+    void testHeavyHittersAreFoundAmongManyVideosWithinBounds() {
+        for (long id = 100; id < 1_100; id++) {
+            record(id, 1, NOW);
+        }
+        record(7L, 300, NOW - MINUTE);
+        record(8L, 200, NOW);
+
+        List<TrendingVideoResponse> top = tracker.getTrending(TrendingWindow.LAST_15_MINUTES, 2, NOW);
+
+        assertEquals(List.of(7L, 8L), ids(top));
+        for (TrendingVideoResponse video : top) {
+            long actual = video.getVideoId() == 7L ? 300 : 200;
+            assertTrue(video.getMinViews() <= actual && video.getViews() >= actual);
+        }
+    }
+
+    @Test
+    void testConcurrentViewsStayWithinBounds() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        tracker.recordView(1L, NOW);
+                        tracker.recordView(i % 3 == 0 ? 2L : 3L, NOW);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<TrendingVideoResponse> top = tracker.getTrending(TrendingWindow.LAST_15_MINUTES, 3, NOW);
+
+        assertEquals(List.of(1L, 3L, 2L), ids(top));
+        long[] actual = {8_000, 2_672, 5_328};
+        for (TrendingVideoResponse video : top) {
+            long count = actual[(int) (video.getVideoId() - 1)];
+            assertTrue(video.getMinViews() <= count && video.getViews() >= count, video.toString());
+        }
+    }
+
+    @Test
+    void testSnapshotIsServedUntilRefresh() {
+        record(1L, 1, NOW);
+        assertEquals(List.of(1L), ids(tracker.getTrending(TrendingWindow.LAST_HOUR, 10, NOW)));
+
+        record(2L, 1, NOW);
+
+        assertEquals(List.of(1L), ids(tracker.getTrending(TrendingWindow.LAST_HOUR, 10, NOW + 1)));
+        long refreshed = NOW + properties.getRefresh().toMillis();
+        assertEquals(List.of(1L, 2L), ids(tracker.getTrending(TrendingWindow.LAST_HOUR, 10, refreshed)));
+    }
+
+    @Test
+    void testDisabledTrackerReservesNothing() {
+        properties.setEnabled(false);
+        tracker = new TrendingVideoTracker(properties, new SimpleMeterRegistry());
+
+        record(1L, 1, NOW);
+
+        assertEquals(List.of(), tracker.getTrending(TrendingWindow.LAST_HOUR, 10, NOW));
+        assertEquals(0, tracker.memoryBytes());
+    }
+
+    private void record(long videoId, int views, long nowMillis) {
+        for (int i = 0; i < views; i++) {
+            tracker.recordView(videoId, nowMillis);
+        }
+    }
+
+    private static List<Long> ids(List<TrendingVideoResponse> videos) {
+        return videos.stream().map(TrendingVideoResponse::getVideoId).toList();
+    }
+}